@@ -0,0 +1,98 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.tags.Tag;
+import org.openapitools.codegen.CodegenOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reading of the caching vendor extensions shared by {@link OutputCachePolicies} (x-cache) and
+ * {@link QueryCachePolicies} (x-query-cache): both are true, a TTL in seconds, or an object with
+ * {@code ttl} and extra {@code tags}, and file their responses under the operation's OpenAPI tags.
+ */
+class CacheExtensions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheExtensions.class);
+
+    private CacheExtensions() {
+    }
+
+    static boolean isCached(Object extension) {
+        return extension instanceof Map || extension instanceof Number || Boolean.TRUE.equals(extension);
+    }
+
+    /** The operation tags plus the extension's extra {@code tags}. */
+    static Set<String> cacheTags(Object extension, List<String> operationTags) {
+        Set<String> tags = new LinkedHashSet<>(operationTags);
+        if (extension instanceof Map) {
+            tags.addAll(strings(((Map<?, ?>) extension).get("tags")));
+        }
+        return tags;
+    }
+
+    /**
+     * The TTL in seconds of {@code true}, a number or {@code {ttl: ...}}, or null for the default;
+     * a TTL that is not a positive number is logged and replaced by the default.
+     */
+    static Integer ttlSeconds(String operationId, String extensionName, Object extension) {
+        Object ttl = extension instanceof Map ? ((Map<?, ?>) extension).get("ttl") : extension;
+        if (ttl instanceof Number && ((Number) ttl).intValue() > 0) {
+            return ((Number) ttl).intValue();
+        }
+        if (ttl != null && !Boolean.TRUE.equals(ttl)) {
+            LOGGER.warn("Operation '{}': {} ttl must be a positive number of seconds, using the default", operationId, extensionName);
+        }
+        return null;
+    }
+
+    /** Tags of an operation as written in the spec, "default" for untagged operations. */
+    static List<String> operationTags(Operation operation) {
+        return operation.getTags() == null || operation.getTags().isEmpty()
+            ? Collections.singletonList("default") : operation.getTags();
+    }
+
+    /** OpenAPI tags of a codegen operation as written in the spec, "default" for untagged operations. */
+    static List<String> operationTags(CodegenOperation operation) {
+        if (operation.tags == null || operation.tags.isEmpty()) {
+            return Collections.singletonList("default");
+        }
+        List<String> tags = new ArrayList<>();
+        for (Tag tag : operation.tags) {
+            tags.add(tag.getName());
+        }
+        return tags;
+    }
+
+    /** A string or a list of strings. */
+    static List<String> strings(Object value) {
+        List<String> strings = new ArrayList<>();
+        if (value instanceof Collection) {
+            for (Object item : (Collection<?>) value) {
+                if (item != null) {
+                    strings.add(String.valueOf(item));
+                }
+            }
+        } else if (value != null) {
+            strings.add(String.valueOf(value));
+        }
+        return strings;
+    }
+
+    /** C# string literals, comma separated: {@code "pet", "store"}. */
+    static String literals(Collection<String> values) {
+        List<String> literals = new ArrayList<>();
+        for (String value : values) {
+            literals.add('"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"');
+        }
+        return String.join(", ", literals);
+    }
+}
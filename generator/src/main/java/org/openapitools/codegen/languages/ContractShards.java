@@ -0,0 +1,217 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.openapitools.codegen.CodegenProperty;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * contractShards: which Contracts project each tag group and DTO is generated into.
+ *
+ * Tags that share an operation stay in one shard, so every command, query and endpoint is
+ * generated exactly once. Tag groups are assigned largest first to the shard with the fewest
+ * operations so far. A DTO goes to a shard if only that shard's operations use it, directly
+ * or through nested DTOs (AddPetDto -> CategoryDto, TagDto); DTOs used by several shards, or
+ * by none (response DTOs of unused models), go to the Common project that every shard
+ * references, along with every DTO they nest. A shard DTO can therefore only reference DTOs
+ * of its own shard or of Common, and a Common DTO only DTOs of Common.
+ */
+class ContractShards {
+
+    static final String COMMON = "Common";
+
+    private static final Pattern DTO_TYPE = Pattern.compile("\\b(\\w+Dto)\\b");
+
+    private final Map<String, Set<String>> tagsByShard = new LinkedHashMap<>();
+    private final Map<String, String> shardByTag = new HashMap<>();
+    private final Map<String, Set<String>> shardsByDto = new HashMap<>(); // Direct use by operations
+    private Map<String, String> shardByDto = null; // Set by assignDtos()
+
+    private ContractShards() {
+    }
+
+    /**
+     * Partition the tag groups of a spec into at most count shards. Tags are named as
+     * DefaultGenerator groups operations: sanitized, "default" for untagged operations.
+     */
+    static ContractShards of(OpenAPI openAPI, int count, UnaryOperator<String> sanitizeTag) {
+        // Union-find over tags, joined by the operations they share
+        Map<String, String> parent = new TreeMap<>();
+        List<String> firstTags = new ArrayList<>();
+        if (openAPI.getPaths() != null) {
+            for (PathItem path : openAPI.getPaths().values()) {
+                for (Operation operation : path.readOperations()) {
+                    if (operation.getExtensions() != null && Boolean.TRUE.equals(operation.getExtensions().get("x-internal"))) {
+                        continue; // Not generated
+                    }
+                    List<String> tags = operation.getTags() == null || operation.getTags().isEmpty()
+                        ? Collections.singletonList("default") : operation.getTags();
+                    String first = null;
+                    for (String tag : tags) {
+                        String groupKey = sanitizeTag.apply(tag);
+                        groupKey = groupKey == null || groupKey.isEmpty() ? "Default" : groupKey;
+                        parent.putIfAbsent(groupKey, groupKey);
+                        if (first == null) {
+                            first = groupKey;
+                        } else {
+                            parent.put(root(parent, groupKey), root(parent, first));
+                        }
+                    }
+                    firstTags.add(first);
+                }
+            }
+        }
+
+        Map<String, Set<String>> groups = new TreeMap<>();
+        for (String tag : parent.keySet()) {
+            groups.computeIfAbsent(root(parent, tag), k -> new TreeSet<>()).add(tag);
+        }
+        Map<String, Integer> operationCounts = new HashMap<>();
+        for (String tag : firstTags) {
+            operationCounts.merge(root(parent, tag), 1, Integer::sum);
+        }
+        List<String> largestFirst = new ArrayList<>(groups.keySet());
+        largestFirst.sort((a, b) -> operationCounts.get(b) - operationCounts.get(a));
+
+        ContractShards shards = new ContractShards();
+        int shardCount = Math.max(1, Math.min(count, groups.size()));
+        int[] load = new int[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.tagsByShard.put("Shard" + (i + 1), new TreeSet<>());
+        }
+        List<String> names = new ArrayList<>(shards.tagsByShard.keySet());
+        for (String group : largestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (load[i] < load[lightest]) {
+                    lightest = i;
+                }
+            }
+            load[lightest] += operationCounts.get(group);
+            for (String tag : groups.get(group)) {
+                shards.tagsByShard.get(names.get(lightest)).add(tag);
+                shards.shardByTag.put(tag, names.get(lightest));
+            }
+        }
+        return shards;
+    }
+
+    private static String root(Map<String, String> parent, String tag) {
+        String root = tag;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        return root;
+    }
+
+    /** Shard names (Shard1, Shard2, ...), without Common. */
+    List<String> names() {
+        return new ArrayList<>(tagsByShard.keySet());
+    }
+
+    /** Tag groups of a shard, sorted. */
+    Set<String> tags(String shard) {
+        return tagsByShard.get(shard);
+    }
+
+    /** Shard of a tag group (the groupKey of addOperationToGroup). */
+    String shardOf(String tag) {
+        String shard = shardByTag.get(tag);
+        if (shard == null) {
+            throw new IllegalStateException("Tag group '" + tag + "' is not assigned to a Contracts shard");
+        }
+        return shard;
+    }
+
+    /** Record the DTOs named in the types (e.g. "IEnumerable<PetDto>") used by an operation of a tag group. */
+    void useDtos(String tag, String... types) {
+        String shard = shardOf(tag);
+        for (String type : types) {
+            if (type == null) {
+                continue;
+            }
+            Matcher matcher = DTO_TYPE.matcher(type);
+            while (matcher.find()) {
+                shardsByDto.computeIfAbsent(matcher.group(1), k -> new TreeSet<>()).add(shard);
+            }
+        }
+    }
+
+    /**
+     * Assign every DTO to a project once all tag groups are processed, following nested DTOs
+     * through the "vars" of the DTO template data.
+     */
+    void assignDtos(Map<String, Map<String, Object>> dtoFiles) {
+        Map<String, Set<String>> users = new HashMap<>();
+        for (Map.Entry<String, Set<String>> used : shardsByDto.entrySet()) {
+            Deque<String> pending = new ArrayDeque<>();
+            pending.push(used.getKey());
+            while (!pending.isEmpty()) {
+                String dto = pending.pop();
+                if (!dtoFiles.containsKey(dto)) {
+                    continue;
+                }
+                Set<String> dtoUsers = users.computeIfAbsent(dto, k -> new TreeSet<>());
+                if (!dtoUsers.addAll(used.getValue())) {
+                    continue; // Nested DTOs already have these users
+                }
+                for (String nested : nestedDtos(dtoFiles.get(dto))) {
+                    pending.push(nested);
+                }
+            }
+        }
+        shardByDto = new HashMap<>();
+        Deque<String> common = new ArrayDeque<>();
+        for (String dto : dtoFiles.keySet()) {
+            Set<String> dtoUsers = users.getOrDefault(dto, Collections.emptySet());
+            shardByDto.put(dto, dtoUsers.size() == 1 ? dtoUsers.iterator().next() : COMMON);
+            if (dtoUsers.size() != 1) {
+                common.push(dto);
+            }
+        }
+        // Common references no shard: the nested DTOs of a Common DTO, such as an unused model's, go to Common too
+        while (!common.isEmpty()) {
+            for (String nested : nestedDtos(dtoFiles.get(common.pop()))) {
+                if (dtoFiles.containsKey(nested) && !COMMON.equals(shardByDto.put(nested, COMMON))) {
+                    common.push(nested);
+                }
+            }
+        }
+    }
+
+    /** Project of a DTO: its only user shard, or Common. */
+    String dtoShard(String dtoName) {
+        String shard = shardByDto == null ? null : shardByDto.get(dtoName);
+        return shard == null ? COMMON : shard;
+    }
+
+    private static Set<String> nestedDtos(Map<String, Object> dtoData) {
+        Set<String> nested = new TreeSet<>();
+        @SuppressWarnings("unchecked")
+        List<CodegenProperty> vars = (List<CodegenProperty>) dtoData.get("vars");
+        if (vars != null) {
+            for (CodegenProperty var : vars) {
+                Matcher matcher = DTO_TYPE.matcher(var.dataType == null ? "" : var.dataType);
+                while (matcher.find()) {
+                    nested.add(matcher.group(1));
+                }
+            }
+        }
+        return nested;
+    }
+}
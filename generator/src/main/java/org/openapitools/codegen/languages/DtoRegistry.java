@@ -0,0 +1,90 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+import org.openapitools.codegen.model.ModelMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Run-wide registry of the DTO classes to write to DTOs/ (and Validators/).
+ *
+ * Request DTOs (operation body DTOs and their nested DTOs) are collected while each tag
+ * group is processed; response DTOs are derived from every model in the spec. Nothing is
+ * written until all tag groups have been processed, so each DTO file is written exactly
+ * once per run instead of once per tag. Each model's properties are converted to DTO
+ * properties once and the converted list is shared by every DTO built from that model.
+ */
+class DtoRegistry {
+
+    private final List<ModelMap> allModels;
+    private final Map<String, Map<String, Object>> requestDtos = new LinkedHashMap<>();
+    private final Map<String, List<CodegenProperty>> dtoVarsByModel = new HashMap<>();
+
+    DtoRegistry(List<ModelMap> allModels) {
+        this.allModels = allModels;
+    }
+
+    /** True if this registry was created for the given allModels list instance. */
+    boolean isFor(List<ModelMap> allModels) {
+        return this.allModels == allModels;
+    }
+
+    boolean hasRequestDto(String dtoName) {
+        return requestDtos.containsKey(dtoName);
+    }
+
+    /** Register a request DTO; the first registration of a DTO name wins. */
+    void addRequestDto(String dtoName, Map<String, Object> dtoData) {
+        requestDtos.putIfAbsent(dtoName, dtoData);
+    }
+
+    /** Request DTOs in registration order; these are the DTOs that get validators. */
+    Collection<Map<String, Object>> requestDtos() {
+        return requestDtos.values();
+    }
+
+    /** Every model in the spec, each of which gets a response DTO. */
+    List<ModelMap> allModels() {
+        return allModels;
+    }
+
+    /**
+     * DTO properties for a model: cloned model properties with regex delimiters stripped
+     * from patterns and complex types mapped to their DTO types (Category -> CategoryDto,
+     * List&lt;Tag&gt; -> List&lt;TagDto&gt;). Converted once per model and shared.
+     */
+    List<CodegenProperty> dtoVars(CodegenModel model) {
+        return dtoVarsByModel.computeIfAbsent(model.getClassname(), k -> convert(model.getVars()));
+    }
+
+    private static List<CodegenProperty> convert(List<CodegenProperty> vars) {
+        List<CodegenProperty> dtoVars = new ArrayList<>(vars.size());
+        for (CodegenProperty prop : vars) {
+            CodegenProperty dtoProp = prop.clone();
+
+            // Strip regex delimiters from pattern (e.g., "/^pattern$/" -> "^pattern$")
+            if (dtoProp.pattern != null && dtoProp.pattern.startsWith("/") && dtoProp.pattern.endsWith("/")) {
+                dtoProp.pattern = dtoProp.pattern.substring(1, dtoProp.pattern.length() - 1);
+            }
+
+            // Convert complex types to DTO equivalents
+            if (prop.complexType != null && !prop.isContainer) {
+                // Single complex type: Category -> CategoryDto
+                dtoProp.dataType = prop.complexType + "Dto";
+                dtoProp.datatypeWithEnum = prop.complexType + "Dto";
+            } else if (prop.isContainer && prop.complexType != null) {
+                // Collection of complex types: List<Tag> -> List<TagDto>
+                dtoProp.dataType = dtoProp.dataType.replace(prop.complexType, prop.complexType + "Dto");
+                dtoProp.datatypeWithEnum = dtoProp.datatypeWithEnum.replace(prop.complexType, prop.complexType + "Dto");
+            }
+            dtoVars.add(dtoProp);
+        }
+        return dtoVars;
+    }
+}
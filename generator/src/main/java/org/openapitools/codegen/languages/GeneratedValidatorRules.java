@@ -0,0 +1,176 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenProperty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * validatorEngine=generated: the checks of a DTO's validator as C# conditions, one rule per
+ * property, for generatedDtoValidator.mustache.
+ *
+ * The checks are those of dtoValidator.mustache, with FluentValidation's semantics: NotEmpty
+ * rejects null, whitespace strings, empty collections and default values; length, pattern,
+ * enum and range checks pass null; the item-count checks reject null. Each condition is true
+ * when the check fails and only reads the property, so valid input allocates nothing.
+ */
+class GeneratedValidatorRules {
+
+    private GeneratedValidatorRules() {
+    }
+
+    /**
+     * Rules for the properties of a DTO. Properties without a check are left out.
+     *
+     * @param dtoClassName class declaring the inline enums of the properties
+     * @param models       spec-wide model index, for the members of referenced enums
+     */
+    static List<Map<String, Object>> of(String dtoClassName, List<CodegenProperty> vars, ModelIndex models) {
+        List<Map<String, Object>> rules = new ArrayList<>();
+        if (vars == null) {
+            return rules;
+        }
+        for (CodegenProperty prop : vars) {
+            Map<String, Object> rule = rule(dtoClassName, prop, models);
+            if (rule.size() > 1) {
+                rules.add(rule);
+            }
+        }
+        return rules;
+    }
+
+    private static Map<String, Object> rule(String dtoClassName, CodegenProperty prop, ModelIndex models) {
+        String value = "instance." + prop.name;
+        Map<String, Object> rule = new HashMap<>();
+        rule.put("name", prop.name);
+
+        if (prop.required) {
+            rule.put("requiredCheck", emptyCheck(prop, value));
+        }
+
+        if (prop.isString && !prop.isEnum) {
+            if (prop.minLength != null || prop.maxLength != null) {
+                List<String> bounds = new ArrayList<>();
+                if (prop.minLength != null) {
+                    rule.put("minLength", prop.minLength);
+                    bounds.add(value + ".Length < " + prop.minLength);
+                }
+                if (prop.maxLength != null) {
+                    rule.put("maxLength", prop.maxLength);
+                    bounds.add(value + ".Length > " + prop.maxLength);
+                }
+                rule.put("lengthCheck", value + " is not null && " + or(bounds));
+            }
+            if (prop.pattern != null && !prop.pattern.isEmpty()) {
+                // Verbatim string literal for [GeneratedRegex(@"...")]
+                rule.put("pattern", prop.pattern.replace("\"", "\"\""));
+                rule.put("patternMethod", prop.name + "Pattern");
+                rule.put("patternCheck", value + " is not null && !" + prop.name + "Pattern().IsMatch(" + value + ")");
+            }
+        }
+
+        if (prop.isEnum && !prop.isContainer) {
+            rule.put("enumCheck", enumCheck(dtoClassName, prop, value, models));
+        }
+
+        if (prop.isNumeric) {
+            if (prop.minimum != null) {
+                rule.put("minimum", prop.minimum);
+                rule.put("minimumCheck", value + " < " + prop.minimum);
+            }
+            if (prop.maximum != null) {
+                rule.put("maximum", prop.maximum);
+                rule.put("maximumCheck", value + " > " + prop.maximum);
+            }
+        }
+
+        if (prop.isArray && (prop.minItems != null || prop.maxItems != null)) {
+            List<String> bounds = new ArrayList<>();
+            bounds.add(value + " is null");
+            if (prop.minItems != null) {
+                rule.put("minItems", prop.minItems);
+                bounds.add(value + ".Count < " + prop.minItems);
+            }
+            if (prop.maxItems != null) {
+                rule.put("maxItems", prop.maxItems);
+                bounds.add(value + ".Count > " + prop.maxItems);
+            }
+            rule.put("itemsCheck", String.join(" || ", bounds));
+        }
+
+        if (!prop.isEnum && !prop.isContainer && prop.complexType != null) {
+            rule.put("nestedValidator", prop.dataType + "Validator");
+        }
+        return rule;
+    }
+
+    /** True when a required property is empty, as FluentValidation's NotEmpty() decides. */
+    private static String emptyCheck(CodegenProperty prop, String value) {
+        if (prop.isString && !prop.isEnum) {
+            return "string.IsNullOrWhiteSpace(" + value + ")";
+        }
+        if (prop.isContainer) {
+            return value + " is null || " + value + ".Count == 0";
+        }
+        if (prop.isByteArray || prop.isBinary) {
+            return value + " is null || " + value + ".Length == 0";
+        }
+        if (prop.isEnum || prop.isNumeric || prop.isBoolean || prop.isDate || prop.isDateTime || prop.isUuid) {
+            // Value types: NotEmpty() rejects their default value
+            return value + " == default";
+        }
+        return value + " is null";
+    }
+
+    /**
+     * True when an enum property holds an undefined value: a pattern over the members, without
+     * boxing, or Enum.IsDefined&lt;T&gt; if the members are not known. Null passes.
+     */
+    private static String enumCheck(String dtoClassName, CodegenProperty prop, String value, ModelIndex models) {
+        String enumType;
+        List<String> members;
+        if (prop.complexType != null) {
+            // Referenced enum: the DTO enum generated from its model
+            enumType = prop.datatypeWithEnum;
+            CodegenModel model = models == null ? null : models.byComplexType(prop.complexType);
+            members = memberNames(model == null ? null : model.allowableValues);
+        } else {
+            enumType = dtoClassName + "." + (prop.datatypeWithEnum != null ? prop.datatypeWithEnum : prop.name + "Enum");
+            members = memberNames(prop.allowableValues);
+        }
+
+        if (members.isEmpty()) {
+            return prop.required
+                ? "!Enum.IsDefined(" + value + ")"
+                : value + ".HasValue && !Enum.IsDefined(" + value + ".Value)";
+        }
+        List<String> patterns = new ArrayList<>();
+        if (!prop.required) {
+            patterns.add("null");
+        }
+        for (String member : members) {
+            patterns.add(enumType + "." + member);
+        }
+        return value + " is not (" + String.join(" or ", patterns) + ")";
+    }
+
+    private static List<String> memberNames(Map<String, Object> allowableValues) {
+        List<String> names = new ArrayList<>();
+        Object enumVars = allowableValues == null ? null : allowableValues.get("enumVars");
+        if (enumVars instanceof List) {
+            for (Object enumVar : (List<?>) enumVars) {
+                if (enumVar instanceof Map && ((Map<?, ?>) enumVar).get("name") != null) {
+                    names.add(String.valueOf(((Map<?, ?>) enumVar).get("name")));
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String or(List<String> conditions) {
+        return conditions.size() == 1 ? conditions.get(0) : "(" + String.join(" || ", conditions) + ")";
+    }
+}
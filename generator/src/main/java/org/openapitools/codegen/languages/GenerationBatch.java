@@ -0,0 +1,219 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.v3.core.util.Yaml;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch mode: generate every spec listed in a manifest in one process, optionally in
+ * parallel, sharing compiled templates ({@link SharedTemplates}) and the spec snapshot cache
+ * between runs. Each spec gets its own codegen and DefaultGenerator instance, so per-spec
+ * state (options, generatedFolder, GUIDs, manifests) never leaks between specs, and a
+ * failing spec does not stop the others.
+ *
+ * The manifest is YAML or JSON. Relative paths are resolved against the manifest's folder,
+ * and each spec's properties are merged over the defaults:
+ *
+ *   threads: 4                      # optional, default 1
+ *   specCache: .spec-cache          # optional
+ *   defaults:
+ *     additionalProperties:
+ *       useMediatr: true
+ *   specs:
+ *     - inputSpec: orders/openapi.yaml
+ *       outputDir: generated/orders
+ *       additionalProperties:
+ *         packageName: OrdersApi
+ */
+class GenerationBatch {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationBatch.class);
+
+    /** Result of one spec: the files generated or the failure, and the wall time. */
+    static class Outcome {
+        final String inputSpec;
+        final String outputDir;
+        final int files;
+        final long millis;
+        final Throwable error;
+
+        Outcome(MinimalApiGenerator.Job job, int files, long millis, Throwable error) {
+            this.inputSpec = job.inputSpec;
+            this.outputDir = job.outputDir;
+            this.files = files;
+            this.millis = millis;
+            this.error = error;
+        }
+
+        boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    private final List<MinimalApiGenerator.Job> jobs;
+    private final SpecSnapshotCache specCache;
+    private final SharedTemplates templates = new SharedTemplates();
+    private int threads;
+
+    GenerationBatch(List<MinimalApiGenerator.Job> jobs, int threads, File specCache) {
+        this.jobs = jobs;
+        this.threads = Math.max(1, threads);
+        this.specCache = new SpecSnapshotCache(specCache);
+    }
+
+    /** Read a batch manifest. */
+    static GenerationBatch load(File manifest) throws IOException {
+        JsonNode root = Yaml.mapper().readTree(manifest);
+        if (root == null || !root.path("specs").isArray()) {
+            throw new IllegalArgumentException(manifest + ": expected a 'specs' list");
+        }
+        File base = manifest.getAbsoluteFile().getParentFile();
+        JsonNode defaults = root.path("defaults");
+
+        List<MinimalApiGenerator.Job> jobs = new ArrayList<>();
+        for (JsonNode spec : root.get("specs")) {
+            MinimalApiGenerator.Job job = new MinimalApiGenerator.Job();
+            job.inputSpec = resolve(base, text(spec, defaults, "inputSpec"));
+            job.outputDir = resolve(base, text(spec, defaults, "outputDir"));
+            job.templateDir = resolve(base, text(spec, defaults, "templateDir"));
+            if (job.inputSpec == null || job.outputDir == null) {
+                throw new IllegalArgumentException(manifest + ": every spec needs inputSpec and outputDir");
+            }
+            putAll(job.additionalProperties, defaults.path("additionalProperties"));
+            putAll(job.additionalProperties, spec.path("additionalProperties"));
+            putAll(job.globalProperties, defaults.path("globalProperties"));
+            putAll(job.globalProperties, spec.path("globalProperties"));
+            jobs.add(job);
+        }
+
+        String specCache = resolve(base, root.path("specCache").isMissingNode() ? null : root.get("specCache").asText());
+        return new GenerationBatch(jobs, root.path("threads").asInt(1), specCache == null ? null : new File(specCache));
+    }
+
+    void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /** Generate every spec and return the outcomes in manifest order. */
+    List<Outcome> run() throws InterruptedException {
+        long start = System.nanoTime();
+        List<Outcome> outcomes = new ArrayList<>();
+        if (threads == 1) {
+            for (MinimalApiGenerator.Job job : jobs) {
+                outcomes.add(generate(job));
+            }
+        } else {
+            AtomicInteger workers = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, jobs.size()), task -> {
+                Thread thread = new Thread(task, "minimalapi-batch-" + workers.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                List<Future<Outcome>> futures = new ArrayList<>();
+                for (MinimalApiGenerator.Job job : jobs) {
+                    futures.add(pool.submit(() -> generate(job)));
+                }
+                for (Future<Outcome> future : futures) {
+                    try {
+                        outcomes.add(future.get());
+                    } catch (ExecutionException e) {
+                        // generate() catches everything; only an Error ends up here
+                        throw new IllegalStateException(e.getCause());
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        int failed = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome.succeeded()) {
+                LOGGER.info("OK     {} -> {}: {} files in {} ms", outcome.inputSpec, outcome.outputDir, outcome.files, outcome.millis);
+            } else {
+                failed++;
+                LOGGER.error("FAILED {} -> {}: {}", outcome.inputSpec, outcome.outputDir, outcome.error.toString());
+            }
+        }
+        LOGGER.info("Batch: {} specs generated, {} failed in {} ms ({} threads, {} templates compiled, {} spec snapshots reused)",
+            outcomes.size() - failed, failed, (System.nanoTime() - start) / 1_000_000, threads,
+            templates.compiled(), specCache.hits());
+        return outcomes;
+    }
+
+    /** Write the outcomes as a JSON report. */
+    static void writeReport(List<Outcome> outcomes, File file) throws IOException {
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (Outcome outcome : outcomes) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("inputSpec", outcome.inputSpec);
+            entry.put("outputDir", outcome.outputDir);
+            entry.put("status", outcome.succeeded() ? "ok" : "failed");
+            entry.put("files", outcome.files);
+            entry.put("millis", outcome.millis);
+            if (!outcome.succeeded()) {
+                entry.put("error", outcome.error.toString());
+            }
+            report.add(entry);
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+    }
+
+    private Outcome generate(MinimalApiGenerator.Job job) {
+        long start = System.nanoTime();
+        try {
+            MinimalApiServerCodegen codegen = new MinimalApiServerCodegen();
+            templates.applyTo(codegen, job.templateDir);
+            int files = job.generate(specCache.load(job.inputSpec), codegen).size();
+            return new Outcome(job, files, (System.nanoTime() - start) / 1_000_000, null);
+        } catch (Exception | LinkageError e) {
+            LOGGER.error("Generation failed for {}", job.inputSpec, e);
+            return new Outcome(job, 0, (System.nanoTime() - start) / 1_000_000, e);
+        } finally {
+            // Global properties are per thread; do not carry them over to the next spec
+            GlobalSettings.reset();
+        }
+    }
+
+    private static String text(JsonNode spec, JsonNode defaults, String field) {
+        JsonNode value = spec.has(field) ? spec.get(field) : defaults.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String resolve(File base, String path) {
+        if (path == null || path.contains("://") || new File(path).isAbsolute()) {
+            return path;
+        }
+        return new File(base, path).getPath();
+    }
+
+    private static void putAll(Map<String, String> target, JsonNode properties) {
+        Iterator<Map.Entry<String, JsonNode>> it = properties.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> property = it.next();
+            target.put(property.getKey(), property.getValue().asText());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.openapitools.codegen.languages;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the render-and-write step of the custom MediatR/DTO writer, either inline (serial
+ * mode) or on a fixed thread pool (parallelGeneration).
+ *
+ * Only rendering and file I/O are submitted; all template data is prepared on the calling
+ * thread beforehand, so tasks never touch shared generator state. Each task is labelled
+ * with its owner (an operationId or DTO class name) and failures are collected rather than
+ * thrown, so callers can report them per operation after {@link #awaitAll()}, the same way
+ * in both modes.
+ */
+class GenerationExecutor {
+
+    /** A render-and-write unit of work. */
+    interface Task {
+        void run() throws Exception;
+    }
+
+    /** A task that threw, with the operation or DTO it was generating. */
+    static class Failure {
+        final String owner;
+        final Throwable error;
+
+        Failure(String owner, Throwable error) {
+            this.owner = owner;
+            this.error = error;
+        }
+    }
+
+    private final int threads;
+    private final ExecutorService executor;
+    private final List<String> owners = new ArrayList<>();
+    private final List<Future<?>> pending = new ArrayList<>();
+    private final List<Failure> failures = new ArrayList<>();
+
+    GenerationExecutor(int threads) {
+        this.threads = Math.max(1, threads);
+        this.executor = this.threads > 1 ? Executors.newFixedThreadPool(this.threads, daemonThreads()) : null;
+    }
+
+    int threads() {
+        return threads;
+    }
+
+    /** Run the task inline, or queue it on the pool in parallel mode. */
+    void submit(String owner, Task task) {
+        if (executor == null) {
+            try {
+                task.run();
+            } catch (Exception e) {
+                failures.add(new Failure(owner, e));
+            }
+            return;
+        }
+        owners.add(owner);
+        pending.add(executor.submit(() -> {
+            task.run();
+            return null;
+        }));
+    }
+
+    /**
+     * Wait for every submitted task and return the failures in submission order.
+     * Resets the executor for the next batch.
+     */
+    List<Failure> awaitAll() {
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                pending.get(i).get();
+            } catch (ExecutionException e) {
+                failures.add(new Failure(owners.get(i), e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.add(new Failure(owners.get(i), e));
+            }
+        }
+        List<Failure> result = new ArrayList<>(failures);
+        owners.clear();
+        pending.clear();
+        failures.clear();
+        return result;
+    }
+
+    void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "minimalapi-gen-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
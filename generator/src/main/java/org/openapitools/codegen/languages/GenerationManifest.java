@@ -0,0 +1,219 @@
+package org.openapitools.codegen.languages;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Content-hash manifest of the files produced by a generator run, stored in the output
+ * folder and used by incrementalGeneration.
+ *
+ * Each entry records the SHA-256, size and modification time of a generated file. On the
+ * next run a file whose rendered content matches what is on disk is not rewritten, so its
+ * mtime (and the dotnet build's up-to-date check) is preserved. Files listed in the previous
+ * manifest but not produced by the current run are stale: they belong to operations or
+ * schemas that were removed from the spec.
+ *
+ * Recording is thread-safe so that parallelGeneration workers can write through it.
+ */
+class GenerationManifest {
+
+    static final String FILE_NAME = ".openapi-generator" + File.separator + "minimalapi-manifest";
+    private static final String HEADER = "# sha256 size mtime path - generated by aspnetcore-minimalapi, do not edit";
+
+    /** Hash, size and mtime of one generated file. */
+    static class Entry {
+        final String hash;
+        final long size;
+        final long lastModified;
+
+        Entry(String hash, long size, long lastModified) {
+            this.hash = hash;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        boolean matchesOnDisk(File file) {
+            return file.isFile() && file.length() == size && file.lastModified() == lastModified;
+        }
+    }
+
+    private final File outputDir;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+
+    private GenerationManifest(File outputDir, Map<String, Entry> previous) {
+        this.outputDir = outputDir;
+        this.previous = previous;
+    }
+
+    /** Load the manifest left by the previous run, or start an empty one. */
+    static GenerationManifest load(File outputDir) throws IOException {
+        Map<String, Entry> previous = new TreeMap<>();
+        File manifestFile = new File(outputDir, FILE_NAME);
+        if (manifestFile.isFile()) {
+            for (String line : Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(" ", 4);
+                if (parts.length == 4) {
+                    previous.put(parts[3], new Entry(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                }
+            }
+        }
+        return new GenerationManifest(outputDir, previous);
+    }
+
+    /**
+     * Write the rendered content to file unless the file already holds exactly that content.
+     *
+     * @param content a RenderBuffer holding the complete rendered file (no spill target)
+     * @return true if the file was written, false if it was left untouched
+     */
+    boolean writeIfChanged(File file, RenderBuffer content) throws IOException {
+        String hash = hex(content.digest(newDigest()));
+        String key = relativePath(file);
+        Entry known = previous.get(key);
+        boolean same;
+        if (known != null && known.matchesOnDisk(file)) {
+            // Unchanged since the last run: trust the recorded hash instead of reading the file
+            same = known.hash.equals(hash);
+        } else {
+            same = content.contentEquals(file);
+        }
+
+        if (!same) {
+            file.getParentFile().mkdirs();
+            content.writeTo(file.toPath());
+            written.incrementAndGet();
+        } else {
+            unchanged.incrementAndGet();
+        }
+        current.put(key, new Entry(hash, file.length(), file.lastModified()));
+        return !same;
+    }
+
+    /** Record a file written by the standard DefaultGenerator pipeline. */
+    void record(File file) throws IOException {
+        if (!file.isFile()) {
+            return;
+        }
+        String key = relativePath(file);
+        Entry known = previous.get(key);
+        if (known != null && known.matchesOnDisk(file)) {
+            current.put(key, known);
+        } else {
+            current.put(key, new Entry(sha256(Files.readAllBytes(file.toPath())), file.length(), file.lastModified()));
+        }
+    }
+
+    /**
+     * Keep a file from the previous run that this run deliberately did not regenerate
+     * (e.g. a handler that already exists), so it is not reported as stale.
+     */
+    void retain(File file) {
+        String key = relativePath(file);
+        Entry known = previous.get(key);
+        if (known != null) {
+            current.putIfAbsent(key, known);
+        }
+    }
+
+    /** Files from the previous run that this run did not produce, relative to the output folder. */
+    List<String> staleFiles() {
+        List<String> stale = new ArrayList<>();
+        for (String key : previous.keySet()) {
+            if (!current.containsKey(key) && new File(outputDir, key).exists()) {
+                stale.add(key);
+            }
+        }
+        return stale;
+    }
+
+    /**
+     * Delete stale files that still hold the content this generator wrote. Files that were
+     * edited after generation (e.g. implemented handlers) are kept.
+     *
+     * @return the stale files that were kept because they were modified
+     */
+    List<String> removeStaleFiles() throws IOException {
+        List<String> kept = new ArrayList<>();
+        for (String key : staleFiles()) {
+            File file = new File(outputDir, key);
+            if (sha256(Files.readAllBytes(file.toPath())).equals(previous.get(key).hash)) {
+                Files.delete(file.toPath());
+            } else {
+                kept.add(key);
+            }
+        }
+        return kept;
+    }
+
+    int writtenCount() {
+        return written.get();
+    }
+
+    int unchangedCount() {
+        return unchanged.get();
+    }
+
+    /** Persist the entries recorded by this run, replacing the previous manifest. */
+    void save() throws IOException {
+        File manifestFile = new File(outputDir, FILE_NAME);
+        manifestFile.getParentFile().mkdirs();
+        StringBuilder sb = new StringBuilder(HEADER).append('\n');
+        for (Map.Entry<String, Entry> e : new TreeMap<>(current).entrySet()) {
+            Entry entry = e.getValue();
+            sb.append(entry.hash).append(' ').append(entry.size).append(' ')
+                .append(entry.lastModified).append(' ').append(e.getKey()).append('\n');
+        }
+        byte[] content = sb.toString().getBytes(StandardCharsets.UTF_8);
+        if (manifestFile.isFile() && Arrays.equals(Files.readAllBytes(manifestFile.toPath()), content)) {
+            return;
+        }
+        Path tmp = new File(manifestFile.getPath() + ".tmp").toPath();
+        Files.write(tmp, content);
+        Files.move(tmp, manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private String relativePath(File file) {
+        Path relative = outputDir.getAbsoluteFile().toPath().normalize()
+            .relativize(file.getAbsoluteFile().toPath().normalize());
+        return relative.toString().replace(File.separatorChar, '/');
+    }
+
+    private static String sha256(byte[] content) {
+        return hex(newDigest().digest(content));
+    }
+
+    static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String hex(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,242 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing, allocation and output counters for one generator run.
+ *
+ * Files written and skipped per category (the output folder name: Commands, Queries,
+ * Handlers, DTOs, Validators; Endpoints, TagValidators, Models and Supporting for
+ * DefaultGenerator's own output) are always counted, which is cheap and feeds the end-of-run log summary. Timing
+ * and allocation are only recorded when enabled (generationMetrics=true), and then written
+ * as a JSON report to {@link #FILE_NAME} in the output folder.
+ *
+ * Phases are consecutive stretches of the run on the generator thread, delimited by the
+ * DefaultGenerator callbacks; their allocation is that of the generator thread. Activities
+ * are measured around individual calls on whichever thread makes them, so with
+ * parallelGeneration their time is summed across threads. Allocation needs HotSpot's
+ * per-thread allocation counter and is reported as -1 elsewhere.
+ */
+class GenerationMetrics {
+
+    static final String FILE_NAME = ".openapi-generator/minimalapi-metrics.json";
+    static final int SLOWEST_OPERATIONS = 10;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final boolean enabled;
+    private final boolean allocationSupported;
+    private final long startNanos;
+    private final Map<String, FileCount> files = new ConcurrentHashMap<>();
+    private final Map<String, Stat> activities = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> operationNanos = new ConcurrentHashMap<>();
+    private final Map<String, Stat> phases = new LinkedHashMap<>();
+    private String phase;
+    private Probe phaseStart;
+    private long totalNanos = -1;
+
+    GenerationMetrics(boolean enabled) {
+        this.enabled = enabled;
+        this.allocationSupported = enabled && isAllocationSupported();
+        this.startNanos = System.nanoTime();
+    }
+
+    boolean enabled() {
+        return enabled;
+    }
+
+    /** End the current phase (if any) and start the named one. Call from the generator thread. */
+    void phase(String name) {
+        if (!enabled || name.equals(phase)) {
+            return;
+        }
+        endPhase();
+        phase = name;
+        phaseStart = begin();
+    }
+
+    /** Start measuring an activity on the current thread; null when metrics are disabled. */
+    Probe begin() {
+        return enabled ? new Probe(System.nanoTime(), allocatedBytes()) : null;
+    }
+
+    /**
+     * Add the time and allocation since begin() to the activity, and the time to the
+     * operation's total when operationId is not null.
+     */
+    void end(Probe probe, String activity, String operationId) {
+        if (probe == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - probe.nanos;
+        activities.computeIfAbsent(activity, k -> new Stat()).add(nanos, allocatedBytes() - probe.allocated);
+        if (operationId != null) {
+            operationNanos.computeIfAbsent(operationId, k -> new LongAdder()).add(nanos);
+        }
+    }
+
+    void fileWritten(String category, long bytes) {
+        FileCount count = files.computeIfAbsent(category, k -> new FileCount());
+        count.written.increment();
+        count.bytes.add(bytes);
+    }
+
+    /** A file that was not written: an existing handler, or unchanged content in incremental mode. */
+    void fileSkipped(String category) {
+        files.computeIfAbsent(category, k -> new FileCount()).skipped.increment();
+    }
+
+    long written(String category) {
+        FileCount count = files.get(category);
+        return count == null ? 0 : count.written.sum();
+    }
+
+    long skipped(String category) {
+        FileCount count = files.get(category);
+        return count == null ? 0 : count.skipped.sum();
+    }
+
+    /** End the last phase and the run. */
+    void finish() {
+        if (totalNanos < 0) {
+            endPhase();
+            phase = null;
+            totalNanos = System.nanoTime() - startNanos;
+        }
+    }
+
+    long totalMillis() {
+        return (totalNanos < 0 ? System.nanoTime() - startNanos : totalNanos) / 1_000_000;
+    }
+
+    /** Write the JSON report to {@link #FILE_NAME} under outputFolder and return the file. */
+    File writeReport(File outputFolder, int templatesCompiled, int threads) throws IOException {
+        finish();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("totalMillis", millis(totalNanos));
+        report.put("threads", threads);
+        report.put("allocationTracked", allocationSupported);
+        report.put("phases", stats(phases, null));
+        report.put("activities", stats(new TreeMap<>(activities), "calls"));
+
+        Map<String, Object> fileReport = new LinkedHashMap<>();
+        for (Map.Entry<String, FileCount> entry : new TreeMap<>(files).entrySet()) {
+            Map<String, Object> count = new LinkedHashMap<>();
+            count.put("written", entry.getValue().written.sum());
+            count.put("bytes", entry.getValue().bytes.sum());
+            count.put("skipped", entry.getValue().skipped.sum());
+            fileReport.put(entry.getKey(), count);
+        }
+        report.put("files", fileReport);
+        report.put("templatesCompiled", templatesCompiled);
+        report.put("operations", operationNanos.size());
+        report.put("slowestOperations", slowestOperations());
+
+        File file = new File(outputFolder, FILE_NAME);
+        file.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+        return file;
+    }
+
+    private void endPhase() {
+        if (phase != null) {
+            long nanos = System.nanoTime() - phaseStart.nanos;
+            phases.computeIfAbsent(phase, k -> new Stat()).add(nanos, allocatedBytes() - phaseStart.allocated);
+        }
+    }
+
+    private List<Map<String, Object>> stats(Map<String, Stat> stats, String countName) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, Stat> entry : stats.entrySet()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", entry.getKey());
+            if (countName != null) {
+                item.put(countName, entry.getValue().count.sum());
+            }
+            item.put("millis", millis(entry.getValue().nanos.sum()));
+            item.put("allocatedBytes", allocationSupported ? entry.getValue().allocated.sum() : -1);
+            result.add(item);
+        }
+        return result;
+    }
+
+    private List<Map<String, Object>> slowestOperations() {
+        List<Map.Entry<String, Long>> totals = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : operationNanos.entrySet()) {
+            totals.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().sum()));
+        }
+        totals.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : totals.subList(0, Math.min(SLOWEST_OPERATIONS, totals.size()))) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("operationId", entry.getKey());
+            item.put("millis", millis(entry.getValue()));
+            result.add(item);
+        }
+        return result;
+    }
+
+    private long allocatedBytes() {
+        return allocationSupported
+            ? ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId())
+            : 0;
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            return THREADS instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+                && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /** Start of a measurement: wall clock and the current thread's allocated bytes. */
+    static final class Probe {
+        final long nanos;
+        final long allocated;
+
+        Probe(long nanos, long allocated) {
+            this.nanos = nanos;
+            this.allocated = allocated;
+        }
+    }
+
+    private static final class Stat {
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        final LongAdder allocated = new LongAdder();
+
+        void add(long elapsedNanos, long allocatedBytes) {
+            count.increment();
+            nanos.add(elapsedNanos);
+            allocated.add(allocatedBytes);
+        }
+    }
+
+    private static final class FileCount {
+        final LongAdder written = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+    }
+}
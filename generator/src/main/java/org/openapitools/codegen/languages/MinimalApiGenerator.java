@@ -0,0 +1,196 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.CodegenConstants;
+import org.openapitools.codegen.DefaultGenerator;
+import org.openapitools.codegen.config.GlobalSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line entry point that runs MinimalApiServerCodegen without the openapi-generator CLI,
+ * so the generator can manage how specs are loaded:
+ *
+ *   java -cp "aspnet-minimalapi-openapi-generator.jar:openapi-generator-cli.jar" \
+ *     org.openapitools.codegen.languages.MinimalApiGenerator generate \
+ *     -i spec.yaml -o out [-t templateDir] [--additional-properties k=v,...] \
+ *     [--global-property k=v,...] [--spec-cache dir]
+ *
+ * With --spec-cache the resolved spec is snapshotted (see {@link SpecSnapshotCache}), so a run
+ * whose input files have not changed skips parsing and goes straight to code generation.
+ *
+ * The watch command takes the same options (except --spec-cache), generates once and then
+ * regenerates the files affected by each saved change to the spec (see {@link SpecWatcher}).
+ *
+ * The batch command generates every spec of a manifest in one process (see
+ * {@link GenerationBatch}) and exits with 1 if any spec failed:
+ *
+ *   MinimalApiGenerator batch services.yaml [--threads 8] [--report batch-report.json]
+ */
+public final class MinimalApiGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MinimalApiGenerator.class);
+
+    private static final String USAGE = "Usage: MinimalApiGenerator generate|watch -i <spec> -o <outputDir>"
+        + " [-t <templateDir>] [--additional-properties k=v,...] [--global-property k=v,...] [--spec-cache <dir>]\n"
+        + "       MinimalApiGenerator batch <manifest> [--threads <n>] [--report <file>]";
+
+    private MinimalApiGenerator() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    /** Run a command and return the process exit code. */
+    static int run(String[] args) {
+        String command = args.length == 0 ? "" : args[0];
+        if (!"generate".equals(command) && !"watch".equals(command) && !"batch".equals(command)) {
+            System.err.println(USAGE);
+            return 2;
+        }
+        try {
+            if ("batch".equals(command)) {
+                return runBatch(args);
+            }
+            Job job = Job.parse(args, 1);
+            if ("watch".equals(command)) {
+                new SpecWatcher(job).run();
+            } else {
+                job.generate(new SpecSnapshotCache(job.specCache));
+            }
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Generation failed", e);
+            return 1;
+        }
+    }
+
+    private static int runBatch(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Missing batch manifest");
+        }
+        GenerationBatch batch = GenerationBatch.load(new File(args[1]));
+        File report = null;
+        for (int i = 2; i < args.length; i += 2) {
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            if ("--threads".equals(args[i])) {
+                batch.setThreads(Integer.parseInt(args[i + 1]));
+            } else if ("--report".equals(args[i])) {
+                report = new File(args[i + 1]);
+            } else {
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        List<GenerationBatch.Outcome> outcomes = batch.run();
+        if (report != null) {
+            GenerationBatch.writeReport(outcomes, report);
+        }
+        for (GenerationBatch.Outcome outcome : outcomes) {
+            if (!outcome.succeeded()) {
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    /** One spec to generate: the equivalent of a single openapi-generator CLI invocation. */
+    static final class Job {
+        String inputSpec;
+        String outputDir;
+        String templateDir;
+        File specCache;
+        final Map<String, String> additionalProperties = new LinkedHashMap<>();
+        final Map<String, String> globalProperties = new LinkedHashMap<>();
+
+        static Job parse(String[] args, int start) {
+            Job job = new Job();
+            for (int i = start; i < args.length; i++) {
+                String arg = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "-i":
+                    case "--input-spec":
+                        job.inputSpec = value;
+                        break;
+                    case "-o":
+                    case "--output":
+                        job.outputDir = value;
+                        break;
+                    case "-t":
+                    case "--template-dir":
+                        job.templateDir = value;
+                        break;
+                    case "-p":
+                    case "--additional-properties":
+                        putAll(job.additionalProperties, value);
+                        break;
+                    case "--global-property":
+                        putAll(job.globalProperties, value);
+                        break;
+                    case "--spec-cache":
+                        job.specCache = new File(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (job.inputSpec == null || job.outputDir == null) {
+                throw new IllegalArgumentException("Both -i and -o are required");
+            }
+            return job;
+        }
+
+        /** Load the spec through the cache and generate it; returns the files written. */
+        List<File> generate(SpecSnapshotCache cache) throws IOException {
+            return generate(cache.load(inputSpec), new MinimalApiServerCodegen());
+        }
+
+        /** Generate an already loaded spec with the given (fresh) codegen instance. */
+        List<File> generate(OpenAPI openAPI, MinimalApiServerCodegen codegen) {
+            codegen.setInputSpec(inputSpec);
+            codegen.setOutputDir(new File(outputDir).getAbsolutePath());
+            if (templateDir != null) {
+                codegen.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, new File(templateDir).getAbsolutePath());
+            }
+            codegen.additionalProperties().putAll(additionalProperties);
+            for (Map.Entry<String, String> property : globalProperties.entrySet()) {
+                GlobalSettings.setProperty(property.getKey(), property.getValue());
+            }
+            return new DefaultGenerator().opts(new ClientOptInput().openAPI(openAPI).config(codegen)).generate();
+        }
+
+        private static void putAll(Map<String, String> target, String pairs) {
+            for (String pair : pairs.split(",")) {
+                if (pair.trim().isEmpty()) {
+                    continue;
+                }
+                int eq = pair.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Expected key=value but got " + pair);
+                }
+                target.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.openapitools.codegen.languages;
 
 import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.CodegenConstants;
 import org.openapitools.codegen.CodegenModel;
 import org.openapitools.codegen.CodegenOperation;
 import org.openapitools.codegen.CodegenParameter;
@@ -8,19 +9,29 @@ import org.openapitools.codegen.CodegenProperty;
 import org.openapitools.codegen.CodegenType;
 import org.openapitools.codegen.SupportingFile;
 import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
 import org.openapitools.codegen.model.OperationMap;
 import org.openapitools.codegen.model.OperationsMap;
 import org.openapitools.codegen.utils.ModelUtils;
+import org.openapitools.codegen.utils.URLPathUtils;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.oas.models.servers.Server;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
 
 import java.io.File;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static java.util.UUID.randomUUID;
@@ -36,19 +47,42 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
     public static final String USE_GLOBAL_EXCEPTION_HANDLER = "useGlobalExceptionHandler";
     public static final String USE_MEDIATR = "useMediatr";
     public static final String USE_NUGET_PACKAGING = "useNugetPackaging";
+    public static final String USE_SOURCE_GENERATED_JSON = "useSourceGeneratedJson";
+    public static final String USE_GENERATED_ENUM_CONVERTERS = "useGeneratedEnumConverters";
+    public static final String USE_NATIVE_AOT = "useNativeAot";
+    public static final String DISPATCH_MODE = "dispatchMode";
+    public static final String USE_RESULT_VALIDATION = "useResultValidation";
+    public static final String VALIDATOR_ENGINE = "validatorEngine";
+    public static final String USE_OUTPUT_CACHING = "useOutputCaching";
+    public static final String USE_QUERY_CACHING = "useQueryCaching";
+    public static final String USE_QUERY_COALESCING = "useQueryCoalescing";
+    public static final String VALIDATOR_ENGINE_FLUENT_VALIDATION = "fluentvalidation";
+    public static final String VALIDATOR_ENGINE_GENERATED = "generated";
+    public static final String DISPATCH_MODE_MEDIATR = "mediatr";
+    public static final String DISPATCH_MODE_DIRECT = "direct";
     public static final String PACKAGE_DESCRIPTION = "packageDescription";
     public static final String PACKAGE_LICENSE_EXPRESSION = "packageLicenseExpression";
     public static final String PACKAGE_REPOSITORY_URL = "packageRepositoryUrl";
     public static final String PACKAGE_PROJECT_URL = "packageProjectUrl";
     public static final String PACKAGE_TAGS = "packageTags";
+    public static final String CONTRACT_SHARDS = "contractShards";
     public static final String ROUTE_PREFIX = "routePrefix";
     public static final String VERSIONING_PREFIX = "versioningPrefix";
     public static final String API_VERSION = "apiVersion";
+    public static final String PER_OPERATION_ENDPOINTS = "perOperationEndpoints";
     public static final String SOLUTION_GUID = "solutionGuid";
     public static final String PROJECT_CONFIGURATION_GUID = "projectConfigurationGuid";
     public static final String CONTRACTS_PROJECT_GUID = "contractsProjectGuid";
+    public static final String PARALLEL_GENERATION = "parallelGeneration";
+    public static final String GENERATION_THREADS = "generationThreads";
+    public static final String INCREMENTAL_GENERATION = "incrementalGeneration";
+    public static final String REMOVE_STALE_FILES = "removeStaleFiles";
+    public static final String GENERATION_METRICS = "generationMetrics";
+    public static final String DETERMINISTIC_OUTPUT = "deterministicOutput";
+    public static final String LOW_MEMORY_GENERATION = "lowMemoryGeneration";
 
     private final Logger LOGGER = LoggerFactory.getLogger(MinimalApiServerCodegen.class);
+    private static final Pattern DTO_TYPE = Pattern.compile("\\b(\\w+Dto)\\b");
 
     private boolean useProblemDetails = false;
     private boolean useRecords = false;
@@ -58,13 +92,49 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
     private boolean useGlobalExceptionHandler = true;
     private boolean useMediatr = false;
     private boolean useNugetPackaging = false;
+    private boolean useSourceGeneratedJson = false;
+    private boolean useGeneratedEnumConverters = false;
+    private boolean useNativeAot = false;
+    private String dispatchMode = DISPATCH_MODE_MEDIATR;
+    private boolean useResultValidation = false;
+    private String validatorEngine = VALIDATOR_ENGINE_FLUENT_VALIDATION;
+    private boolean useOutputCaching = false;
+    private OutputCachePolicies outputCachePolicies = null; // useOutputCaching: cache tags of the spec's x-cache operations
+    private boolean useQueryCaching = false;
+    private QueryCachePolicies queryCachePolicies = null; // useQueryCaching: cache tags of the spec's x-query-cache operations
+    private boolean useQueryCoalescing = false;
+    private final List<Map<String, String>> handlerRegistrations = new ArrayList<>(); // dispatchMode=direct: request -> handler
+    private final Map<String, Set<String>> jsonSerializableTypes = new TreeMap<>(); // Context name prefix -> types of its operations
     private String routePrefix = "api";
     private String versioningPrefix = "v";
     private String apiVersion = "1";
+    private boolean perOperationEndpoints = false;
     private String solutionGuid = null;
     private String projectConfigurationGuid = null;
     private String contractsProjectGuid = null;
+    private int contractShardCount = 1;
+    private ContractShards contractShards = null; // Tag groups and DTOs per Contracts project (contractShards > 1)
+    private boolean parallelGeneration = false;
+    private int generationThreads = Runtime.getRuntime().availableProcessors();
+    private boolean incrementalGeneration = false;
+    private boolean removeStaleFiles = false;
+    private boolean generationMetricsEnabled = false;
+    private boolean deterministicOutput = false;
+    private String specFingerprint = null; // Spec hash for deterministic GUIDs
+    private boolean lowMemoryGeneration = false;
+    private RenderDataReleaser renderDataReleaser = null; // lowMemoryGeneration: drops render data once written
     private String generatedFolder = null; // Path for generated code (Commands, Queries, DTOs, etc.)
+    private TemplateRegistry templateRegistry = null; // Compiled per-operation templates, shared by all tag groups
+    private ModelIndex modelIndex = null; // Spec-wide model lookup, built once from allModels
+    private DtoRegistry dtoRegistry = null; // DTOs collected across all tag groups, written once per run
+    private GenerationExecutor generationExecutor = null; // Renders and writes MediatR/DTO files (serial or parallel)
+    private final Set<String> claimedHandlerPaths = new HashSet<>(); // Handlers generated in this run
+    private GenerationManifest generationManifest = null; // Content hashes of generated files (incrementalGeneration)
+    private final ThreadLocal<RenderBuffer> renderBuffers = ThreadLocal.withInitial(RenderBuffer::new); // One per worker
+    private GenerationMetrics generationMetrics = new GenerationMetrics(false); // File counts; timings when generationMetrics=true
+    private RegenerationScope regenerationScope = null; // Watch mode: only render files of changed operations/schemas
+    private final Set<String> scopedOperationIds = new HashSet<>(); // Operations rendered under regenerationScope
+    private Map<String, String> schemaByModelName = null; // Model class name -> component schema, for regenerationScope
 
 
     public CodegenType getTag() {
@@ -101,20 +171,41 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         addSwitch(USE_GLOBAL_EXCEPTION_HANDLER, "Enable global exception handling middleware.", useGlobalExceptionHandler);
         addSwitch(USE_MEDIATR, "Enable MediatR CQRS pattern with commands, queries, and handlers.", useMediatr);
         addSwitch(USE_NUGET_PACKAGING, "Generate separate NuGet package project for API contracts.", useNugetPackaging);
+        addSwitch(USE_SOURCE_GENERATED_JSON, "Generate a System.Text.Json JsonSerializerContext for the DTOs, response types and ProblemDetails and register it ahead of the reflection-based resolver. Requires useMediatr.", useSourceGeneratedJson);
+        addSwitch(USE_GENERATED_ENUM_CONVERTERS, "Generate a JSON converter per enum with its member names precomputed as UTF-8, instead of the reflection-based EnumMemberJsonConverter<T>.", useGeneratedEnumConverters);
+        addSwitch(USE_NATIVE_AOT, "Generate a Native AOT and trimming compatible project: slim builder, Request Delegate Generator, handlers and configurators registered explicitly, dispatchMode=direct, validatorEngine=generated, source-generated JSON and enum converters, PublishAot. Requires useMediatr.", useNativeAot);
+        addOption(DISPATCH_MODE, "How endpoints reach their handlers with useMediatr: 'mediatr' sends through IMediator, 'direct' calls a generated RequestPipeline<TRequest, TResponse> (validation, logging) that invokes the handler without MediatR", dispatchMode);
+        addOption(VALIDATOR_ENGINE, "How the DTO validators of useValidators are generated: 'fluentvalidation' as FluentValidation AbstractValidator<T> classes, 'generated' as plain C# checks ([GeneratedRegex] patterns, enum patterns, no allocation on valid input) without the FluentValidation package", validatorEngine);
+        addSwitch(USE_RESULT_VALIDATION, "Validate request bodies in their endpoint synchronously unless a validator has async rules, return the failures as values to Results.ValidationProblem and drop the MediatR ValidationBehavior. Requires useMediatr and useValidators.", useResultValidation);
+        addSwitch(USE_OUTPUT_CACHING, "Enable output caching: GET operations with an x-cache vendor extension (ttl, varyByQuery, varyByHeader, varyByRoute, tags) get a CacheOutput policy, and successful commands evict the cache tags of their OpenAPI tags. Uses the in-memory IOutputCacheStore unless another one is registered.", useOutputCaching);
+        addSwitch(USE_QUERY_CACHING, "Cache the results of queries with an x-query-cache vendor extension (true or a TTL in seconds) in a size-bounded LRU QueryResultCache keyed by the query record, and invalidate them when a command of the same tag, or one listing the tag in x-invalidates, succeeds. Requires useMediatr.", useQueryCaching);
+        addSwitch(USE_QUERY_COALESCING, "Run one handler for identical concurrent queries (equal query records) and give its result to all of them; per user on operations with security requirements. Opt a query out with x-coalesce: false. Requires useMediatr.", useQueryCoalescing);
         addOption(PACKAGE_DESCRIPTION, "Package description for NuGet feed", null);
         addOption(PACKAGE_LICENSE_EXPRESSION, "SPDX license expression (e.g., Apache-2.0, MIT)", "Apache-2.0");
         addOption(PACKAGE_REPOSITORY_URL, "Git repository URL", null);
         addOption(PACKAGE_PROJECT_URL, "Project homepage URL", null);
         addOption(PACKAGE_TAGS, "Semicolon-separated NuGet tags", "openapi;minimal-api;contracts");
+        addOption(CONTRACT_SHARDS, "With useNugetPackaging, split the Contracts project into this many projects by tag, plus a {packageName}.Contracts.Common project for the DTOs they share", String.valueOf(contractShardCount));
         addOption(ROUTE_PREFIX, "The route prefix for the API. Used only if useApiVersioning is true", routePrefix);
         addOption(VERSIONING_PREFIX, "The versioning prefix for the API. Used only if useApiVersioning is true", versioningPrefix);
         addOption(API_VERSION, "The version of the API. Used only if useApiVersioning is true", apiVersion);
+        addSwitch(PER_OPERATION_ENDPOINTS, "Register each operation's endpoint in its own file ({Operation}Endpoint.cs); {Tag}Endpoints.cs only calls them.", perOperationEndpoints);
         addOption(SOLUTION_GUID, "The solution GUID to be used in the solution file (auto generated if not provided)", solutionGuid);
         addOption(PROJECT_CONFIGURATION_GUID, "The project configuration GUID to be used in the solution file (auto generated if not provided)", projectConfigurationGuid);
+        addSwitch(PARALLEL_GENERATION, "Render and write the MediatR, DTO and validator files concurrently.", parallelGeneration);
+        addOption(GENERATION_THREADS, "Number of threads used when parallelGeneration is true (defaults to the number of available processors)", String.valueOf(generationThreads));
+        addSwitch(INCREMENTAL_GENERATION, "Only rewrite files whose content changed, tracked by a content-hash manifest in the output folder; report files no longer generated.", incrementalGeneration);
+        addSwitch(REMOVE_STALE_FILES, "With incrementalGeneration, delete files from a previous run that are no longer generated (unless edited since).", removeStaleFiles);
+        addSwitch(GENERATION_METRICS, "Record per-phase timing and allocation, files and bytes written per category and the slowest operations, and write them to .openapi-generator/minimalapi-metrics.json.", generationMetricsEnabled);
+        addSwitch(DETERMINISTIC_OUTPUT, "Derive GUIDs that are not set explicitly from the spec and packageName instead of generating random ones, so identical inputs give byte-identical output.", deterministicOutput);
+        addSwitch(LOW_MEMORY_GENERATION, "Release model and operation data that is no longer needed once their files are written, to generate very large specs with a smaller heap. Custom supporting-file templates can then only use tag class names.", lowMemoryGeneration);
     }
 
     @Override
     public void processOpts() {
+        // First, so that option processing is part of the timed run
+        setGenerationMetrics();
+        generationMetrics.phase("options");
 
         setPackageDescription(openAPI.getInfo().getDescription());
         setPackageVersion();
@@ -128,24 +219,43 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         setUseGlobalExceptionHandler();
         setUseMediatr();
         setUseNugetPackaging();
+        setUseSourceGeneratedJson();
+        setUseGeneratedEnumConverters();
+        setUseNativeAot();
+        setDispatchMode();
+        setValidatorEngine();
+        setUseResultValidation();
+        setUseOutputCaching();
+        setUseQueryCaching();
+        setUseQueryCoalescing();
         setRoutePrefix();
         setVersioningPrefix();
         setApiVersion();
+        setPerOperationEndpoints();
+        setDeterministicOutput();
         setSolutionGuid();
         setProjectConfigurationGuid();
         setContractsProjectGuid();
+        setContractShards();
+        setParallelGeneration();
+        setGenerationThreads();
+        setIncrementalGeneration();
+        setLowMemoryGeneration();
         
         // Extract basePath from server URL for endpoint routing
         setBasePath();
         
         // FluentValidation generates one validator file per tag (added after flags are parsed)
-        if (useValidators && useMediatr) {
+        if (useValidators && useMediatr && !isGeneratedValidators()) {
             apiTemplateFiles.put("validator.mustache", "Validators.cs");
         }
 
         super.processOpts();
 
         addSupportingFiles();
+        
+        // DefaultGenerator normalizes the spec and resolves inline models next
+        generationMetrics.phase("normalizeSpec");
     }
 
     private void addSupportingFiles() {
@@ -161,7 +271,10 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         
         // Conditional project structure: dual-project (NuGet) vs single-project (default)
         if (useNugetPackaging) {
-            generateNugetPackageProject();
+            // Sharded Contracts projects are written once the tags are known (writeContractShardProjects)
+            if (contractShardCount == 1) {
+                generateNugetPackageProject();
+            }
             generateImplementationProject();
         } else {
             supportingFiles.add(new SupportingFile("project.csproj.mustache", packageFolder, packageName + ".csproj"));
@@ -177,12 +290,13 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         // Enum converter that supports JsonPropertyName attributes
         // For NuGet packaging: Converters go to Contract/ (they serialize DTOs)
         String convertersFolder = useNugetPackaging ? 
-            "Contract" + File.separator + "Converters" :
+            contractFolder(contractShardCount > 1 ? ContractShards.COMMON : null) + File.separator + "Converters" :
             packageFolder + File.separator + "Converters";
         supportingFiles.add(new SupportingFile("EnumMemberJsonConverter.mustache",
             convertersFolder, "EnumMemberJsonConverter.cs"));
         
-        // Factory for creating enum converters globally
+        // Factory for creating enum converters globally (with Native AOT, it returns the generated
+        // converter each enum declares instead of a MakeGenericType one)
         supportingFiles.add(new SupportingFile("EnumMemberJsonConverterFactory.mustache",
             convertersFolder, "EnumMemberJsonConverterFactory.cs"));
         
@@ -196,17 +310,94 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             .doNotOverwrite());
         
         // FluentValidation: ValidationBehavior for MediatR pipeline
-        if (useValidators && useMediatr) {
+        if (useValidators && useMediatr && !isDirectDispatch() && !useResultValidation && !isGeneratedValidators()) {
             supportingFiles.add(new SupportingFile("ValidationBehavior.mustache",
                 packageFolder + File.separator + "Behaviors", "ValidationBehavior.cs"));
         }
 
+        // useResultValidation: the helper the endpoints validate with, next to the validators
+        // For NuGet packaging: in Contract/ (the endpoints reference it)
+        if (useResultValidation) {
+            String validatorsFolder = useNugetPackaging ?
+                contractFolder(contractShardCount > 1 ? ContractShards.COMMON : null) + File.separator + "Validators" :
+                packageFolder + File.separator + "Validators";
+            supportingFiles.add(new SupportingFile("requestValidation.mustache",
+                validatorsFolder, "RequestValidation.cs"));
+        }
+
+        // validatorEngine=generated: the error collector of the generated validators
+        if (isGeneratedValidators()) {
+            String validatorsFolder = useNugetPackaging ?
+                contractFolder(contractShardCount > 1 ? ContractShards.COMMON : null) + File.separator + "Validators" :
+                packageFolder + File.separator + "Validators";
+            supportingFiles.add(new SupportingFile("validationErrors.mustache",
+                validatorsFolder, "ValidationErrors.cs"));
+        }
+
+        // dispatchMode=direct: the pipeline the endpoints call in place of IMediator
+        // For NuGet packaging: next to the Converters in Contract/ (the endpoints reference it)
+        if (isDirectDispatch()) {
+            String dispatchFolder = useNugetPackaging ?
+                contractFolder(contractShardCount > 1 ? ContractShards.COMMON : null) + File.separator + "Dispatch" :
+                packageFolder + File.separator + "Dispatch";
+            supportingFiles.add(new SupportingFile("requestPipeline.mustache",
+                dispatchFolder, "RequestPipeline.cs"));
+        }
+
+        // useOutputCaching: the cache tag eviction of the command endpoints, the per-user policy of secured queries
+        // For NuGet packaging: in Contract/ (the endpoints reference them)
+        if (useOutputCaching) {
+            String cachingFolder = useNugetPackaging ?
+                contractFolder(contractShardCount > 1 ? ContractShards.COMMON : null) + File.separator + "Caching" :
+                packageFolder + File.separator + "Caching";
+            supportingFiles.add(new SupportingFile("outputCacheEviction.mustache",
+                cachingFolder, "OutputCacheEviction.cs"));
+            supportingFiles.add(new SupportingFile("perUserOutputCachePolicy.mustache",
+                cachingFolder, "PerUserOutputCachePolicy.cs"));
+        }
+
+        // useQueryCaching: the result cache and the request interfaces it reads
+        // useQueryCoalescing: the single-flight coalescer
+        // For NuGet packaging: in Contract/ (the queries and commands implement the interfaces)
+        if (useQueryCaching || useQueryCoalescing) {
+            String cachingFolder = useNugetPackaging ?
+                contractFolder(contractShardCount > 1 ? ContractShards.COMMON : null) + File.separator + "Caching" :
+                packageFolder + File.separator + "Caching";
+            String behaviorsFolder = packageFolder + File.separator + "Behaviors";
+            supportingFiles.add(new SupportingFile("queryCacheKey.mustache",
+                cachingFolder, "QueryCacheKey.cs"));
+            if (useQueryCaching) {
+                supportingFiles.add(new SupportingFile("cachedQuery.mustache",
+                    cachingFolder, "CachedQuery.cs"));
+                supportingFiles.add(new SupportingFile("queryResultCache.mustache",
+                    cachingFolder, "QueryResultCache.cs"));
+                if (!isDirectDispatch()) {
+                    supportingFiles.add(new SupportingFile("queryCachingBehavior.mustache",
+                        behaviorsFolder, "QueryCachingBehavior.cs"));
+                }
+            }
+            if (useQueryCoalescing) {
+                supportingFiles.add(new SupportingFile("queryCoalescer.mustache",
+                    cachingFolder, "QueryCoalescer.cs"));
+                if (!isDirectDispatch()) {
+                    supportingFiles.add(new SupportingFile("queryCoalescingBehavior.mustache",
+                        behaviorsFolder, "QueryCoalescingBehavior.cs"));
+                }
+            }
+        }
+
         // Configurator interfaces for assembly-scan DI pattern
         String configuratorsFolder = packageFolder + File.separator + "Configurators";
         supportingFiles.add(new SupportingFile("IServiceConfigurator.mustache",
             configuratorsFolder, "IServiceConfigurator.cs"));
         supportingFiles.add(new SupportingFile("IApplicationConfigurator.mustache",
             configuratorsFolder, "IApplicationConfigurator.cs"));
+        if (useNativeAot) {
+            // No assembly scan with Native AOT: configurators are listed in ConfiguratorRegistry
+            supportingFiles.add(new SupportingFile("configuratorRegistry.mustache",
+                configuratorsFolder, "ConfiguratorRegistry.cs")
+                .doNotOverwrite());
+        }
 
         // Global exception handler extension (extracted from inline program.mustache block)
         if (useGlobalExceptionHandler) {
@@ -226,7 +417,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         supportingFiles.add(new SupportingFile("endpointExtensions.mustache", 
             contractsFolder + File.separator + "Extensions", "EndpointExtensions.cs"));
         
-        if (useValidators) {
+        if (useValidators && !isGeneratedValidators()) {
             supportingFiles.add(new SupportingFile("validatorExtensions.mustache", 
                 contractsFolder + File.separator + "Extensions", "ValidatorExtensions.cs"));
         }
@@ -247,6 +438,9 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
     @Override
     public void addOperationToGroup(String tag, String resourcePath, io.swagger.v3.oas.models.Operation operation,
                                      CodegenOperation co, Map<String, List<CodegenOperation>> operations) {
+        // DefaultGenerator converts every path operation before the first tag group is processed
+        generationMetrics.phase("convertOperations");
+        
         // Add computed fields for templates
         if (co.operationId != null) {
             co.vendorExtensions.put("operationIdPascalCase", toModelName(co.operationId));
@@ -273,8 +467,36 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         co.vendorExtensions.put("tagPascalCase", toModelName(groupKey));
         
         co.baseName = groupKey;
+
+        // useOutputCaching: CacheOutput policy of a cached query, tags evicted by a command
+        if (outputCachePolicies != null) {
+            Object xCache = co.vendorExtensions.get(OutputCachePolicies.EXTENSION);
+            List<String> cacheTags = CacheExtensions.operationTags(operation);
+            if ("GET".equalsIgnoreCase(co.httpMethod)) {
+                String policy = outputCachePolicies.policy(co.operationId, xCache, cacheTags,
+                    OutputCachePolicies.isSecured(openAPI, operation));
+                if (policy != null) {
+                    co.vendorExtensions.put("outputCachePolicy", policy);
+                }
+            } else {
+                String evictions = outputCachePolicies.evictions(xCache, cacheTags);
+                if (evictions != null) {
+                    co.vendorExtensions.put("outputCacheEvictTags", evictions);
+                }
+            }
+        }
+
+        // x-timeout: WithRequestTimeout argument of the endpoint
+        String requestTimeout = RequestTimeouts.timeout(co.operationId, co.vendorExtensions.get(RequestTimeouts.EXTENSION));
+        if (requestTimeout != null) {
+            co.vendorExtensions.put("requestTimeout", requestTimeout);
+        }
+        
+        if (renderDataReleaser != null) {
+            renderDataReleaser.operationConverted(co);
+        }
         
-        LOGGER.info("Added operation '{}' to tag group '{}'", co.operationId, groupKey);
+        LOGGER.debug("Added operation '{}' to tag group '{}'", co.operationId, groupKey);
     }
 
     private void setPackageVersion() {
@@ -364,6 +586,14 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         }
     }
 
+    private void setUseOutputCaching() {
+        if (additionalProperties.containsKey(USE_OUTPUT_CACHING)) {
+            useOutputCaching = convertPropertyToBooleanAndWriteBack(USE_OUTPUT_CACHING);
+        } else {
+            additionalProperties.put(USE_OUTPUT_CACHING, useOutputCaching);
+        }
+    }
+
     private void setUseApiVersioning() {
         if (additionalProperties.containsKey(USE_API_VERSIONING)) {
             useApiVersioning = convertPropertyToBooleanAndWriteBack(USE_API_VERSIONING);
@@ -397,6 +627,140 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         }
     }
 
+    private void setUseSourceGeneratedJson() {
+        if (additionalProperties.containsKey(USE_SOURCE_GENERATED_JSON)) {
+            useSourceGeneratedJson = convertPropertyToBooleanAndWriteBack(USE_SOURCE_GENERATED_JSON);
+            if (useSourceGeneratedJson && !useMediatr) {
+                // Without MediatR the endpoints serialize the model classes, which have no DTOs
+                LOGGER.warn("Ignoring {}=true: requires {}=true", USE_SOURCE_GENERATED_JSON, USE_MEDIATR);
+                useSourceGeneratedJson = false;
+            }
+        }
+        additionalProperties.put(USE_SOURCE_GENERATED_JSON, useSourceGeneratedJson);
+    }
+
+    private void setUseGeneratedEnumConverters() {
+        if (additionalProperties.containsKey(USE_GENERATED_ENUM_CONVERTERS)) {
+            useGeneratedEnumConverters = convertPropertyToBooleanAndWriteBack(USE_GENERATED_ENUM_CONVERTERS);
+        } else {
+            additionalProperties.put(USE_GENERATED_ENUM_CONVERTERS, useGeneratedEnumConverters);
+        }
+    }
+
+    private void setUseNativeAot() {
+        if (additionalProperties.containsKey(USE_NATIVE_AOT)) {
+            useNativeAot = convertPropertyToBooleanAndWriteBack(USE_NATIVE_AOT);
+            if (useNativeAot && !useMediatr) {
+                // The AOT project serializes DTOs through the generated JsonSerializerContext
+                LOGGER.warn("Ignoring {}=true: requires {}=true", USE_NATIVE_AOT, USE_MEDIATR);
+                useNativeAot = false;
+            }
+        }
+        additionalProperties.put(USE_NATIVE_AOT, useNativeAot);
+        if (useNativeAot) {
+            // Reflection-based JSON metadata and enum converters are not available after trimming
+            useSourceGeneratedJson = true;
+            useGeneratedEnumConverters = true;
+            additionalProperties.put(USE_SOURCE_GENERATED_JSON, true);
+            additionalProperties.put(USE_GENERATED_ENUM_CONVERTERS, true);
+        }
+    }
+
+    private void setDispatchMode() {
+        if (additionalProperties.containsKey(DISPATCH_MODE)) {
+            String value = String.valueOf(additionalProperties.get(DISPATCH_MODE)).trim().toLowerCase(Locale.ROOT);
+            if (!DISPATCH_MODE_MEDIATR.equals(value) && !DISPATCH_MODE_DIRECT.equals(value)) {
+                LOGGER.warn("Ignoring {}={}: must be {} or {}", DISPATCH_MODE, value, DISPATCH_MODE_MEDIATR, DISPATCH_MODE_DIRECT);
+            } else if (DISPATCH_MODE_DIRECT.equals(value) && !useMediatr) {
+                // Direct dispatch calls the generated handlers, which only exist with MediatR
+                LOGGER.warn("Ignoring {}={}: requires {}=true", DISPATCH_MODE, value, USE_MEDIATR);
+            } else if (!DISPATCH_MODE_DIRECT.equals(value) && useNativeAot) {
+                LOGGER.warn("Ignoring {}={}: {}=true requires {}={}", DISPATCH_MODE, value, USE_NATIVE_AOT, DISPATCH_MODE, DISPATCH_MODE_DIRECT);
+            } else {
+                dispatchMode = value;
+            }
+        }
+        if (useNativeAot) {
+            // IMediator builds its handler and behavior pipelines by reflection, which trimming breaks
+            dispatchMode = DISPATCH_MODE_DIRECT;
+        }
+        additionalProperties.put(DISPATCH_MODE, dispatchMode);
+        additionalProperties.put("useDirectDispatch", isDirectDispatch());
+    }
+
+    private boolean isDirectDispatch() {
+        return DISPATCH_MODE_DIRECT.equals(dispatchMode);
+    }
+
+    private void setValidatorEngine() {
+        if (additionalProperties.containsKey(VALIDATOR_ENGINE)) {
+            String value = String.valueOf(additionalProperties.get(VALIDATOR_ENGINE)).trim().toLowerCase(Locale.ROOT);
+            if (!VALIDATOR_ENGINE_FLUENT_VALIDATION.equals(value) && !VALIDATOR_ENGINE_GENERATED.equals(value)) {
+                LOGGER.warn("Ignoring {}={}: must be {} or {}", VALIDATOR_ENGINE, value, VALIDATOR_ENGINE_FLUENT_VALIDATION, VALIDATOR_ENGINE_GENERATED);
+            } else if (!VALIDATOR_ENGINE_GENERATED.equals(value) && useNativeAot) {
+                LOGGER.warn("Ignoring {}={}: {}=true requires {}={}", VALIDATOR_ENGINE, value, USE_NATIVE_AOT, VALIDATOR_ENGINE, VALIDATOR_ENGINE_GENERATED);
+            } else {
+                validatorEngine = value;
+            }
+        }
+        if (useNativeAot) {
+            // FluentValidation reflects over the validated types and their rules, which trimming breaks
+            validatorEngine = VALIDATOR_ENGINE_GENERATED;
+        }
+        additionalProperties.put(VALIDATOR_ENGINE, validatorEngine);
+        additionalProperties.put("useFluentValidation", useValidators && !isGeneratedValidators());
+        additionalProperties.put("useGeneratedValidators", isGeneratedValidators());
+    }
+
+    /** validatorEngine=generated with useValidators: plain C# validators, no FluentValidation. */
+    private boolean isGeneratedValidators() {
+        return useValidators && VALIDATOR_ENGINE_GENERATED.equals(validatorEngine);
+    }
+
+    private void setUseResultValidation() {
+        if (additionalProperties.containsKey(USE_RESULT_VALIDATION)) {
+            useResultValidation = convertPropertyToBooleanAndWriteBack(USE_RESULT_VALIDATION);
+            if (useResultValidation && !(useMediatr && useValidators)) {
+                // Replaces the MediatR ValidationBehavior, which only exists with both
+                LOGGER.warn("Ignoring {}=true: requires {}=true and {}=true", USE_RESULT_VALIDATION, USE_MEDIATR, USE_VALIDATORS);
+                useResultValidation = false;
+            } else if (useResultValidation && isGeneratedValidators()) {
+                // The generated validators return their failures as values already
+                LOGGER.info("Ignoring {}=true: implied by {}={}", USE_RESULT_VALIDATION, VALIDATOR_ENGINE, VALIDATOR_ENGINE_GENERATED);
+                useResultValidation = false;
+            }
+        }
+        additionalProperties.put(USE_RESULT_VALIDATION, useResultValidation);
+    }
+
+    private void setUseQueryCaching() {
+        if (additionalProperties.containsKey(USE_QUERY_CACHING)) {
+            useQueryCaching = convertPropertyToBooleanAndWriteBack(USE_QUERY_CACHING);
+            if (useQueryCaching && !useMediatr) {
+                // Caches what the query handlers return, which only exist with MediatR
+                LOGGER.warn("Ignoring {}=true: requires {}=true", USE_QUERY_CACHING, USE_MEDIATR);
+                useQueryCaching = false;
+            }
+        }
+        additionalProperties.put(USE_QUERY_CACHING, useQueryCaching);
+    }
+
+    private void setUseQueryCoalescing() {
+        if (additionalProperties.containsKey(USE_QUERY_COALESCING)) {
+            useQueryCoalescing = convertPropertyToBooleanAndWriteBack(USE_QUERY_COALESCING);
+            if (useQueryCoalescing && !useMediatr) {
+                // Coalesces calls to the query handlers, which only exist with MediatR
+                LOGGER.warn("Ignoring {}=true: requires {}=true", USE_QUERY_COALESCING, USE_MEDIATR);
+                useQueryCoalescing = false;
+            }
+        }
+        additionalProperties.put(USE_QUERY_COALESCING, useQueryCoalescing);
+        // Stages between validation and the handler in RequestPipeline (dispatchMode=direct)
+        additionalProperties.put("hasQueryPipelineStages", useQueryCaching || useQueryCoalescing);
+        // Caching/ holds the output cache eviction, the query result cache and the query coalescer
+        additionalProperties.put("hasCachingSources", useOutputCaching || useQueryCaching || useQueryCoalescing);
+    }
+
     private void setRoutePrefix() {
         if (additionalProperties.containsKey(ROUTE_PREFIX)) {
             routePrefix = (String) additionalProperties.get(ROUTE_PREFIX);
@@ -421,11 +785,57 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         }
     }
 
+    private void setPerOperationEndpoints() {
+        if (additionalProperties.containsKey(PER_OPERATION_ENDPOINTS)) {
+            perOperationEndpoints = convertPropertyToBooleanAndWriteBack(PER_OPERATION_ENDPOINTS);
+        } else {
+            additionalProperties.put(PER_OPERATION_ENDPOINTS, perOperationEndpoints);
+        }
+    }
+
+    private void setDeterministicOutput() {
+        if (additionalProperties.containsKey(DETERMINISTIC_OUTPUT)) {
+            deterministicOutput = convertPropertyToBooleanAndWriteBack(DETERMINISTIC_OUTPUT);
+        } else {
+            additionalProperties.put(DETERMINISTIC_OUTPUT, deterministicOutput);
+        }
+    }
+    
+    /**
+     * A solution/project GUID in braces: random, or with deterministicOutput a name-based UUID
+     * of the spec content, packageName and the GUID's role, so it only changes with them.
+     * Called before super.processOpts(), so packageName is read from the properties.
+     */
+    private String newGuid(String role) {
+        UUID uuid;
+        if (deterministicOutput) {
+            String name = specFingerprint() + '\0'
+                + additionalProperties.getOrDefault(CodegenConstants.PACKAGE_NAME, packageName) + '\0' + role;
+            uuid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        } else {
+            uuid = randomUUID();
+        }
+        return "{" + uuid.toString().toUpperCase(Locale.ROOT) + "}";
+    }
+    
+    /** SHA-256 of the spec as parsed, before DefaultGenerator normalizes it. */
+    private String specFingerprint() {
+        if (specFingerprint == null) {
+            try {
+                ObjectMapper mapper = openAPI.getSpecVersion() == SpecVersion.V31 ? Json31.mapper() : Json.mapper();
+                specFingerprint = GenerationManifest.hex(GenerationManifest.newDigest().digest(mapper.writeValueAsBytes(openAPI)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize the spec for " + DETERMINISTIC_OUTPUT, e);
+            }
+        }
+        return specFingerprint;
+    }
+
     private void setSolutionGuid() {
         if (additionalProperties.containsKey(SOLUTION_GUID)) {
             solutionGuid = (String) additionalProperties.get(SOLUTION_GUID);
         } else {
-            solutionGuid = "{" + randomUUID().toString().toUpperCase(Locale.ROOT) + "}";
+            solutionGuid = newGuid(SOLUTION_GUID);
             additionalProperties.put(SOLUTION_GUID, solutionGuid);
         }
     }
@@ -434,7 +844,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         if (additionalProperties.containsKey(PROJECT_CONFIGURATION_GUID)) {
             projectConfigurationGuid = (String) additionalProperties.get(PROJECT_CONFIGURATION_GUID);
         } else {
-            projectConfigurationGuid = "{" + randomUUID().toString().toUpperCase(Locale.ROOT) + "}";
+            projectConfigurationGuid = newGuid(PROJECT_CONFIGURATION_GUID);
             additionalProperties.put(PROJECT_CONFIGURATION_GUID, projectConfigurationGuid);
         }
     }
@@ -443,11 +853,201 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         if (additionalProperties.containsKey(CONTRACTS_PROJECT_GUID)) {
             contractsProjectGuid = (String) additionalProperties.get(CONTRACTS_PROJECT_GUID);
         } else {
-            contractsProjectGuid = "{" + randomUUID().toString().toUpperCase(Locale.ROOT) + "}";
+            contractsProjectGuid = newGuid(CONTRACTS_PROJECT_GUID);
             additionalProperties.put(CONTRACTS_PROJECT_GUID, contractsProjectGuid);
         }
     }
     
+    private void setContractShards() {
+        if (additionalProperties.containsKey(CONTRACT_SHARDS)) {
+            String value = String.valueOf(additionalProperties.get(CONTRACT_SHARDS)).trim();
+            try {
+                int shards = Integer.parseInt(value);
+                if (shards < 1) {
+                    LOGGER.warn("Ignoring {}={}: must be a positive number", CONTRACT_SHARDS, value);
+                } else if (shards > 1 && !useNugetPackaging) {
+                    LOGGER.warn("Ignoring {}={}: requires {}=true", CONTRACT_SHARDS, value, USE_NUGET_PACKAGING);
+                } else {
+                    contractShardCount = shards;
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring {}={}: not a number", CONTRACT_SHARDS, value);
+            }
+        }
+        additionalProperties.put(CONTRACT_SHARDS, contractShardCount);
+    }
+
+    private void setParallelGeneration() {
+        if (additionalProperties.containsKey(PARALLEL_GENERATION)) {
+            parallelGeneration = convertPropertyToBooleanAndWriteBack(PARALLEL_GENERATION);
+        } else {
+            additionalProperties.put(PARALLEL_GENERATION, parallelGeneration);
+        }
+    }
+
+    private void setGenerationThreads() {
+        if (additionalProperties.containsKey(GENERATION_THREADS)) {
+            String value = String.valueOf(additionalProperties.get(GENERATION_THREADS)).trim();
+            try {
+                int threads = Integer.parseInt(value);
+                if (threads > 0) {
+                    generationThreads = threads;
+                } else {
+                    LOGGER.warn("Ignoring {}={}: must be a positive number", GENERATION_THREADS, value);
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring {}={}: not a number", GENERATION_THREADS, value);
+            }
+        }
+        additionalProperties.put(GENERATION_THREADS, generationThreads);
+    }
+    
+    private void setGenerationMetrics() {
+        if (additionalProperties.containsKey(GENERATION_METRICS)) {
+            generationMetricsEnabled = convertPropertyToBooleanAndWriteBack(GENERATION_METRICS);
+        } else {
+            additionalProperties.put(GENERATION_METRICS, generationMetricsEnabled);
+        }
+        generationMetrics = new GenerationMetrics(generationMetricsEnabled);
+    }
+    
+    private void setIncrementalGeneration() {
+        if (additionalProperties.containsKey(INCREMENTAL_GENERATION)) {
+            incrementalGeneration = convertPropertyToBooleanAndWriteBack(INCREMENTAL_GENERATION);
+        } else {
+            additionalProperties.put(INCREMENTAL_GENERATION, incrementalGeneration);
+        }
+        if (additionalProperties.containsKey(REMOVE_STALE_FILES)) {
+            removeStaleFiles = convertPropertyToBooleanAndWriteBack(REMOVE_STALE_FILES);
+        } else {
+            additionalProperties.put(REMOVE_STALE_FILES, removeStaleFiles);
+        }
+        
+        generationManifest = null;
+        if (incrementalGeneration) {
+            try {
+                generationManifest = GenerationManifest.load(new File(outputFolder));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Could not read {}, regenerating all files: {}", GenerationManifest.FILE_NAME, e.getMessage());
+                generationManifest = null;
+            }
+        }
+    }
+    
+    private void setLowMemoryGeneration() {
+        if (additionalProperties.containsKey(LOW_MEMORY_GENERATION)) {
+            lowMemoryGeneration = convertPropertyToBooleanAndWriteBack(LOW_MEMORY_GENERATION);
+        } else {
+            additionalProperties.put(LOW_MEMORY_GENERATION, lowMemoryGeneration);
+        }
+        renderDataReleaser = lowMemoryGeneration ? new RenderDataReleaser() : null;
+    }
+    
+    /**
+     * Incremental generation also applies to the standard API/model/supporting file output:
+     * DefaultGenerator's minimal-update mode leaves files with unchanged content untouched.
+     * DefaultGenerator reads this before processOpts(), so check the raw property as well.
+     */
+    @Override
+    public boolean isEnableMinimalUpdate() {
+        return super.isEnableMinimalUpdate() || incrementalGeneration
+            || Boolean.parseBoolean(String.valueOf(additionalProperties.get(INCREMENTAL_GENERATION)));
+    }
+    
+    /**
+     * DefaultGenerator only reports written files through postProcessFile when post-processing
+     * is enabled; turn it on in incremental and metrics mode so every file is seen.
+     */
+    @Override
+    public boolean isEnablePostProcessFile() {
+        return super.isEnablePostProcessFile() || generationManifest != null || generationMetrics.enabled();
+    }
+    
+    @Override
+    public void postProcessFile(File file, String fileType) {
+        if (super.isEnablePostProcessFile()) {
+            super.postProcessFile(file, fileType);
+        }
+        if (generationManifest != null && file != null) {
+            try {
+                generationManifest.record(file);
+            } catch (IOException e) {
+                LOGGER.warn("Could not hash {} for {}: {}", file, GenerationManifest.FILE_NAME, e.getMessage());
+            }
+        }
+        if (generationMetrics.enabled() && file != null) {
+            generationMetrics.fileWritten(outputCategory(file, fileType), file.length());
+        }
+    }
+    
+    /** Metrics category of a file written by DefaultGenerator from its file type ("api", "model", ...). */
+    private static String outputCategory(File file, String fileType) {
+        if ("api".equals(fileType)) {
+            // Per-tag {Tag}Validators.cs, kept apart from the per-DTO Validators
+            return file.getName().endsWith("Validators.cs") ? "TagValidators" : "Endpoints";
+        }
+        return "model".equals(fileType) ? "Models" : "Supporting";
+    }
+    
+    /**
+     * End of the generator run: in incremental mode, report (or remove) files left over from
+     * operations and schemas that are no longer in the spec, and save the manifest; with
+     * generationMetrics, write the metrics report.
+     */
+    @Override
+    public void postProcess() {
+        if (generationManifest != null) {
+            finishIncrementalGeneration(generationManifest);
+            generationManifest = null;
+        }
+        if (generationMetrics.enabled()) {
+            writeMetricsReport();
+        }
+        super.postProcess();
+    }
+    
+    private void writeMetricsReport() {
+        try {
+            int templatesCompiled = templateRegistry == null ? 0 : templateRegistry.size();
+            File report = generationMetrics.writeReport(new File(outputFolder), templatesCompiled,
+                parallelGeneration ? generationThreads : 1);
+            LOGGER.info("Generation metrics ({} ms) written to {}", generationMetrics.totalMillis(), report);
+        } catch (IOException e) {
+            LOGGER.error("Failed to write {}: {}", GenerationMetrics.FILE_NAME, e.getMessage(), e);
+        }
+    }
+    
+    private void finishIncrementalGeneration(GenerationManifest manifest) {
+        // Files DefaultGenerator leaves alone once they exist are still produced by this spec
+        manifest.retain(new File(outputFolder, ".openapi-generator-ignore"));
+        for (SupportingFile supportingFile : supportingFiles) {
+            if (!supportingFile.isCanOverwrite()) {
+                manifest.retain(new File(outputFolder, supportingFile.getFolder() + File.separator
+                    + supportingFile.getDestinationFilename()));
+            }
+        }
+        
+        try {
+            List<String> stale = manifest.staleFiles();
+            if (!stale.isEmpty() && removeStaleFiles) {
+                List<String> kept = manifest.removeStaleFiles();
+                LOGGER.info("Removed {} stale files no longer produced by the spec", stale.size() - kept.size());
+                for (String file : kept) {
+                    LOGGER.warn("Stale file kept because it was modified after generation: {}", file);
+                }
+            } else {
+                for (String file : stale) {
+                    LOGGER.warn("Stale file no longer produced by the spec: {}", file);
+                }
+            }
+            manifest.save();
+            LOGGER.info("Incremental generation: {} MediatR/DTO files written, {} unchanged, {} stale",
+                manifest.writtenCount(), manifest.unchangedCount(), stale.size());
+        } catch (IOException e) {
+            LOGGER.error("Failed to update {}: {}", GenerationManifest.FILE_NAME, e.getMessage(), e);
+        }
+    }
+    
     private void setBasePath() {
         // Extract basePath from the first server URL if available
         String basePath = "";
@@ -509,8 +1109,24 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         return super.apiFileFolder();
     }
     
+    /** With contractShards, a tag's {Tag}Endpoints.cs and {Tag}Validators.cs go to its shard's Endpoints/. */
+    @Override
+    public String apiFilename(String templateName, String tag) {
+        String filename = super.apiFilename(templateName, tag);
+        return contractShards == null ? filename : new File(endpointsFolder(tag), new File(filename).getName()).getPath();
+    }
+    
+    /** Folder of a tag group's endpoint files. */
+    private String endpointsFolder(String tag) {
+        if (contractShards == null) {
+            return apiFileFolder();
+        }
+        return outputFolder + File.separator + contractFolder(contractShards.shardOf(tag)) + File.separator + "Endpoints";
+    }
+    
     @Override
     protected void processOperation(CodegenOperation operation) {
+        GenerationMetrics.Probe probe = generationMetrics.begin();
         super.processOperation(operation);
 
         // Converts, for example, PUT to Put for endpoint configuration
@@ -530,13 +1146,13 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                     boolean innerIsRefType = param.items != null && param.items.complexType != null;
                     String resolvedInnerType = innerIsRefType ? innerType + "Dto" : innerType;
                     param.dataType = resolvedInnerType + "[]";
-                    LOGGER.info("Converted query array parameter '{}' from List<{}> to {}[] for Minimal API compatibility",
+                    LOGGER.debug("Converted query array parameter '{}' from List<{}> to {}[] for Minimal API compatibility",
                         param.paramName, innerType, resolvedInnerType);
                 }
                 // Mark model-type query parameters for special handling (complex JSON deserialization)
                 if (param.isQueryParam && param.isModel) {
                     param.vendorExtensions.put("x-is-complex-query-param", true);
-                    LOGGER.info("Operation '{}' has model-type query parameter '{}' - will use JSON deserialization from query string", 
+                    LOGGER.debug("Operation '{}' has model-type query parameter '{}' - will use JSON deserialization from query string", 
                         operation.operationId, param.paramName);
                 }
                 // FR-027: Convert Model types to DTO types for query/path parameters (Contract-First CQRS)
@@ -545,7 +1161,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                 if ((param.isQueryParam || param.isPathParam) && (param.isModel || param.isEnum) && !param.isContainer) {
                     String originalType = param.dataType;
                     param.dataType = originalType + "Dto";
-                    LOGGER.info("Converted parameter '{}' type from {} to {} for Contract-First CQRS", 
+                    LOGGER.debug("Converted parameter '{}' type from {} to {} for Contract-First CQRS", 
                         param.paramName, originalType, param.dataType);
                 }
             }
@@ -569,7 +1185,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                 if ((param.isModel || param.isEnum) && !param.isContainer) {
                     String originalType = param.dataType;
                     param.dataType = originalType + "Dto";
-                    LOGGER.info("Converted query parameter '{}' type from {} to {} for Contract-First CQRS", 
+                    LOGGER.debug("Converted query parameter '{}' type from {} to {} for Contract-First CQRS", 
                         param.paramName, originalType, param.dataType);
                 }
             }
@@ -621,7 +1237,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                 operation.vendorExtensions.put("handlerClassName", getHandlerClassName(commandClassName));
             }
             
-            LOGGER.info("Added MediatR vendor extensions for operation '{}': type={}, response={}", 
+            LOGGER.debug("Added MediatR vendor extensions for operation '{}': type={}, response={}", 
                 operation.operationId, isQuery ? "Query" : "Command", mediatrResponseType);
         }
 
@@ -638,33 +1254,120 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             }
         }
         operation.vendorExtensions.put("cleanPath", cleanPath);
+        generationMetrics.end(probe, "processOperation", operation.operationId);
+    }
+    
+    /** Marks the end of spec normalization for generationMetrics. */
+    @Override
+    public void processOpenAPI(OpenAPI openAPI) {
+        super.processOpenAPI(openAPI);
+        if (contractShardCount > 1) {
+            planContractShards(openAPI);
+        }
+        if (useOutputCaching) {
+            // Before the operations: commands evict tags that later queries cache under
+            outputCachePolicies = OutputCachePolicies.of(openAPI);
+        }
+        if (useQueryCaching) {
+            queryCachePolicies = QueryCachePolicies.of(openAPI);
+        }
+        if (RequestTimeouts.any(openAPI)) {
+            additionalProperties.put("hasRequestTimeouts", true);
+        }
+        generationMetrics.phase("convertModels");
+    }
+    
+    /**
+     * contractShards: partition the (normalized) spec's tag groups into Contracts projects and
+     * describe them as contractProjects for the solution, implementation project and Program.cs.
+     */
+    private void planContractShards(OpenAPI openAPI) {
+        contractShards = ContractShards.of(openAPI, contractShardCount, this::sanitizeTag);
+        List<Map<String, Object>> projects = new ArrayList<>();
+        projects.add(contractProject(ContractShards.COMMON, "Shared DTOs and converters"));
+        for (String shard : contractShards.names()) {
+            projects.add(contractProject(shard, "Tags: " + String.join(", ", contractShards.tags(shard))));
+            LOGGER.info("Contracts project {}.Contracts.{}: {}", packageName, shard, contractShards.tags(shard));
+        }
+        additionalProperties.put("contractProjects", projects);
+    }
+    
+    private Map<String, Object> contractProject(String name, String description) {
+        Map<String, Object> project = new HashMap<>();
+        project.put("name", name);
+        project.put("description", description);
+        project.put("common", ContractShards.COMMON.equals(name));
+        project.put("guid", newGuid(CONTRACTS_PROJECT_GUID + "." + name));
+        return project;
+    }
+    
+    /** Marks the end of model conversion for generationMetrics; model files are written next. */
+    @Override
+    public Map<String, ModelsMap> postProcessAllModels(Map<String, ModelsMap> objs) {
+        Map<String, ModelsMap> result = super.postProcessAllModels(objs);
+        generationMetrics.phase("writeModels");
+        if (renderDataReleaser != null) {
+            renderDataReleaser.modelsConverted(result);
+        }
+        return result;
+    }
+    
+    /**
+     * DefaultGenerator converts every operation once the model files are written; in
+     * lowMemoryGeneration the first call releases the model data only those files needed.
+     */
+    @Override
+    public CodegenOperation fromOperation(String path, String httpMethod, Operation operation, List<Server> servers) {
+        if (renderDataReleaser != null) {
+            renderDataReleaser.modelFilesWritten();
+        }
+        return super.fromOperation(path, httpMethod, operation, servers);
     }
     
     @Override
     public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+        generationMetrics.phase("tagGroups");
+        
         // Let base class do its standard work (generating the grouped API files)
         OperationsMap results = super.postProcessOperationsWithModels(objs, allModels);
         
+        // The previous tag group's API files are written by now
+        if (renderDataReleaser != null) {
+            renderDataReleaser.tagGroupProcessed(results.getOperations().getOperation());
+        }
+        
         // Only generate MediatR files if feature is enabled
-        if (!useMediatr) {
-            return results;
+        if (useMediatr) {
+            generateMediatrFiles(results, allModels);
+        }
+        
+        // After the MediatR files, which mark body parameters as DTOs for the endpoint code
+        if (perOperationEndpoints) {
+            writeEndpointFiles(results);
         }
         
+        return results;
+    }
+    
+    /**
+     * Generate the commands, queries and handlers of one tag group and collect its request
+     * DTOs (written once all tag groups are processed).
+     */
+    private void generateMediatrFiles(OperationsMap results, List<ModelMap> allModels) {
         // Get the operations for this tag group
         OperationMap operations = results.getOperations();
         List<CodegenOperation> opList = operations.getOperation();
         
         if (opList == null || opList.isEmpty()) {
-            return results;
+            return;
         }
         
-        LOGGER.info("Generating MediatR files for {} operations (T009)", opList.size());
+        LOGGER.debug("Generating MediatR files for {} operations (T009)", opList.size());
         
-        // Setup Mustache compiler once
-        Mustache.Compiler compiler = Mustache.compiler().defaultValue("");
+        ModelIndex models = getModelIndex(allModels);
         
-        // Track unique DTOs to generate (keyed by schema name)
-        Map<String, Map<String, Object>> dtosToGenerate = new HashMap<>();
+        // Track unique DTOs to generate across all tag groups (keyed by DTO class name)
+        DtoRegistry dtos = getDtoRegistry(allModels);
         
         // Generate files for each operation
         for (CodegenOperation op : opList) {
@@ -699,48 +1402,370 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                     }
                     
                     // Collect DTO for generation (deduplicate by name)
-                    if (!dtosToGenerate.containsKey(dtoName)) {
-                        Map<String, Object> dtoData = prepareDtoData(op, dtoName, allModels);
-                        dtosToGenerate.put(dtoName, dtoData);
+                    if (!dtos.hasRequestDto(dtoName)) {
+                        GenerationMetrics.Probe probe = generationMetrics.begin();
+                        Map<String, Object> dtoData = prepareDtoData(op, dtoName, models, dtos);
+                        dtos.addRequestDto(dtoName, dtoData);
                         
                         // Also collect nested DTOs (e.g., CategoryDto, TagDto)
-                        collectNestedDtos(dtoData, allModels, dtosToGenerate);
+                        collectNestedDtos(dtoData, models, dtos);
+                        generationMetrics.end(probe, "dtoCollection", op.operationId);
                     }
                 }
                 
-                generateMediatrFilesForOperation(compiler, op, results, allModels);
+                // A DTO goes to the Contracts shard of the operations using it (or to Common)
+                if (contractShards != null) {
+                    contractShards.useDtos(op.baseName, (String) op.vendorExtensions.get("dtoClassName"),
+                        (String) op.vendorExtensions.get("dtoResponseType"));
+                    for (CodegenParameter param : op.allParams) {
+                        contractShards.useDtos(op.baseName, param.dataType);
+                    }
+                }
+                
+                // Body and response types, listed in the JsonSerializerContext once the DTOs are known
+                if (useSourceGeneratedJson) {
+                    Set<String> types = jsonSerializableTypes.computeIfAbsent(jsonContextPrefix(operationShard(op)), k -> new TreeSet<>());
+                    if (op.vendorExtensions.get("dtoClassName") != null) {
+                        types.add((String) op.vendorExtensions.get("dtoClassName"));
+                    }
+                    if (!"Unit".equals(op.vendorExtensions.get("dtoResponseType"))) {
+                        types.add((String) op.vendorExtensions.get("dtoResponseType"));
+                    }
+                    if (useNativeAot) {
+                        // Without reflection, complex query parameters and error messages need metadata too
+                        for (CodegenParameter param : op.allParams) {
+                            if (Boolean.TRUE.equals(param.vendorExtensions.get("x-is-complex-query-param"))) {
+                                types.add(param.dataType);
+                            }
+                        }
+                        types.add("string");
+                    }
+                }
+                
+                if (isDirectDispatch()) {
+                    registerHandler(op);
+                }
+                
+                if (regenerationScope != null) {
+                    if (!regenerationScope.includesOperation(op.httpMethod, op.path)) {
+                        retainMediatrFiles(op);
+                        continue;
+                    }
+                    scopedOperationIds.add(op.operationId);
+                }
+                
+                generateMediatrFilesForOperation(op, results, models);
             } catch (Exception e) {
                 LOGGER.error("Failed to generate MediatR files for operation '{}': {}", 
                     op.operationId, e.getMessage(), e);
             }
         }
         
-        // Generate DTO files
-        for (Map<String, Object> dtoData : dtosToGenerate.values()) {
-            try {
-                writeDtoFile(compiler, dtoData);
-            } catch (Exception e) {
-                LOGGER.error("Failed to generate DTO file for '{}': {}", 
-                    dtoData.get("classname"), e.getMessage(), e);
+        // Wait for this tag group's files before DefaultGenerator renders its API files
+        // from the same operations
+        reportGenerationFailures("Failed to generate MediatR files for operation");
+        
+        // DTO and Validator files are written once all tag groups are processed
+        // (see postProcessSupportingFileData)
+    }
+    
+    /**
+     * perOperationEndpoints: write one {Operation}Endpoint.cs per operation next to the tag's
+     * {Tag}Endpoints.cs, which api.mustache then renders as a list of calls. Small files keep
+     * C# incremental builds to the operations that changed, and small methods suit tiered JIT.
+     */
+    private void writeEndpointFiles(OperationsMap results) {
+        OperationMap operations = results.getOperations();
+        if (operations.getOperation() == null) {
+            return;
+        }
+        
+        // DefaultGenerator adds these to the tag bundle only after this hook returns
+        Map<String, Object> tagData = new HashMap<>(additionalProperties);
+        tagData.put("classname", operations.getClassname());
+        tagData.put("basePathWithoutHost", getBasePathWithoutHost());
+        
+        GenerationExecutor executor = getGenerationExecutor();
+        for (CodegenOperation op : operations.getOperation()) {
+            if (op.getHasFormParams()) {
+                continue; // Not mapped by api.mustache either
+            }
+            File endpointFile = new File(endpointsFolder(op.baseName), op.vendorExtensions.get("operationIdPascalCase") + "Endpoint.cs");
+            if (regenerationScope != null && !regenerationScope.includesOperation(op.httpMethod, op.path)) {
+                retainFile(endpointFile);
+                continue;
+            }
+            Map<String, Object> data = new HashMap<>(tagData);
+            data.put("operation", op);
+            executor.submit(op.operationId, () -> {
+                GenerationMetrics.Probe probe = generationMetrics.begin();
+                writeGeneratedFile(endpointFile, getTemplateRegistry().get("endpoint.mustache"), data);
+                generationMetrics.end(probe, "renderAndWrite", op.operationId);
+            });
+        }
+        reportGenerationFailures("Failed to generate endpoint file for operation");
+    }
+    
+    /** Server path as DefaultGenerator passes it to api templates, e.g. "/v2". */
+    private String getBasePathWithoutHost() {
+        String path = encodePath(URLPathUtils.getServerURL(openAPI, serverVariableOverrides()).getPath());
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+    
+    /**
+     * Called once after every tag group has been through postProcessOperationsWithModels
+     * and before the supporting files are written: write the DTOs and Validators collected
+     * across the whole spec, one file each.
+     */
+    @Override
+    public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+        Map<String, Object> result = super.postProcessSupportingFileData(objs);
+        if (renderDataReleaser != null) {
+            renderDataReleaser.apiFilesWritten();
+            LOGGER.debug("Released render data of {} models and {} operations",
+                renderDataReleaser.releasedModels(), renderDataReleaser.releasedOperations());
+        }
+        if (useMediatr && dtoRegistry != null) {
+            generationMetrics.phase("dtoFiles");
+            writeDtoFiles(dtoRegistry);
+            dtoRegistry = null;
+        }
+        if (useMediatr) {
+            LOGGER.info("Generated MediatR files: {} commands, {} queries, {} handlers ({} existing kept), {} DTOs, {} validators",
+                generationMetrics.written("Commands"), generationMetrics.written("Queries"),
+                generationMetrics.written("Handlers"), generationMetrics.skipped("Handlers"),
+                generationMetrics.written("DTOs"), generationMetrics.written("Validators"));
+        }
+        if (isDirectDispatch()) {
+            handlerRegistrations.sort(Comparator.comparing(r -> r.get("requestClassName")));
+            result.put("handlerRegistrations", new ArrayList<>(handlerRegistrations));
+        }
+        if (contractShards != null) {
+            writeContractShardProjects();
+        }
+        handlerRegistrations.clear();
+        generationMetrics.phase("supportingFiles");
+        if (generationExecutor != null) {
+            generationExecutor.shutdown();
+            generationExecutor = null;
+        }
+        claimedHandlerPaths.clear();
+        return result;
+    }
+    
+    /**
+     * contractShards: write the .csproj and extension methods of each Contracts project, which
+     * the standard supporting files cannot do as they are rendered once per run. Shards get
+     * Add{Shard}ApiEndpoints for their tags; the namespaces every shard imports are declared in
+     * Common, so a shard without commands or queries of its own still compiles.
+     */
+    private void writeContractShardProjects() {
+        GenerationExecutor executor = getGenerationExecutor();
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> projects = (List<Map<String, Object>>) additionalProperties.get("contractProjects");
+        for (Map<String, Object> project : projects) {
+            String name = (String) project.get("name");
+            String projectFolder = outputFolder + File.separator + sourceFolder + File.separator + packageName + ".Contracts." + name;
+            Map<String, Object> data = new HashMap<>(additionalProperties);
+            data.put("contractShard", project);
+            
+            // Template -> output file
+            Map<String, File> files = new LinkedHashMap<>();
+            files.put("nuget-project.csproj.mustache", new File(projectFolder, packageName + ".Contracts." + name + ".csproj"));
+            if (ContractShards.COMMON.equals(name)) {
+                files.put("contractNamespaces.mustache", new File(projectFolder, "ContractNamespaces.cs"));
+            } else {
+                List<Map<String, Object>> apis = new ArrayList<>();
+                for (String tag : contractShards.tags(name)) {
+                    apis.add(Collections.singletonMap("classname", toApiName(tag)));
+                }
+                data.put("apiInfo", Collections.singletonMap("apis", apis));
+                files.put("endpointExtensions.mustache", new File(projectFolder + File.separator + "Extensions", "EndpointExtensions.cs"));
+            }
+            if (useValidators && !isGeneratedValidators()) {
+                files.put("validatorExtensions.mustache", new File(projectFolder + File.separator + "Extensions", "ValidatorExtensions.cs"));
+            }
+            
+            for (Map.Entry<String, File> file : files.entrySet()) {
+                Template template = getTemplateRegistry().get(file.getKey());
+                executor.submit(name, () -> writeGeneratedFile(file.getValue(), template, data));
+            }
+        }
+        reportGenerationFailures("Failed to generate Contracts project");
+    }
+    
+    /**
+     * Write every registered DTO exactly once. Response DTOs (one per model) take precedence
+     * over a request DTO of the same name; Validators are generated for request DTOs only.
+     */
+    private void writeDtoFiles(DtoRegistry dtos) {
+        Map<String, Map<String, Object>> dtoFiles = new LinkedHashMap<>();
+        for (Map<String, Object> dtoData : dtos.requestDtos()) {
+            dtoFiles.put((String) dtoData.get("classname"), dtoData);
+        }
+        
+        // Response DTOs from all models (FR-027: Commands/Queries return DTO types)
+        for (Map<String, Object> dtoData : prepareResponseDtos(dtos)) {
+            dtoFiles.put((String) dtoData.get("classname"), dtoData);
+        }
+        
+        LOGGER.debug("Generating {} DTO files ({} request DTOs, {} models)", 
+            dtoFiles.size(), dtos.requestDtos().size(), dtos.allModels() == null ? 0 : dtos.allModels().size());
+        
+        if (contractShards != null) {
+            contractShards.assignDtos(dtoFiles);
+        }
+        
+        GenerationExecutor executor = getGenerationExecutor();
+        for (Map<String, Object> dtoData : dtoFiles.values()) {
+            if (!isInRegenerationScope(dtoData)) {
+                retainFile(mediatrFile(dtoFolder("DTOs", dtoData), dtoData.get("classname") + ".cs"));
+                continue;
             }
+            executor.submit((String) dtoData.get("classname"), () -> {
+                GenerationMetrics.Probe probe = generationMetrics.begin();
+                writeDtoFile(dtoData);
+                generationMetrics.end(probe, "renderAndWrite", null);
+            });
         }
+        reportGenerationFailures("Failed to generate DTO file for");
         
         // Generate Validator files if useValidators is enabled (T032-T033)
         if (useValidators) {
-            for (Map<String, Object> dtoData : dtosToGenerate.values()) {
-                try {
-                    writeValidatorFile(compiler, dtoData);
-                } catch (Exception e) {
-                    LOGGER.error("Failed to generate Validator file for '{}': {}", 
-                        dtoData.get("classname"), e.getMessage(), e);
+            for (Map<String, Object> dtoData : dtos.requestDtos()) {
+                if (!isInRegenerationScope(dtoFiles.get(dtoData.get("classname")))) {
+                    retainFile(mediatrFile(dtoFolder("Validators", dtoData), dtoData.get("classname") + "Validator.cs"));
+                    continue;
                 }
+                executor.submit((String) dtoData.get("classname"), () -> {
+                    GenerationMetrics.Probe probe = generationMetrics.begin();
+                    writeValidatorFile(dtoData);
+                    generationMetrics.end(probe, "renderAndWrite", null);
+                });
             }
+            reportGenerationFailures("Failed to generate Validator file for");
         }
         
-        // Generate response DTOs from all models (FR-027: Commands/Queries return DTO types)
-        generateResponseDtos(compiler, allModels);
+        if (useSourceGeneratedJson) {
+            writeJsonSerializerContexts(dtoFiles);
+        }
+    }
+    
+    /**
+     * useSourceGeneratedJson: write a JsonSerializerContext per project with endpoints, listing
+     * the body and response types of its operations, its DTOs and the ProblemDetails types the
+     * endpoints and exception handler write. Types nested in these (CategoryDto in PetDto, DTOs
+     * of the Common shard) are generated with them. Response types naming a DTO that is not
+     * generated (FileDto) are left to the reflection-based resolver.
+     */
+    private void writeJsonSerializerContexts(Map<String, Map<String, Object>> dtoFiles) {
+        for (String dto : dtoFiles.keySet()) {
+            String shard = contractShards == null ? null : contractShards.dtoShard(dto);
+            if (!ContractShards.COMMON.equals(shard)) {
+                jsonSerializableTypes.computeIfAbsent(jsonContextPrefix(shard), k -> new TreeSet<>()).add(dto);
+            }
+        }
         
-        return results;
+        GenerationExecutor executor = getGenerationExecutor();
+        for (Map.Entry<String, Set<String>> context : jsonSerializableTypes.entrySet()) {
+            String shard = contractShards == null ? null : context.getKey();
+            List<String> types = new ArrayList<>();
+            for (String type : context.getValue()) {
+                Matcher matcher = DTO_TYPE.matcher(type);
+                boolean generated = true;
+                while (matcher.find()) {
+                    generated &= dtoFiles.containsKey(matcher.group(1));
+                }
+                if (generated) {
+                    types.add(type);
+                }
+            }
+            Map<String, Object> data = new HashMap<>(additionalProperties);
+            data.put("serializableTypes", types);
+            if (shard != null) {
+                data.put("contractShard", contractProjectData(shard));
+            }
+            File file = mediatrFile(shardFolder(shard, "Serialization"), context.getKey() + "ApiJsonSerializerContext.cs");
+            executor.submit(file.getName(), () -> writeMediatrFile("jsonSerializerContext.mustache", data,
+                shardFolder(shard, "Serialization"), file.getName()));
+        }
+        reportGenerationFailures("Failed to generate JsonSerializerContext");
+        jsonSerializableTypes.clear();
+    }
+    
+    /**
+     * dispatchMode=direct: record the operation's handler, for explicit registration
+     * in place of the assembly scan.
+     */
+    private void registerHandler(CodegenOperation op) {
+        Map<String, String> handler = new HashMap<>();
+        handler.put("requestClassName", (String) op.vendorExtensions.get("requestClassName"));
+        handler.put("responseType", (String) op.vendorExtensions.get("dtoResponseType"));
+        handler.put("handlerClassName", (String) op.vendorExtensions.get("handlerClassName"));
+        handlerRegistrations.add(handler);
+    }
+    
+    /** Class name prefix of a project's JsonSerializerContext: the shard name, or "" when not sharded. */
+    private static String jsonContextPrefix(String shard) {
+        return shard == null ? "" : shard;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> contractProjectData(String shard) {
+        for (Map<String, Object> project : (List<Map<String, Object>>) additionalProperties.get("contractProjects")) {
+            if (shard.equals(project.get("name"))) {
+                return project;
+            }
+        }
+        throw new IllegalStateException("Unknown Contracts project " + shard);
+    }
+    
+    /**
+     * Watch mode: limit the MediatR, DTO and validator files rendered by this run to the
+     * operations and schemas in scope. Files outside the scope are kept as they are on disk.
+     */
+    void setRegenerationScope(RegenerationScope scope) {
+        this.regenerationScope = scope;
+    }
+    
+    /**
+     * A request DTO is in scope if its operation is; a model DTO if its schema (or one it
+     * references) changed, or if it comes from an inline schema.
+     */
+    private boolean isInRegenerationScope(Map<String, Object> dtoData) {
+        if (regenerationScope == null) {
+            return true;
+        }
+        Object operationId = dtoData.get("operationId");
+        if (operationId != null) {
+            return scopedOperationIds.contains(operationId);
+        }
+        if (schemaByModelName == null) {
+            schemaByModelName = new HashMap<>();
+            for (String schema : regenerationScope.allSchemas()) {
+                schemaByModelName.put(toModelName(schema), schema);
+            }
+        }
+        String className = (String) dtoData.get("classname");
+        String schema = schemaByModelName.get(className.substring(0, className.length() - "Dto".length()));
+        return schema == null || regenerationScope.includesSchema(schema);
+    }
+    
+    /** Keep the command/query and handler of an operation outside the regeneration scope in the manifest. */
+    private void retainMediatrFiles(CodegenOperation operation) {
+        Boolean isQuery = (Boolean) operation.vendorExtensions.get("isQuery");
+        String requestClassName = (String) operation.vendorExtensions.get("requestClassName");
+        if (requestClassName != null) {
+            retainFile(mediatrFile(shardFolder(operationShard(operation), Boolean.TRUE.equals(isQuery) ? "Queries" : "Commands"),
+                requestClassName + ".cs"));
+            retainFile(mediatrFile("Handlers", operation.vendorExtensions.get("handlerClassName") + ".cs"));
+        }
+    }
+    
+    private void retainFile(File file) {
+        if (generationManifest != null) {
+            generationManifest.retain(file);
+        }
     }
     
     /**
@@ -755,9 +1780,11 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
      * Prepare template data for DTO generation from operation's requestBody schema.
      * Converts Model property types to DTO types for complete decoupling.
      */
-    private Map<String, Object> prepareDtoData(CodegenOperation operation, String dtoName, List<ModelMap> allModels) {
+    private Map<String, Object> prepareDtoData(CodegenOperation operation, String dtoName, ModelIndex models,
+                                               DtoRegistry dtos) {
         Map<String, Object> data = new HashMap<>();
         data.put("packageName", packageName);
+        data.put(USE_GENERATED_ENUM_CONVERTERS, useGeneratedEnumConverters);
         data.put("classname", dtoName);
         data.put("operationId", operation.operationId);
         data.put("description", operation.summary);
@@ -767,36 +1794,13 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             // Use bodyParam's data type to look up model properties
             String bodyType = operation.bodyParam.dataType;
             
-            // Find the model in allModels
-            for (ModelMap modelMap : allModels) {
-                if (modelMap.getModel() != null && 
-                    modelMap.getModel().getClassname().equals(bodyType)) {
-                    // Clone and convert model properties for DTO (convert complex types to DTO types)
-                    List<CodegenProperty> dtoVars = new ArrayList<>();
-                    for (CodegenProperty prop : modelMap.getModel().getVars()) {
-                        CodegenProperty dtoProp = prop.clone();
-                        
-                        // Strip regex delimiters from pattern (e.g., "/^pattern$/" -> "^pattern$")
-                        if (dtoProp.pattern != null && dtoProp.pattern.startsWith("/") && dtoProp.pattern.endsWith("/")) {
-                            dtoProp.pattern = dtoProp.pattern.substring(1, dtoProp.pattern.length() - 1);
-                        }
-                        
-                        // Convert complex types to DTO equivalents
-                        if (prop.complexType != null && !prop.isContainer) {
-                            // Single complex type: Category -> CategoryDto
-                            dtoProp.dataType = prop.complexType + "Dto";
-                            dtoProp.datatypeWithEnum = prop.complexType + "Dto";
-                        } else if (prop.isContainer && prop.complexType != null) {
-                            // Collection of complex types: List<Tag> -> List<TagDto>
-                            dtoProp.dataType = dtoProp.dataType.replace(prop.complexType, prop.complexType + "Dto");
-                            dtoProp.datatypeWithEnum = dtoProp.datatypeWithEnum.replace(prop.complexType, prop.complexType + "Dto");
-                        }
-                        dtoVars.add(dtoProp);
-                    }
-                    data.put("vars", dtoVars);
-                    data.put("hasVars", !dtoVars.isEmpty());
-                    break;
-                }
+            // Find the model in the spec-wide index
+            CodegenModel bodyModel = models.byClassName(bodyType);
+            if (bodyModel != null) {
+                // Model properties converted for DTO (complex types -> DTO types)
+                List<CodegenProperty> dtoVars = dtos.dtoVars(bodyModel);
+                data.put("vars", dtoVars);
+                data.put("hasVars", !dtoVars.isEmpty());
             }
         }
         
@@ -807,8 +1811,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
      * Recursively collect nested DTOs that need to be generated (e.g., CategoryDto, TagDto).
      * This ensures complete decoupling - DTOs never reference Model types.
      */
-    private void collectNestedDtos(Map<String, Object> parentDtoData, List<ModelMap> allModels, 
-                                   Map<String, Map<String, Object>> dtosToGenerate) {
+    private void collectNestedDtos(Map<String, Object> parentDtoData, ModelIndex models, DtoRegistry dtos) {
         @SuppressWarnings("unchecked")
         List<CodegenProperty> vars = (List<CodegenProperty>) parentDtoData.get("vars");
         if (vars == null) return;
@@ -828,46 +1831,26 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             // Generate nested DTO if not already tracked
             if (nestedModelName != null) {
                 String nestedDtoName = nestedModelName + "Dto";
-                if (!dtosToGenerate.containsKey(nestedDtoName)) {
+                if (!dtos.hasRequestDto(nestedDtoName)) {
                     // Find the nested model and generate its DTO
-                    for (ModelMap modelMap : allModels) {
-                        if (modelMap.getModel() != null && 
-                            modelMap.getModel().getClassname().equals(nestedModelName)) {
-                            // Create DTO data for nested model
-                            Map<String, Object> nestedDtoData = new HashMap<>();
-                            nestedDtoData.put("packageName", packageName);
-                            nestedDtoData.put("classname", nestedDtoName);
-                            nestedDtoData.put("description", modelMap.getModel().getDescription());
-                            
-                            // Convert nested model properties to DTO types
-                            List<CodegenProperty> nestedDtoVars = new ArrayList<>();
-                            for (CodegenProperty nestedProp : modelMap.getModel().getVars()) {
-                                CodegenProperty nestedDtoProp = nestedProp.clone();
-                                
-                                // Strip regex delimiters from pattern (e.g., "/^pattern$/" -> "^pattern$")
-                                if (nestedDtoProp.pattern != null && nestedDtoProp.pattern.startsWith("/") && nestedDtoProp.pattern.endsWith("/")) {
-                                    nestedDtoProp.pattern = nestedDtoProp.pattern.substring(1, nestedDtoProp.pattern.length() - 1);
-                                }
-                                
-                                // Recursively convert complex types
-                                if (nestedProp.complexType != null && !nestedProp.isContainer) {
-                                    nestedDtoProp.dataType = nestedProp.complexType + "Dto";
-                                    nestedDtoProp.datatypeWithEnum = nestedProp.complexType + "Dto";
-                                } else if (nestedProp.isContainer && nestedProp.complexType != null) {
-                                    nestedDtoProp.dataType = nestedDtoProp.dataType.replace(nestedProp.complexType, nestedProp.complexType + "Dto");
-                                    nestedDtoProp.datatypeWithEnum = nestedDtoProp.datatypeWithEnum.replace(nestedProp.complexType, nestedProp.complexType + "Dto");
-                                }
-                                nestedDtoVars.add(nestedDtoProp);
-                            }
-                            nestedDtoData.put("vars", nestedDtoVars);
-                            nestedDtoData.put("hasVars", !nestedDtoVars.isEmpty());
-                            
-                            dtosToGenerate.put(nestedDtoName, nestedDtoData);
-                            
-                            // Recursively process nested DTOs (e.g., if Category has a nested object)
-                            collectNestedDtos(nestedDtoData, allModels, dtosToGenerate);
-                            break;
-                        }
+                    CodegenModel nestedModel = models.byComplexType(nestedModelName);
+                    if (nestedModel != null) {
+                        // Create DTO data for nested model
+                        Map<String, Object> nestedDtoData = new HashMap<>();
+                        nestedDtoData.put("packageName", packageName);
+                        nestedDtoData.put(USE_GENERATED_ENUM_CONVERTERS, useGeneratedEnumConverters);
+                        nestedDtoData.put("classname", nestedDtoName);
+                        nestedDtoData.put("description", nestedModel.getDescription());
+                        
+                        // Nested model properties converted to DTO types
+                        List<CodegenProperty> nestedDtoVars = dtos.dtoVars(nestedModel);
+                        nestedDtoData.put("vars", nestedDtoVars);
+                        nestedDtoData.put("hasVars", !nestedDtoVars.isEmpty());
+                        
+                        dtos.addRequestDto(nestedDtoName, nestedDtoData);
+                        
+                        // Recursively process nested DTOs (e.g., if Category has a nested object)
+                        collectNestedDtos(nestedDtoData, models, dtos);
                     }
                 }
             }
@@ -877,103 +1860,98 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
     /**
      * Write DTO file to disk using dto.mustache template.
      */
-    private void writeDtoFile(Mustache.Compiler compiler, Map<String, Object> dtoData) throws Exception {
+    private void writeDtoFile(Map<String, Object> dtoData) throws Exception {
         String dtoName = (String) dtoData.get("classname");
-        writeMediatrFile(compiler, "dto.mustache", dtoData, "DTOs", dtoName + ".cs");
-        LOGGER.info("Generated DTO file: DTOs/{}.cs", dtoName);
+        writeMediatrFile("dto.mustache", dtoData, dtoFolder("DTOs", dtoData), dtoName + ".cs");
+        LOGGER.debug("Generated DTO file: DTOs/{}.cs", dtoName);
     }
     
     /**
      * Write Validator file to disk using dtoValidator.mustache template.
      * Generates FluentValidation validators for DTOs with comprehensive constraint support.
-     * (T032-T033)
+     * (T032-T033) With validatorEngine=generated, generatedDtoValidator.mustache writes the
+     * same checks as plain C# instead.
      */
-    private void writeValidatorFile(Mustache.Compiler compiler, Map<String, Object> dtoData) throws Exception {
+    private void writeValidatorFile(Map<String, Object> dtoData) throws Exception {
         String dtoName = (String) dtoData.get("classname");
         String validatorName = dtoName + "Validator";
-        writeMediatrFile(compiler, "dtoValidator.mustache", dtoData, "Validators", validatorName + ".cs");
-        LOGGER.info("Generated Validator file: Validators/{}.cs", validatorName);
+        if (isGeneratedValidators()) {
+            @SuppressWarnings("unchecked")
+            List<CodegenProperty> vars = (List<CodegenProperty>) dtoData.get("vars");
+            List<Map<String, Object>> rules = GeneratedValidatorRules.of(dtoName, vars, modelIndex);
+            Map<String, Object> data = new HashMap<>(dtoData);
+            data.put("validationRules", rules);
+            data.put("hasPatterns", rules.stream().anyMatch(rule -> rule.containsKey("patternMethod")));
+            writeMediatrFile("generatedDtoValidator.mustache", data, dtoFolder("Validators", dtoData), validatorName + ".cs");
+            return;
+        }
+        writeMediatrFile("dtoValidator.mustache", dtoData, dtoFolder("Validators", dtoData), validatorName + ".cs");
+        LOGGER.debug("Generated Validator file: Validators/{}.cs", validatorName);
     }
     
     /**
-     * Generate response DTOs from all models in the OpenAPI specification.
+     * Prepare response DTOs from all models in the OpenAPI specification.
      * This ensures every Model has a corresponding DTO for use in Command/Query response types.
      * FR-027: Commands/Queries must return DTO types (PetDto, OrderDto, UserDto) not Model types.
      * 
-     * @param compiler The Mustache compiler instance
-     * @param allModels List of all models from the OpenAPI spec
+     * @param dtos The run-wide DTO registry holding all models from the OpenAPI spec
+     * @return DTO template data, one entry per model
      */
-    private void generateResponseDtos(Mustache.Compiler compiler, List<ModelMap> allModels) {
-        if (allModels == null || allModels.isEmpty()) {
-            return;
+    private List<Map<String, Object>> prepareResponseDtos(DtoRegistry dtos) {
+        List<Map<String, Object>> responseDtos = new ArrayList<>();
+        if (dtos.allModels() == null) {
+            return responseDtos;
         }
         
-        LOGGER.info("Generating response DTOs for {} models", allModels.size());
-        
-        for (ModelMap modelMap : allModels) {
+        for (ModelMap modelMap : dtos.allModels()) {
             if (modelMap.getModel() == null) {
                 continue;
             }
             
             CodegenModel model = modelMap.getModel();
-            String modelName = model.getClassname();
-            String dtoName = modelName + "Dto";
+            String dtoName = model.getClassname() + "Dto";
             
-            try {
-                // Prepare DTO data from model
-                Map<String, Object> dtoData = new HashMap<>();
-                dtoData.put("packageName", packageName);
-                dtoData.put("classname", dtoName);
-                dtoData.put("description", model.getDescription());
-                dtoData.put("isEnum", model.isEnum);
-                dtoData.put("allowableValues", model.allowableValues);
-                dtoData.put("isString", model.isString);
-                
-                // Clone and convert model properties for DTO
-                List<CodegenProperty> dtoVars = new ArrayList<>();
-                for (CodegenProperty prop : model.getVars()) {
-                    CodegenProperty dtoProp = prop.clone();
-                    
-                    // Strip regex delimiters from pattern
-                    if (dtoProp.pattern != null && dtoProp.pattern.startsWith("/") && dtoProp.pattern.endsWith("/")) {
-                        dtoProp.pattern = dtoProp.pattern.substring(1, dtoProp.pattern.length() - 1);
-                    }
-                    
-                    // Convert complex types to DTO equivalents
-                    if (prop.complexType != null && !prop.isContainer) {
-                        // Single complex type: Category -> CategoryDto
-                        dtoProp.dataType = prop.complexType + "Dto";
-                        dtoProp.datatypeWithEnum = prop.complexType + "Dto";
-                    } else if (prop.isContainer && prop.complexType != null) {
-                        // Collection of complex types: List<Tag> -> List<TagDto>
-                        dtoProp.dataType = dtoProp.dataType.replace(prop.complexType, prop.complexType + "Dto");
-                        dtoProp.datatypeWithEnum = dtoProp.datatypeWithEnum.replace(prop.complexType, prop.complexType + "Dto");
-                    }
-                    dtoVars.add(dtoProp);
-                }
-                dtoData.put("vars", dtoVars);
-                dtoData.put("hasVars", !dtoVars.isEmpty());
-                
-                // Generate DTO file
-                writeDtoFile(compiler, dtoData);
-                LOGGER.info("Generated response DTO: {}.cs", dtoName);
-                
-            } catch (Exception e) {
-                LOGGER.error("Failed to generate response DTO for model '{}': {}", modelName, e.getMessage(), e);
-            }
+            // Prepare DTO data from model
+            Map<String, Object> dtoData = new HashMap<>();
+            dtoData.put("packageName", packageName);
+            dtoData.put(USE_GENERATED_ENUM_CONVERTERS, useGeneratedEnumConverters);
+            dtoData.put("classname", dtoName);
+            dtoData.put("description", model.getDescription());
+            dtoData.put("isEnum", model.isEnum);
+            dtoData.put("allowableValues", model.allowableValues);
+            dtoData.put("isString", model.isString);
+            
+            List<CodegenProperty> dtoVars = dtos.dtoVars(model);
+            dtoData.put("vars", dtoVars);
+            dtoData.put("hasVars", !dtoVars.isEmpty());
+            responseDtos.add(dtoData);
         }
+        return responseDtos;
     }
     
+    /**
+     * useQueryCoalescing: template data of a coalesced query, or null if the query opts out with
+     * {@code x-coalesce: false} or its record cannot be a key. Queries of operations with security
+     * requirements only share a result among requests of the same user.
+     */
+    private Map<String, Object> queryCoalescing(CodegenOperation operation, Map<String, Object> queryKey) {
+        if (!useQueryCoalescing || queryKey == null || Boolean.FALSE.equals(operation.vendorExtensions.get("x-coalesce"))) {
+            return null;
+        }
+        Map<String, Object> queryCoalescing = new HashMap<>();
+        queryCoalescing.put("perUser", operation.hasAuthMethods ? "true" : "false");
+        return queryCoalescing;
+    }
+
     /**
      * Generate command/query and handler files for a single operation using Mustache template engine.
      * This is the proper T009 implementation - files get full operation data context.
      * 
-     * @param compiler The Mustache compiler instance
      * @param operation The operation to generate files for
      * @param objs The operations map containing shared context (packageName, imports, etc.)
      */
-    private void generateMediatrFilesForOperation(Mustache.Compiler compiler, CodegenOperation operation,
-                                                   OperationsMap objs, List<ModelMap> allModels) throws Exception {
+    private void generateMediatrFilesForOperation(CodegenOperation operation,
+                                                   OperationsMap objs, ModelIndex models) throws Exception {
         Boolean isQuery = (Boolean) operation.vendorExtensions.get("isQuery");
         String requestClassName = (String) operation.vendorExtensions.get("requestClassName");
         String handlerClassName = (String) operation.vendorExtensions.get("handlerClassName");
@@ -1004,32 +1982,74 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         data.put("bodyParam", operation.bodyParam);
         data.put("hasBodyParam", operation.getHasBodyParam());
         data.put("description", operation.summary);
-        // Add handler implementation data (property-by-property mapping code, enum switch methods)
-        Map<String, Object> handlerData = prepareHandlerData(operation, allModels);
-        data.putAll(handlerData);
+        if (Boolean.TRUE.equals(isQuery)) {
+            // useQueryCaching: ICachedQuery on cached queries; useQueryCoalescing: ICoalescedQuery
+            Map<String, Object> queryKey = QueryCachePolicies.queryKey(operation);
+            Map<String, Object> queryCache = queryCachePolicies != null ? queryCachePolicies.query(operation) : null;
+            Map<String, Object> queryCoalescing = queryCoalescing(operation, queryKey);
+            if (queryCache != null) {
+                data.put("queryCache", queryCache);
+            }
+            if (queryCoalescing != null) {
+                data.put("queryCoalescing", queryCoalescing);
+            }
+            if (queryCache != null || queryCoalescing != null) {
+                data.put("cachingInterfaces", true);
+                if (Boolean.TRUE.equals(queryKey.get("hasArrayMembers"))) {
+                    data.put("queryKey", queryKey);
+                }
+            }
+        } else if (queryCachePolicies != null) {
+            // useQueryCaching: IInvalidatingCommand on commands of cached tags
+            String invalidatedCacheTags = queryCachePolicies.invalidations(operation);
+            if (invalidatedCacheTags != null) {
+                data.put("invalidatedCacheTags", invalidatedCacheTags);
+            }
+        }
         
         // Determine template and folder based on operation type
         String requestTemplate = (isQuery != null && isQuery) ? "query.mustache" : "command.mustache";
-        String requestFolder = (isQuery != null && isQuery) ? "Queries" : "Commands";
+        String requestFolder = shardFolder(operationShard(operation), (isQuery != null && isQuery) ? "Queries" : "Commands");
         
-        // Generate command/query file
         String requestFile = requestClassName + ".cs";
-        writeMediatrFile(compiler, requestTemplate, data, requestFolder, requestFile);
-        LOGGER.info("Generated {} file: {}/{}", isQuery ? "Query" : "Command", requestFolder, requestFile);
         
-        // Generate handler file (with existence check per R4)
+        // Decide on the handler file (with existence check per R4) here, on the calling thread,
+        // before any of this run's files are written. Claiming the path makes the decision
+        // race-free in parallel mode: at most one operation generates a given handler.
         String handlerFolder = "Handlers";
         String handlerFile = handlerClassName + ".cs";
         String handlerPath = outputFolder + File.separator + generatedFolder + 
             File.separator + handlerFolder + File.separator + handlerFile;
         
         File handlerFileObj = new File(handlerPath);
-        if (!handlerFileObj.exists()) {
-            writeMediatrFile(compiler, "handler.mustache", data, handlerFolder, handlerFile);
-            LOGGER.info("Generated handler file: {}/{}", handlerFolder, handlerFile);
+        boolean writeHandler = !handlerFileObj.exists() && claimedHandlerPaths.add(handlerFileObj.getAbsolutePath());
+        if (!writeHandler) {
+            LOGGER.debug("Skipping handler '{}' - already exists", handlerFile);
+            generationMetrics.fileSkipped(handlerFolder);
+            if (generationManifest != null) {
+                generationManifest.retain(handlerFileObj);
+            }
         } else {
-            LOGGER.info("Skipping handler '{}' - already exists", handlerFile);
+            // Add handler implementation data (property-by-property mapping code, enum switch
+            // methods); only handler.mustache uses it, so it is not built for kept handlers
+            GenerationMetrics.Probe probe = generationMetrics.begin();
+            Map<String, Object> handlerData = prepareHandlerData(operation, models);
+            data.putAll(handlerData);
+            generationMetrics.end(probe, "handlerMapping", operation.operationId);
         }
+        
+        // Render and write command/query and handler (inline, or on a worker in parallel mode)
+        getGenerationExecutor().submit(operation.operationId, () -> {
+            GenerationMetrics.Probe write = generationMetrics.begin();
+            writeMediatrFile(requestTemplate, data, requestFolder, requestFile);
+            LOGGER.debug("Generated {} file: {}/{}", isQuery ? "Query" : "Command", requestFolder, requestFile);
+            
+            if (writeHandler) {
+                writeMediatrFile("handler.mustache", data, handlerFolder, handlerFile);
+                LOGGER.debug("Generated handler file: {}/{}", handlerFolder, handlerFile);
+            }
+            generationMetrics.end(write, "renderAndWrite", operation.operationId);
+        });
     }
     
     // =========================================================================
@@ -1037,7 +2057,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
     // =========================================================================
 
     /** Simple holder for one enum mapping method's parameters */
-    private static class EnumMappingInfo {
+    static class EnumMappingInfo {
         final String methodName;
         final String sourceType;
         final boolean isSourceNullable;
@@ -1060,8 +2080,9 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
      * Prepare handler implementation data for the handler.mustache template.
      * Builds DTO↔Model property mapping code and enum switch helper methods as
      * pre-rendered strings so Mustache just outputs them verbatim via {{{...}}}.
+     * Package-private, like the body builders below, for CodegenHotPathBenchmark.
      */
-    private Map<String, Object> prepareHandlerData(CodegenOperation operation, List<ModelMap> allModels) {
+    Map<String, Object> prepareHandlerData(CodegenOperation operation, ModelIndex models) {
         Map<String, Object> data = new HashMap<>();
 
         Boolean isUnit = Boolean.TRUE.equals(operation.vendorExtensions.get("isUnit"));
@@ -1081,9 +2102,9 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             String dtoClassName = (String) operation.bodyParam.vendorExtensions.get("dtoType");
             String modelClassName = operation.bodyParam.dataType;
             String paramName = operation.bodyParam.paramName;
-            CodegenModel bodyModel = findModelByName(modelClassName, allModels);
+            CodegenModel bodyModel = models.byClassName(modelClassName);
             if (bodyModel != null && dtoClassName != null) {
-                String body = buildDtoToModelBody(bodyModel, dtoClassName, modelClassName, allModels, dtoToModelEnumMappings);
+                String body = buildDtoToModelBody(bodyModel, dtoClassName, modelClassName, models, dtoToModelEnumMappings);
                 data.put("dtoToModelBody", body);
                 data.put("bodyModelClassName", modelClassName);
                 data.put("bodyDtoClassName", dtoClassName);
@@ -1096,9 +2117,9 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         if (!isUnit && !isBool && operation.returnBaseType != null && !isPrimitiveType(operation.returnBaseType)) {
             String responseModelName = operation.returnBaseType;
             String responseDtoName = responseModelName + "Dto";
-            CodegenModel responseModel = findModelByName(responseModelName, allModels);
+            CodegenModel responseModel = models.byClassName(responseModelName);
             if (responseModel != null) {
-                String body = buildModelToDtoBody(responseModel, responseModelName, responseDtoName, allModels, modelToDtoEnumMappings);
+                String body = buildModelToDtoBody(responseModel, responseModelName, responseDtoName, models, modelToDtoEnumMappings);
                 data.put("modelToDtoBody", body);
                 data.put("responseModelClassName", responseModelName);
                 data.put("responseDtoClassName", responseDtoName);
@@ -1144,25 +2165,63 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         return data;
     }
 
-    /** Find a CodegenModel by its class name in the allModels list. */
-    private CodegenModel findModelByName(String className, List<ModelMap> allModels) {
-        if (className == null || allModels == null) return null;
-        for (ModelMap mm : allModels) {
-            if (mm.getModel() != null && className.equals(mm.getModel().getClassname())) {
-                return mm.getModel();
+    /**
+     * Executor for the render-and-write step: inline unless parallelGeneration is enabled.
+     * Created on first use and shut down once the DTO files have been written.
+     */
+    private GenerationExecutor getGenerationExecutor() {
+        if (generationExecutor == null) {
+            generationExecutor = new GenerationExecutor(parallelGeneration ? generationThreads : 1);
+            if (parallelGeneration) {
+                LOGGER.info("Parallel generation enabled with {} threads", generationExecutor.threads());
             }
         }
-        return null;
+        return generationExecutor;
+    }
+    
+    /**
+     * Wait for all submitted render-and-write tasks and log each failure against the
+     * operation or DTO it belongs to.
+     */
+    private void reportGenerationFailures(String message) {
+        if (generationExecutor == null) {
+            return;
+        }
+        for (GenerationExecutor.Failure failure : generationExecutor.awaitAll()) {
+            LOGGER.error(message + " '{}': {}", failure.owner, failure.error.getMessage(), failure.error);
+        }
+    }
+    
+    /**
+     * Run-wide DTO registry, shared by all tag groups until the DTO files are written in
+     * postProcessSupportingFileData.
+     */
+    private DtoRegistry getDtoRegistry(List<ModelMap> allModels) {
+        if (dtoRegistry == null || !dtoRegistry.isFor(allModels)) {
+            dtoRegistry = new DtoRegistry(allModels);
+        }
+        return dtoRegistry;
+    }
+    
+    /**
+     * Spec-wide model index for this generator run. DefaultGenerator passes the same
+     * allModels list to every tag group, so the index is only rebuilt if that list changes.
+     */
+    private ModelIndex getModelIndex(List<ModelMap> allModels) {
+        if (modelIndex == null || !modelIndex.isFor(allModels)) {
+            modelIndex = new ModelIndex(allModels);
+        }
+        return modelIndex;
     }
 
     /**
      * Build the body of the static MapDtoToDomain(dtoClassName dto) method.
      * Returns new ModelType { Prop1 = dto.Prop1, ... };
      */
-    private String buildDtoToModelBody(CodegenModel model, String dtoType, String modelType,
-                                       List<ModelMap> allModels,
-                                       Map<String, EnumMappingInfo> enumMappings) {
-        StringBuilder sb = new StringBuilder();
+    String buildDtoToModelBody(CodegenModel model, String dtoType, String modelType,
+                               ModelIndex models,
+                               Map<String, EnumMappingInfo> enumMappings) {
+        StringBuilder sb = new StringBuilder(128 + 96 * model.getVars().size());
         sb.append("        return new ").append(modelType).append("\n        {\n");
         for (CodegenProperty prop : model.getVars()) {
             sb.append("            ").append(prop.name).append(" = ");
@@ -1184,9 +2243,9 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                       .append(methodName).append("(dto.").append(prop.name).append(".Value) : ").append(defaultVal);
                 }
             } else if (prop.complexType != null && !prop.isContainer) {
-                sb.append(buildNestedObjectDtoToModel(prop, allModels));
+                appendNestedObjectDtoToModel(sb, prop, models);
             } else if (prop.isContainer && prop.complexType != null) {
-                sb.append(buildCollectionDtoToModel(prop, allModels));
+                appendCollectionDtoToModel(sb, prop, models);
             } else if (isNullableValueInModel(prop)) {
                 sb.append("dto.").append(prop.name).append(" ?? ").append(getZeroValue(prop));
             } else {
@@ -1202,10 +2261,10 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
      * Build the body of the static MapDomainToDto(modelClassName model) method.
      * Returns new DtoType { Prop1 = model.Prop1, ... };
      */
-    private String buildModelToDtoBody(CodegenModel model, String modelType, String dtoType,
-                                       List<ModelMap> allModels,
-                                       Map<String, EnumMappingInfo> enumMappings) {
-        StringBuilder sb = new StringBuilder();
+    String buildModelToDtoBody(CodegenModel model, String modelType, String dtoType,
+                               ModelIndex models,
+                               Map<String, EnumMappingInfo> enumMappings) {
+        StringBuilder sb = new StringBuilder(128 + 96 * model.getVars().size());
         sb.append("        return new ").append(dtoType).append("\n        {\n");
         for (CodegenProperty prop : model.getVars()) {
             sb.append("            ").append(prop.name).append(" = ");
@@ -1221,9 +2280,9 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                     dtoType + "." + prop.datatypeWithEnum, defaultVal, names));
                 sb.append(methodName).append("(model.").append(prop.name).append(")");
             } else if (prop.complexType != null && !prop.isContainer) {
-                sb.append(buildNestedObjectModelToDto(prop, allModels));
+                appendNestedObjectModelToDto(sb, prop, models);
             } else if (prop.isContainer && prop.complexType != null) {
-                sb.append(buildCollectionModelToDto(prop, allModels));
+                appendCollectionModelToDto(sb, prop, models);
             } else {
                 sb.append("model.").append(prop.name);
             }
@@ -1233,10 +2292,9 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
         return sb.toString();
     }
 
-    /** DTO→Model for a single nested object property: dto.Prop != null ? new ModelType { ... } : null */
-    private String buildNestedObjectDtoToModel(CodegenProperty prop, List<ModelMap> allModels) {
-        CodegenModel nested = findModelByName(prop.complexType, allModels);
-        StringBuilder sb = new StringBuilder();
+    /** Append DTO→Model for a single nested object property: dto.Prop != null ? new ModelType { ... } : null */
+    private void appendNestedObjectDtoToModel(StringBuilder sb, CodegenProperty prop, ModelIndex models) {
+        CodegenModel nested = models.byComplexType(prop.complexType);
         sb.append("dto.").append(prop.name).append(" != null ? new ").append(prop.complexType).append(" { ");
         if (nested != null) {
             List<CodegenProperty> vars = nested.getVars();
@@ -1254,14 +2312,12 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             }
         }
         sb.append(" } : null");
-        return sb.toString();
     }
 
-    /** DTO→Model for a collection property: dto.Prop?.Select(x => new ModelType { ... }).ToList() */
-    private String buildCollectionDtoToModel(CodegenProperty prop, List<ModelMap> allModels) {
-        CodegenModel nested = findModelByName(prop.complexType, allModels);
+    /** Append DTO→Model for a collection property: dto.Prop?.Select(x => new ModelType { ... }).ToList() */
+    private void appendCollectionDtoToModel(StringBuilder sb, CodegenProperty prop, ModelIndex models) {
+        CodegenModel nested = models.byComplexType(prop.complexType);
         String iterVar = prop.complexType.substring(0, 1).toLowerCase();
-        StringBuilder sb = new StringBuilder();
         sb.append("dto.").append(prop.name).append("?.Select(").append(iterVar).append(" => new ").append(prop.complexType).append(" { ");
         if (nested != null) {
             List<CodegenProperty> vars = nested.getVars();
@@ -1274,7 +2330,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                     sb.append("(").append(modelEnumType).append(")(").append("int)").append(iterVar).append(".").append(p.name);
                 } else if (p.complexType != null && !p.isContainer) {
                     String nestedModelType2 = p.complexType;
-                    CodegenModel deepNested = findModelByName(p.complexType, allModels);
+                    CodegenModel deepNested = models.byComplexType(p.complexType);
                     sb.append(iterVar).append(".").append(p.name).append(" != null ? new ").append(nestedModelType2).append(" { ");
                     if (deepNested != null) {
                         List<CodegenProperty> deepVars = deepNested.getVars();
@@ -1302,14 +2358,12 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             }
         }
         sb.append(" }).ToList()");
-        return sb.toString();
     }
 
-    /** Model→DTO for a single nested object property: model.Prop != null ? new DtoType { ... } : null */
-    private String buildNestedObjectModelToDto(CodegenProperty prop, List<ModelMap> allModels) {
-        CodegenModel nested = findModelByName(prop.complexType, allModels);
+    /** Append Model→DTO for a single nested object property: model.Prop != null ? new DtoType { ... } : null */
+    private void appendNestedObjectModelToDto(StringBuilder sb, CodegenProperty prop, ModelIndex models) {
+        CodegenModel nested = models.byComplexType(prop.complexType);
         String nestedDtoType = prop.complexType + "Dto";
-        StringBuilder sb = new StringBuilder();
         sb.append("model.").append(prop.name).append(" != null ? new ").append(nestedDtoType).append(" { ");
         if (nested != null) {
             List<CodegenProperty> vars = nested.getVars();
@@ -1326,15 +2380,13 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             }
         }
         sb.append(" } : null");
-        return sb.toString();
     }
 
-    /** Model→DTO for a collection property: model.Prop?.Select(x => new DtoType { ... }).ToList() */
-    private String buildCollectionModelToDto(CodegenProperty prop, List<ModelMap> allModels) {
-        CodegenModel nested = findModelByName(prop.complexType, allModels);
+    /** Append Model→DTO for a collection property: model.Prop?.Select(x => new DtoType { ... }).ToList() */
+    private void appendCollectionModelToDto(StringBuilder sb, CodegenProperty prop, ModelIndex models) {
+        CodegenModel nested = models.byComplexType(prop.complexType);
         String nestedDtoType = prop.complexType + "Dto";
         String iterVar = prop.complexType.substring(0, 1).toLowerCase();
-        StringBuilder sb = new StringBuilder();
         sb.append("model.").append(prop.name).append("?.Select(").append(iterVar).append(" => new ").append(nestedDtoType).append(" { ");
         if (nested != null) {
             List<CodegenProperty> vars = nested.getVars();
@@ -1347,7 +2399,7 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
                     sb.append("(").append(dtoEnumType).append(")(").append("int)").append(iterVar).append(".").append(p.name);
                 } else if (p.complexType != null && !p.isContainer) {
                     String nestedDtoType2 = p.complexType + "Dto";
-                    CodegenModel deepNested = findModelByName(p.complexType, allModels);
+                    CodegenModel deepNested = models.byComplexType(p.complexType);
                     sb.append(iterVar).append(".").append(p.name).append(" != null ? new ").append(nestedDtoType2).append(" { ");
                     if (deepNested != null) {
                         List<CodegenProperty> deepVars = deepNested.getVars();
@@ -1373,7 +2425,6 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
             }
         }
         sb.append(" }).ToList()");
-        return sb.toString();
     }
 
     /** Build a static enum switch expression method as a C# code string. */
@@ -1438,43 +2489,99 @@ public class MinimalApiServerCodegen extends AbstractCSharpCodegen implements Co
     }
 
     /**
-     * Load a template, render it with data, and write to disk.
+     * Compiled-template registry for this generator run. Created lazily so that
+     * templateDir has already been resolved (user overrides via -t) by processOpts().
+     * Package-private so that watch mode can carry it over to the next run.
+     */
+    TemplateRegistry getTemplateRegistry() {
+        if (templateRegistry == null) {
+            templateRegistry = new TemplateRegistry(this);
+        }
+        return templateRegistry;
+    }
+
+    /** Reuse templates compiled by an earlier run with the same template directory. */
+    void setTemplateRegistry(TemplateRegistry templateRegistry) {
+        this.templateRegistry = templateRegistry;
+    }
+
+    /**
+     * Render a cached template with data and write to disk.
      * 
-     * @param compiler The Mustache compiler instance
      * @param templateName Template file name (e.g., "command.mustache")
      * @param data Data context for template rendering
      * @param folder Relative folder path (e.g., "Commands", "Queries", "Handlers")
      * @param filename Output filename (e.g., "AddPetCommand.cs")
      */
-    private void writeMediatrFile(Mustache.Compiler compiler, String templateName, 
+    private void writeMediatrFile(String templateName, 
                                    Map<String, Object> data, String folder, String filename) throws Exception {
-        // Load template from resources
-        String templatePath = templateDir + File.separator + templateName;
-        InputStream stream = this.getClass().getClassLoader().getResourceAsStream(templatePath);
-        
-        if (stream == null) {
-            throw new IllegalStateException("Template not found: " + templatePath);
-        }
-        
-        // Compile and render template
-        String content = compiler.compile(new InputStreamReader(stream, StandardCharsets.UTF_8))
-                                 .execute(data);
-        
-        // Construct output path
-        // For NuGet packaging: Handlers go to Implementation (templates), everything else to Contract (package)
+        // Template compiled once per run, see TemplateRegistry
+        Template template = getTemplateRegistry().get(templateName);
+        writeGeneratedFile(mediatrFile(folder, filename), template, data);
+    }
+    
+    /**
+     * Output path of a MediatR/DTO/validator file. For NuGet packaging, Handlers go to the
+     * Implementation project (templates) and everything else to the Contract project (package).
+     */
+    private File mediatrFile(String folder, String filename) {
         String relativePath;
         if (useNugetPackaging && "Handlers".equals(folder)) {
             relativePath = sourceFolder + File.separator + packageName + File.separator + folder + File.separator + filename;
         } else {
             relativePath = generatedFolder + File.separator + folder + File.separator + filename;
         }
-        File outputFile = new File(outputFolder, relativePath);
-        
+        return new File(outputFolder, relativePath);
+    }
+    
+    /** Folder below Contract/ of a file in a Contracts shard project, e.g. "Shard1/Commands" (folder when not sharded). */
+    private static String shardFolder(String shard, String folder) {
+        return shard == null ? folder : shard + File.separator + folder;
+    }
+    
+    /** Contract/ folder of a Contracts shard project, e.g. "Contract/Shard1" (Contract/ when not sharded). */
+    private String contractFolder(String shard) {
+        return shard == null ? generatedFolder : generatedFolder + File.separator + shard;
+    }
+    
+    /** Contracts shard of an operation's commands, queries and endpoints; null when not sharded. */
+    private String operationShard(CodegenOperation operation) {
+        return contractShards == null ? null : contractShards.shardOf(operation.baseName);
+    }
+    
+    /** Folder of a DTO's file (DTOs) or validator (Validators) in its Contracts project. */
+    private String dtoFolder(String folder, Map<String, Object> dtoData) {
+        return contractShards == null ? folder : shardFolder(contractShards.dtoShard((String) dtoData.get("classname")), folder);
+    }
+    
+    /**
+     * Render a template straight into this thread's reusable RenderBuffer and write it to
+     * outputFile through a FileChannel, creating parent directories. In incremental mode the
+     * rendered bytes are first compared with the file on disk (see GenerationManifest).
+     * Package-private so tests can observe every write.
+     */
+    void writeGeneratedFile(File outputFile, Template template, Object data) throws IOException {
         // Ensure directory exists
         outputFile.getParentFile().mkdirs();
         
-        // Write file
-        Files.write(outputFile.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        // Large files stream to disk as they render, unless the content must be compared first
+        RenderBuffer buffer = renderBuffers.get().reset(generationManifest == null ? outputFile.toPath() : null);
+        try {
+            template.execute(data, buffer);
+            String category = outputFile.getParentFile().equals(new File(apiFileFolder()))
+                ? "Endpoints" : outputFile.getParentFile().getName();
+            long length = buffer.length();
+            if (generationManifest == null) {
+                buffer.writeTo(outputFile.toPath());
+                generationMetrics.fileWritten(category, length);
+            } else if (generationManifest.writeIfChanged(outputFile, buffer)) {
+                generationMetrics.fileWritten(category, length);
+            } else {
+                generationMetrics.fileSkipped(category);
+            }
+        } finally {
+            buffer.close();
+        }
     }
 
     /**
@@ -0,0 +1,74 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.model.ModelMap;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spec-wide lookup of CodegenModels, built once per generator run from the allModels list
+ * that DefaultGenerator passes to every tag group.
+ *
+ * Replaces the linear scans over allModels in the DTO collection and handler mapping helpers,
+ * which made generation time grow as operations x models x properties.
+ */
+class ModelIndex {
+
+    private final List<ModelMap> source;
+    private final Map<String, CodegenModel> byClassName;
+    private final Map<String, CodegenModel> bySchemaName;
+
+    ModelIndex(List<ModelMap> allModels) {
+        this.source = allModels;
+        if (allModels == null) {
+            this.byClassName = Collections.emptyMap();
+            this.bySchemaName = Collections.emptyMap();
+            return;
+        }
+        this.byClassName = new HashMap<>(allModels.size() * 2);
+        this.bySchemaName = new HashMap<>(allModels.size() * 2);
+        for (ModelMap modelMap : allModels) {
+            CodegenModel model = modelMap.getModel();
+            if (model == null) {
+                continue;
+            }
+            // First occurrence wins, matching the previous first-match linear scan
+            if (model.getClassname() != null) {
+                byClassName.putIfAbsent(model.getClassname(), model);
+            }
+            if (model.getName() != null) {
+                bySchemaName.putIfAbsent(model.getName(), model);
+            }
+        }
+    }
+
+    /** True if this index was built from the given allModels list instance. */
+    boolean isFor(List<ModelMap> allModels) {
+        return source == allModels;
+    }
+
+    /** Find a model by its C# class name (e.g. a body parameter's dataType). */
+    CodegenModel byClassName(String className) {
+        return className == null ? null : byClassName.get(className);
+    }
+
+    /**
+     * Find the model referenced by a property's complexType (e.g. "Category" for a
+     * CategoryDto property). complexType is normally the class name; the schema name is
+     * used as a fallback for models whose class name was altered by a prefix/suffix.
+     */
+    CodegenModel byComplexType(String complexType) {
+        if (complexType == null) {
+            return null;
+        }
+        CodegenModel model = byClassName.get(complexType);
+        return model != null ? model : bySchemaName.get(complexType);
+    }
+
+    int size() {
+        return byClassName.size();
+    }
+}
@@ -0,0 +1,116 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * useOutputCaching: the x-cache vendor extension of an operation as C# for endpointOperation.mustache.
+ *
+ * On a GET operation x-cache is true, a TTL in seconds, or an object:
+ * <pre>
+ * x-cache:
+ *   ttl: 60                       # seconds, default 60
+ *   varyByQuery: [status]         # SetVaryByQuery, "*" for every key
+ *   varyByHeader: [Accept-Language]
+ *   varyByRoute: [petId]
+ *   tags: [inventory]             # extra cache tags
+ * </pre>
+ * Cached responses are tagged with the operation's OpenAPI tags and the extra tags. Operations
+ * with security requirements are cached per authenticated user and never for anonymous requests
+ * (PerUserOutputCachePolicy): their authorization may be an endpoint filter, which a cache hit
+ * skips. Commands
+ * evict the cache tags of their OpenAPI tags that some cached query uses, plus the tags listed
+ * in their own {@code x-cache: {evict: [...]}}.
+ */
+class OutputCachePolicies {
+
+    static final String EXTENSION = "x-cache";
+    static final int DEFAULT_TTL_SECONDS = 60;
+
+    private final Set<String> cachedTags;
+
+    private OutputCachePolicies(Set<String> cachedTags) {
+        this.cachedTags = cachedTags;
+    }
+
+    /** Collect the cache tags of every cached GET operation of the spec. */
+    static OutputCachePolicies of(OpenAPI openAPI) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (openAPI.getPaths() != null) {
+            for (PathItem path : openAPI.getPaths().values()) {
+                Operation get = path.getGet();
+                if (get == null || get.getExtensions() == null || !CacheExtensions.isCached(get.getExtensions().get(EXTENSION))) {
+                    continue;
+                }
+                tags.addAll(CacheExtensions.cacheTags(get.getExtensions().get(EXTENSION), CacheExtensions.operationTags(get)));
+            }
+        }
+        return new OutputCachePolicies(tags);
+    }
+
+    /**
+     * The CacheOutput policy of a GET operation, e.g.
+     * {@code policy => policy.Expire(TimeSpan.FromSeconds(60)).SetVaryByQuery("status").Tag("pet")},
+     * per user when {@code perUser} (the operation has security requirements), or null if it has
+     * no x-cache.
+     */
+    String policy(String operationId, Object xCache, List<String> operationTags, boolean perUser) {
+        if (!CacheExtensions.isCached(xCache)) {
+            return null;
+        }
+        Integer ttl = CacheExtensions.ttlSeconds(operationId, EXTENSION, xCache);
+        StringBuilder policy = new StringBuilder("policy => policy.Expire(TimeSpan.FromSeconds(")
+            .append(ttl != null ? ttl : DEFAULT_TTL_SECONDS).append("))");
+        if (xCache instanceof Map) {
+            Map<?, ?> settings = (Map<?, ?>) xCache;
+            appendCall(policy, "SetVaryByQuery", CacheExtensions.strings(settings.get("varyByQuery")));
+            appendCall(policy, "SetVaryByHeader", CacheExtensions.strings(settings.get("varyByHeader")));
+            appendCall(policy, "SetVaryByRouteValue", CacheExtensions.strings(settings.get("varyByRoute")));
+        }
+        appendCall(policy, "Tag", CacheExtensions.cacheTags(xCache, operationTags));
+        if (perUser) {
+            policy.append(".AddPolicy(PerUserOutputCachePolicy.Instance)");
+        }
+        return policy.toString();
+    }
+
+    /**
+     * True if the operation has security requirements, its own or the spec's. Read from the spec:
+     * DefaultGenerator sets the auth methods of a codegen operation after grouping it.
+     */
+    static boolean isSecured(OpenAPI openAPI, Operation operation) {
+        List<SecurityRequirement> security = operation.getSecurity() != null ? operation.getSecurity() : openAPI.getSecurity();
+        return security != null && !security.isEmpty();
+    }
+
+    /**
+     * The cache tags a command evicts, as C# string literals ({@code "pet", "inventory"}), or null
+     * if it evicts none.
+     */
+    String evictions(Object xCache, List<String> operationTags) {
+        Set<String> tags = new LinkedHashSet<>();
+        for (String tag : operationTags) {
+            if (cachedTags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        if (xCache instanceof Map) {
+            tags.addAll(CacheExtensions.strings(((Map<?, ?>) xCache).get("evict")));
+        }
+        return tags.isEmpty() ? null : CacheExtensions.literals(tags);
+    }
+
+    private static void appendCall(StringBuilder policy, String method, Collection<String> arguments) {
+        if (!arguments.isEmpty()) {
+            policy.append('.').append(method).append('(').append(CacheExtensions.literals(arguments)).append(')');
+        }
+    }
+}
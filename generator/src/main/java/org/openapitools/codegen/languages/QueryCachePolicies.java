@@ -0,0 +1,140 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * useQueryCaching: which queries the QueryResultCache keeps, and which cache tags each command
+ * invalidates, for query.mustache and command.mustache.
+ *
+ * A GET operation opts in with {@code x-query-cache}: true, a TTL in seconds, or an object:
+ * <pre>
+ * x-query-cache:
+ *   ttl: 30                       # seconds, default QueryResultCacheOptions.DefaultTimeToLive
+ *   tags: [pet]                   # extra cache tags
+ * </pre>
+ * Its results are tagged with its OpenAPI tags and the extra tags. A command invalidates the tags
+ * of its OpenAPI tags that a cached query uses, plus the tags listed in {@code x-invalidates}.
+ */
+class QueryCachePolicies {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryCachePolicies.class);
+
+    static final String EXTENSION = "x-query-cache";
+    static final String INVALIDATES_EXTENSION = "x-invalidates";
+
+    private final Set<String> cachedTags;
+
+    private QueryCachePolicies(Set<String> cachedTags) {
+        this.cachedTags = cachedTags;
+    }
+
+    /** Collect the OpenAPI tags of every cached GET operation of the spec. */
+    static QueryCachePolicies of(OpenAPI openAPI) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (openAPI.getPaths() != null) {
+            for (PathItem path : openAPI.getPaths().values()) {
+                Operation get = path.getGet();
+                if (get != null && get.getExtensions() != null && CacheExtensions.isCached(get.getExtensions().get(EXTENSION))) {
+                    tags.addAll(CacheExtensions.cacheTags(get.getExtensions().get(EXTENSION), CacheExtensions.operationTags(get)));
+                }
+            }
+        }
+        return new QueryCachePolicies(tags);
+    }
+
+    /**
+     * The members of a query record as a cache or coalescing key ({@code keyMembers}), and whether
+     * arrays among them need element-wise equality ({@code hasArrayMembers}). Null if the record
+     * cannot be a key: DTO parameters and bodies compare their collections by reference, so equal
+     * requests would never match.
+     */
+    static Map<String, Object> queryKey(CodegenOperation operation) {
+        if (operation.bodyParam != null) {
+            return null;
+        }
+        List<Map<String, Object>> keyMembers = new ArrayList<>();
+        boolean hasArrayMembers = false;
+        for (List<CodegenParameter> params : Arrays.asList(listOrEmpty(operation.queryParams),
+                listOrEmpty(operation.pathParams), listOrEmpty(operation.headerParams))) {
+            for (CodegenParameter param : params) {
+                if (param.isModel || Boolean.TRUE.equals(param.vendorExtensions.get("x-is-complex-query-param"))) {
+                    return null;
+                }
+                boolean isArray = param.dataType != null && param.dataType.endsWith("[]");
+                hasArrayMembers |= isArray;
+                Map<String, Object> member = new HashMap<>();
+                member.put("name", param.paramName);
+                member.put("type", param.dataType + (param.required ? "" : "?"));
+                member.put("isArray", isArray);
+                keyMembers.add(member);
+            }
+        }
+        Map<String, Object> queryKey = new HashMap<>();
+        queryKey.put("keyMembers", keyMembers);
+        queryKey.put("hasArrayMembers", hasArrayMembers);
+        return queryKey;
+    }
+
+    /**
+     * Template data of a cached query: its cache tags and TTL as C#, whether it is cached per user,
+     * as queries of operations with security requirements are, and the element type of a collection
+     * response, which is copied to a list before it is cached. Null if the query is not cached, or
+     * cannot be (see {@link #queryKey}).
+     */
+    Map<String, Object> query(CodegenOperation operation) {
+        Object xQueryCache = operation.vendorExtensions.get(EXTENSION);
+        if (!CacheExtensions.isCached(xQueryCache)) {
+            return null;
+        }
+        if (queryKey(operation) == null) {
+            LOGGER.warn("Operation '{}': {} ignored, the query has an object parameter or a body", operation.operationId, EXTENSION);
+            return null;
+        }
+        Map<String, Object> query = new HashMap<>();
+        Integer ttl = CacheExtensions.ttlSeconds(operation.operationId, EXTENSION, xQueryCache);
+        query.put("cacheTags", CacheExtensions.literals(CacheExtensions.cacheTags(xQueryCache, CacheExtensions.operationTags(operation))));
+        // TTL as a C# TimeSpan? expression, null for QueryResultCacheOptions.DefaultTimeToLive
+        query.put("timeToLive", ttl != null ? "TimeSpan.FromSeconds(" + ttl + ")" : "null");
+        query.put("perUser", operation.hasAuthMethods ? "true" : "false");
+        Object responseType = operation.vendorExtensions.get("dtoResponseType");
+        if (responseType instanceof String && ((String) responseType).startsWith("IEnumerable<")) {
+            String sequence = (String) responseType;
+            query.put("elementType", sequence.substring("IEnumerable<".length(), sequence.length() - 1));
+        }
+        return query;
+    }
+
+    /**
+     * The cache tags a command invalidates, as C# string literals ({@code "pet", "store"}), or null
+     * if it invalidates none.
+     */
+    String invalidations(CodegenOperation operation) {
+        Set<String> tags = new LinkedHashSet<>();
+        for (String tag : CacheExtensions.operationTags(operation)) {
+            if (cachedTags.contains(tag)) {
+                tags.add(tag);
+            }
+        }
+        tags.addAll(CacheExtensions.strings(operation.vendorExtensions.get(INVALIDATES_EXTENSION)));
+        return tags.isEmpty() ? null : CacheExtensions.literals(tags);
+    }
+
+    private static <T> List<T> listOrEmpty(List<T> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+}
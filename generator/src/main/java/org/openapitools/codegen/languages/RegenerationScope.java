@@ -0,0 +1,64 @@
+package org.openapitools.codegen.languages;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * The part of a spec that changed since the last generation in watch mode: the operations
+ * (keyed "METHOD /path") and component schemas whose generated files must be rendered again.
+ * Everything else is left as it is on disk. Computed by {@link SpecDependencyGraph}.
+ */
+class RegenerationScope {
+
+    private final Set<String> operations;
+    private final Set<String> schemas;
+    private final Set<String> allSchemas;
+    private final Set<String> tags;
+
+    RegenerationScope(Set<String> operations, Set<String> schemas, Set<String> allSchemas, Set<String> tags) {
+        this.operations = Collections.unmodifiableSet(operations);
+        this.schemas = Collections.unmodifiableSet(schemas);
+        this.allSchemas = Collections.unmodifiableSet(allSchemas);
+        this.tags = Collections.unmodifiableSet(tags);
+    }
+
+    static String operationKey(String httpMethod, String path) {
+        return httpMethod.toUpperCase(Locale.ROOT) + " " + path;
+    }
+
+    boolean includesOperation(String httpMethod, String path) {
+        return operations.contains(operationKey(httpMethod, path));
+    }
+
+    /**
+     * True if the schema changed or references one that did. Schemas that are not in the
+     * spec's components (inline models created during generation) are always included.
+     */
+    boolean includesSchema(String schemaName) {
+        return schemas.contains(schemaName) || !allSchemas.contains(schemaName);
+    }
+
+    /** Nothing to regenerate. */
+    boolean isEmpty() {
+        return operations.isEmpty() && schemas.isEmpty();
+    }
+
+    Set<String> operations() {
+        return operations;
+    }
+
+    Set<String> schemas() {
+        return schemas;
+    }
+
+    /** Every component schema of the current spec. */
+    Set<String> allSchemas() {
+        return allSchemas;
+    }
+
+    /** Tag groups that contain an affected operation. */
+    Set<String> tags() {
+        return tags;
+    }
+}
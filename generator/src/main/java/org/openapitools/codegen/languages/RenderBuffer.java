@@ -0,0 +1,262 @@
+package org.openapitools.codegen.languages;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Reusable UTF-8 render target for one worker thread: templates execute straight into this
+ * Writer, which encodes into a byte buffer that is kept across files, and the bytes are
+ * written to the output file through a FileChannel. No per-file String or byte[] is created.
+ *
+ * When a spill target is given, output beyond the buffer capacity is streamed to that file
+ * as rendering proceeds, so memory stays bounded for very large files; small files (the
+ * common case) are written with a single channel write once rendering has succeeded, so a
+ * template error never leaves a truncated file behind. Without a spill target the buffer
+ * grows to hold the whole file, which incremental generation needs to compare the content
+ * with what is on disk before deciding to write.
+ *
+ * Encoding matches String.getBytes(UTF_8), including '?' for unpaired surrogates. Not
+ * thread-safe: use one instance per thread.
+ */
+class RenderBuffer extends Writer {
+
+    static final int DEFAULT_CAPACITY = 64 * 1024;
+    private static final int COMPARE_CHUNK = 8 * 1024;
+
+    private byte[] buf;
+    private ByteBuffer view;
+    private int count;
+    private long drained;
+    private char pendingHighSurrogate;
+    private Path spillTarget;
+    private FileChannel channel;
+    private ByteBuffer compareBuffer;
+
+    RenderBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    RenderBuffer(int capacity) {
+        buf = new byte[capacity];
+        view = ByteBuffer.wrap(buf);
+    }
+
+    /**
+     * Start a new file. Output that does not fit in the buffer is streamed to spillTarget,
+     * or the buffer grows if spillTarget is null.
+     */
+    RenderBuffer reset(Path spillTarget) {
+        closeChannel();
+        this.count = 0;
+        this.drained = 0;
+        this.pendingHighSurrogate = 0;
+        this.spillTarget = spillTarget;
+        return this;
+    }
+
+    /** Write the rendered bytes (those not yet streamed) to the file and close it. */
+    void writeTo(Path target) throws IOException {
+        finishEncoding();
+        FileChannel out = channel != null ? channel : open(target);
+        try (FileChannel c = out) {
+            channel = c;
+            drain();
+        } finally {
+            channel = null;
+        }
+    }
+
+    /** Rendered length in bytes; only meaningful when nothing was spilled. */
+    int size() {
+        finishEncoding();
+        return count;
+    }
+
+    /** Total rendered length in bytes, including any output already streamed to the file. */
+    long length() {
+        finishEncoding();
+        return drained + count;
+    }
+
+    /** SHA-256 of the rendered bytes; only meaningful when nothing was spilled. */
+    byte[] digest(MessageDigest digest) {
+        finishEncoding();
+        digest.update(buf, 0, count);
+        return digest.digest();
+    }
+
+    /** True if file holds exactly the rendered bytes; only meaningful when nothing was spilled. */
+    boolean contentEquals(File file) throws IOException {
+        finishEncoding();
+        if (!file.isFile() || file.length() != count) {
+            return false;
+        }
+        if (compareBuffer == null) {
+            compareBuffer = ByteBuffer.allocate(COMPARE_CHUNK);
+        }
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            int offset = 0;
+            while (offset < count) {
+                compareBuffer.clear();
+                int read = in.read(compareBuffer);
+                if (read < 0) {
+                    return false;
+                }
+                byte[] chunk = compareBuffer.array();
+                for (int i = 0; i < read; i++) {
+                    if (offset + i >= count || chunk[i] != buf[offset + i]) {
+                        return false;
+                    }
+                }
+                offset += read;
+            }
+            return in.read(compareBuffer) <= 0;
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            encode(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            encode(str.charAt(i));
+        }
+    }
+
+    @Override
+    public Writer append(CharSequence csq) throws IOException {
+        CharSequence s = csq == null ? "null" : csq;
+        for (int i = 0; i < s.length(); i++) {
+            encode(s.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        // Bytes are written by writeTo(); nothing is buffered outside buf
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+    }
+
+    private void encode(char c) throws IOException {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                ensure(4);
+                buf[count++] = (byte) (0xF0 | (cp >> 18));
+                buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            }
+            put('?');
+        }
+        if (c < 0x80) {
+            put((byte) c);
+        } else if (c < 0x800) {
+            ensure(2);
+            buf[count++] = (byte) (0xC0 | (c >> 6));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            put('?');
+        } else {
+            ensure(3);
+            buf[count++] = (byte) (0xE0 | (c >> 12));
+            buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void put(char ascii) throws IOException {
+        put((byte) ascii);
+    }
+
+    private void put(byte b) throws IOException {
+        if (count == buf.length) {
+            ensure(1);
+        }
+        buf[count++] = b;
+    }
+
+    /** A high surrogate left at the end of the output is unpaired. */
+    private void finishEncoding() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            if (count == buf.length) {
+                grow(1);
+            }
+            buf[count++] = '?';
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (count + bytes <= buf.length) {
+            return;
+        }
+        if (spillTarget != null) {
+            if (channel == null) {
+                channel = open(spillTarget);
+            }
+            drain();
+        } else {
+            grow(bytes);
+        }
+    }
+
+    private void grow(int bytes) {
+        byte[] larger = new byte[Math.max(buf.length * 2, count + bytes)];
+        System.arraycopy(buf, 0, larger, 0, count);
+        buf = larger;
+        view = ByteBuffer.wrap(buf);
+    }
+
+    private void drain() throws IOException {
+        view.clear();
+        view.limit(count);
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+        drained += count;
+        count = 0;
+    }
+
+    private static FileChannel open(Path target) throws IOException {
+        return FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // Best effort: the write itself already succeeded or failed
+            }
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.CodegenParameter;
+import org.openapitools.codegen.CodegenResponse;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.ModelsMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * lowMemoryGeneration: drops the parts of CodegenModels and CodegenOperations that no later
+ * step reads, so the heap holds one tag group's render data instead of the whole spec's.
+ *
+ * DefaultGenerator converts every operation before the first tag group is written and keeps
+ * every model and operation until the supporting files are written. This generator's templates
+ * never read examples, JSON schemas or the model properties DefaultCodegen copies into each
+ * response and body parameter, so those go as soon as an operation is converted. The DTO and
+ * handler code only reads a model's vars, so models lose the other property lists (allVars,
+ * requiredVars, ...) once the model files are written. The supporting templates only use tag
+ * class names, so operations lose parameters, responses and imports once their tag group's
+ * files are written.
+ */
+class RenderDataReleaser {
+
+    private List<CodegenModel> models = null; // Converted, model files not yet written
+    private final List<CodegenOperation> operations = new ArrayList<>(); // Tag group whose API files are being written
+    private int releasedModels = 0;
+    private int releasedOperations = 0;
+
+    /** Called with the converted models, just before DefaultGenerator writes the model files. */
+    void modelsConverted(Map<String, ModelsMap> allModels) {
+        models = new ArrayList<>(allModels.size());
+        for (ModelsMap modelsMap : allModels.values()) {
+            for (ModelMap modelMap : modelsMap.getModels()) {
+                if (modelMap.getModel() != null) {
+                    models.add(modelMap.getModel());
+                }
+            }
+        }
+    }
+
+    /** Called once DefaultGenerator has moved on from model files to operations. */
+    void modelFilesWritten() {
+        if (models == null) {
+            return;
+        }
+        for (CodegenModel model : models) {
+            model.allVars = new ArrayList<>();
+            model.requiredVars = new ArrayList<>();
+            model.optionalVars = new ArrayList<>();
+            model.readOnlyVars = new ArrayList<>();
+            model.readWriteVars = new ArrayList<>();
+            model.parentVars = new ArrayList<>();
+            model.parentRequiredVars = new ArrayList<>();
+            model.nonNullableVars = new ArrayList<>();
+            model.setRequiredVarsMap(new HashMap<>());
+        }
+        releasedModels += models.size();
+        models = null;
+    }
+
+    /** Called with each operation as DefaultGenerator converts it. */
+    void operationConverted(CodegenOperation operation) {
+        operation.examples = null;
+        operation.requestBodyExamples = null;
+        for (CodegenResponse response : operation.responses) {
+            response.examples = null;
+            response.jsonSchema = null;
+            response.setVars(new ArrayList<>());
+            response.setRequiredVars(new ArrayList<>());
+            response.setRequiredVarsMap(new HashMap<>());
+        }
+        // allParams and the per-location lists hold separate copies of each parameter
+        release(operation.allParams);
+        release(operation.bodyParams);
+        release(operation.pathParams);
+        release(operation.queryParams);
+        release(operation.headerParams);
+        release(operation.formParams);
+        release(operation.cookieParams);
+        release(operation.requiredParams);
+        release(operation.optionalParams);
+        if (operation.bodyParam != null) {
+            release(operation.bodyParam);
+        }
+    }
+
+    /**
+     * Called with a tag group's operations after they are post-processed; DefaultGenerator
+     * writes the group's API files next. Releases the previous group, whose files are written.
+     */
+    void tagGroupProcessed(List<CodegenOperation> tagOperations) {
+        apiFilesWritten();
+        operations.addAll(tagOperations);
+    }
+
+    /** Called once every tag group's API files are written. */
+    void apiFilesWritten() {
+        for (CodegenOperation operation : operations) {
+            operation.bodyParam = null;
+            operation.allParams = new ArrayList<>();
+            operation.bodyParams = new ArrayList<>();
+            operation.pathParams = new ArrayList<>();
+            operation.queryParams = new ArrayList<>();
+            operation.headerParams = new ArrayList<>();
+            operation.implicitHeadersParams = new ArrayList<>();
+            operation.constantParams = new ArrayList<>();
+            operation.formParams = new ArrayList<>();
+            operation.cookieParams = new ArrayList<>();
+            operation.requiredParams = new ArrayList<>();
+            operation.optionalParams = new ArrayList<>();
+            operation.requiredAndNotNullableParams = new ArrayList<>();
+            operation.notNullableParams = new ArrayList<>();
+            operation.returnProperty = null;
+            operation.responses = new ArrayList<>();
+            operation.responseHeaders.clear();
+            operation.callbacks = new ArrayList<>();
+            operation.imports = new HashSet<>();
+        }
+        releasedOperations += operations.size();
+        operations.clear();
+    }
+
+    private static void release(List<CodegenParameter> parameters) {
+        for (CodegenParameter parameter : parameters) {
+            release(parameter);
+        }
+    }
+
+    private static void release(CodegenParameter parameter) {
+        parameter.examples = null;
+        parameter.jsonSchema = null;
+        parameter.vars = new ArrayList<>();
+        parameter.requiredVars = new ArrayList<>();
+    }
+
+    int releasedModels() {
+        return releasedModels;
+    }
+
+    int releasedOperations() {
+        return releasedOperations;
+    }
+}
@@ -0,0 +1,69 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The x-timeout vendor extension of an operation as the argument of its WithRequestTimeout call,
+ * for endpointOperation.mustache.
+ *
+ * x-timeout is a number of seconds, or the name of a request timeout policy registered by the
+ * application:
+ * <pre>
+ * x-timeout: 5                    # WithRequestTimeout(TimeSpan.FromSeconds(5))
+ * x-timeout: 0.5                  # WithRequestTimeout(TimeSpan.FromMilliseconds(500))
+ * x-timeout: reports              # WithRequestTimeout("reports")
+ * </pre>
+ * When it expires the RequestTimeouts middleware cancels HttpContext.RequestAborted, which the
+ * endpoints pass through validation, dispatch and the handlers, and answers 504.
+ */
+class RequestTimeouts {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestTimeouts.class);
+
+    static final String EXTENSION = "x-timeout";
+
+    private RequestTimeouts() {
+    }
+
+    /** Whether some operation of the spec has x-timeout, i.e. Program.cs needs the middleware. */
+    static boolean any(OpenAPI openAPI) {
+        if (openAPI.getPaths() == null) {
+            return false;
+        }
+        for (PathItem path : openAPI.getPaths().values()) {
+            for (Operation operation : path.readOperations()) {
+                if (operation.getExtensions() != null && operation.getExtensions().get(EXTENSION) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The WithRequestTimeout argument of an operation, e.g. {@code TimeSpan.FromSeconds(5)} or
+     * {@code "reports"}, or null if it has no (valid) x-timeout.
+     */
+    static String timeout(String operationId, Object xTimeout) {
+        if (xTimeout == null) {
+            return null;
+        }
+        if (xTimeout instanceof Number && ((Number) xTimeout).doubleValue() > 0) {
+            double seconds = ((Number) xTimeout).doubleValue();
+            if (seconds == Math.rint(seconds)) {
+                return "TimeSpan.FromSeconds(" + (long) seconds + ")";
+            }
+            return "TimeSpan.FromMilliseconds(" + Math.max(1, Math.round(seconds * 1000)) + ")";
+        }
+        if (xTimeout instanceof String && !((String) xTimeout).trim().isEmpty()) {
+            String policy = (String) xTimeout;
+            return '"' + policy.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+        }
+        LOGGER.warn("Operation '{}': {} must be a positive number of seconds or a policy name, ignored", operationId, EXTENSION);
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.api.TemplatingExecutor;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import com.samskivert.mustache.Template;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled templates shared by the generator runs of one process (watch and batch mode), per
+ * template directory: the TemplateRegistry for the per-operation files and a caching
+ * templating engine for the files DefaultGenerator renders itself (endpoints, models,
+ * supporting files). Runs with different template directories never share templates.
+ *
+ * Everything here is safe to use from concurrent runs.
+ */
+class SharedTemplates {
+
+    private static final String EMBEDDED = "";
+
+    private final Map<String, TemplateRegistry> registries = new ConcurrentHashMap<>();
+    private final Map<String, CachingMustacheEngineAdapter> engines = new ConcurrentHashMap<>();
+
+    /**
+     * Make a codegen use the shared templates for the given template directory (null for the
+     * embedded templates). Call before generating.
+     */
+    void applyTo(MinimalApiServerCodegen codegen, String templateDir) {
+        String key = templateDir == null ? EMBEDDED : new File(templateDir).getAbsolutePath();
+        codegen.setTemplateRegistry(registries.computeIfAbsent(key, SharedTemplates::newRegistry));
+        codegen.setTemplatingEngine(engines.computeIfAbsent(key, k -> new CachingMustacheEngineAdapter()));
+    }
+
+    /** Number of templates compiled so far, across all template directories. */
+    int compiled() {
+        int count = 0;
+        for (TemplateRegistry registry : registries.values()) {
+            count += registry.size();
+        }
+        for (CachingMustacheEngineAdapter engine : engines.values()) {
+            count += engine.templates.size();
+        }
+        return count;
+    }
+
+    private static TemplateRegistry newRegistry(String templateDir) {
+        // A codegen that only serves as the template locator's configuration
+        MinimalApiServerCodegen locatorConfig = new MinimalApiServerCodegen();
+        if (!EMBEDDED.equals(templateDir)) {
+            locatorConfig.setTemplateDir(templateDir);
+        }
+        return new TemplateRegistry(locatorConfig);
+    }
+
+    /**
+     * MustacheEngineAdapter that compiles each template once and reuses it for later files and
+     * runs. Templates are keyed by name and content, so an edited template is compiled again.
+     */
+    static class CachingMustacheEngineAdapter extends MustacheEngineAdapter {
+
+        private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+        @Override
+        public String compileTemplate(TemplatingExecutor executor, Map<String, Object> bundle,
+                                      String templateFile) throws IOException {
+            String source = executor.getFullTemplateContents(templateFile);
+            Template template = templates.computeIfAbsent(templateFile + '\0' + source,
+                k -> getCompiler().withLoader(name -> findTemplate(executor, name)).defaultValue("").compile(source));
+
+            Object parentContext = bundle.get("MUSTACHE_PARENT_CONTEXT");
+            StringWriter out = new StringWriter();
+            template.execute(bundle, parentContext == null ? new Object() : parentContext, out);
+            return out.toString();
+        }
+    }
+}
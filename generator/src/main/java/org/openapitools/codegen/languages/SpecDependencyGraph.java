@@ -0,0 +1,180 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content fingerprints and $ref dependencies of the operations and component schemas of a
+ * parsed spec, used by watch mode to work out what an edit affects.
+ *
+ * A schema is affected if its content changed or it references an affected schema, which is
+ * the same graph the nested-DTO collection walks (Pet -> CategoryDto, TagDto). An operation
+ * is affected if its content changed or it references an affected schema. Changes outside
+ * paths and component schemas (info, servers, security, shared parameters, ...) can touch
+ * any file and therefore require a full regeneration.
+ *
+ * Build the graph from the parsed spec before generating from it: DefaultGenerator
+ * normalizes the document it is given.
+ */
+class SpecDependencyGraph {
+
+    private static final Pattern SCHEMA_REF = Pattern.compile("\"\\$ref\":\"#/components/schemas/([^\"]+)\"");
+    private static final List<String> METHODS = Arrays.asList("get", "put", "post", "delete", "options", "head", "patch", "trace");
+
+    /** Fingerprint of one operation or schema and the schemas it references directly. */
+    private static class Node {
+        final String hash;
+        final Set<String> refs;
+        final Set<String> tags;
+
+        Node(String hash, Set<String> refs, Set<String> tags) {
+            this.hash = hash;
+            this.refs = refs;
+            this.tags = tags;
+        }
+    }
+
+    private final Map<String, Node> operations = new TreeMap<>();
+    private final Map<String, Node> schemas = new TreeMap<>();
+    private String documentHash;
+
+    private SpecDependencyGraph() {
+    }
+
+    static SpecDependencyGraph of(OpenAPI openAPI) {
+        boolean v31 = openAPI.getSpecVersion() == SpecVersion.V31;
+        ObjectNode document = (v31 ? Json31.mapper() : Json.mapper()).valueToTree(openAPI);
+        SpecDependencyGraph graph = new SpecDependencyGraph();
+
+        JsonNode components = document.get("components");
+        if (components instanceof ObjectNode && components.has("schemas")) {
+            Iterator<Map.Entry<String, JsonNode>> it = components.get("schemas").fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> schema = it.next();
+                graph.schemas.put(schema.getKey(), node(schema.getValue().toString(), Collections.emptySet()));
+            }
+            ((ObjectNode) components).remove("schemas");
+        }
+
+        JsonNode paths = document.remove("paths");
+        if (paths != null) {
+            Iterator<Map.Entry<String, JsonNode>> it = paths.fields();
+            while (it.hasNext()) {
+                Map.Entry<String, JsonNode> path = it.next();
+                // Path-level parameters are part of every operation on the path
+                JsonNode shared = path.getValue().get("parameters");
+                for (String method : METHODS) {
+                    JsonNode operation = path.getValue().get(method);
+                    if (operation != null) {
+                        String content = operation.toString() + (shared == null ? "" : shared.toString());
+                        graph.operations.put(RegenerationScope.operationKey(method, path.getKey()),
+                            node(content, tagNames(operation.get("tags"))));
+                    }
+                }
+            }
+        }
+
+        graph.documentHash = hash(document.toString());
+        return graph;
+    }
+
+    /**
+     * What changed between the previous graph and this one, or null if everything must be
+     * regenerated (no previous generation, a change outside paths and component schemas, or
+     * a removed operation or schema).
+     */
+    RegenerationScope changesSince(SpecDependencyGraph previous) {
+        if (previous == null || !previous.documentHash.equals(documentHash)
+            || !schemas.keySet().containsAll(previous.schemas.keySet())
+            || !operations.keySet().containsAll(previous.operations.keySet())) {
+            // Removals are rare while iterating; a full run reports the files they leave behind
+            return null;
+        }
+
+        Set<String> changed = new TreeSet<>();
+        for (Map.Entry<String, Node> schema : schemas.entrySet()) {
+            Node before = previous.schemas.get(schema.getKey());
+            if (before == null || !before.hash.equals(schema.getValue().hash)) {
+                changed.add(schema.getKey());
+            }
+        }
+        Set<String> affectedSchemas = withDependants(changed);
+
+        Set<String> affectedOperations = new TreeSet<>();
+        Set<String> tags = new TreeSet<>();
+        for (Map.Entry<String, Node> operation : operations.entrySet()) {
+            Node before = previous.operations.get(operation.getKey());
+            Node now = operation.getValue();
+            if (before == null || !before.hash.equals(now.hash) || !Collections.disjoint(now.refs, affectedSchemas)) {
+                affectedOperations.add(operation.getKey());
+                tags.addAll(now.tags);
+            }
+        }
+        return new RegenerationScope(affectedOperations, affectedSchemas, new HashSet<>(schemas.keySet()), tags);
+    }
+
+    /** The given schemas and every schema that references one of them, directly or not. */
+    private Set<String> withDependants(Set<String> changed) {
+        Map<String, Set<String>> dependants = new HashMap<>();
+        for (Map.Entry<String, Node> schema : schemas.entrySet()) {
+            for (String ref : schema.getValue().refs) {
+                dependants.computeIfAbsent(ref, k -> new TreeSet<>()).add(schema.getKey());
+            }
+        }
+        Set<String> affected = new TreeSet<>(changed);
+        Deque<String> pending = new ArrayDeque<>(changed);
+        while (!pending.isEmpty()) {
+            for (String dependant : dependants.getOrDefault(pending.pop(), Collections.emptySet())) {
+                if (affected.add(dependant)) {
+                    pending.push(dependant);
+                }
+            }
+        }
+        return affected;
+    }
+
+    private static Node node(String content, Set<String> tags) {
+        Set<String> refs = new HashSet<>();
+        Matcher matcher = SCHEMA_REF.matcher(content);
+        while (matcher.find()) {
+            refs.add(matcher.group(1));
+        }
+        return new Node(hash(content), refs, tags);
+    }
+
+    /** Tag groups of an operation; untagged operations go to the "Default" group. */
+    private static Set<String> tagNames(JsonNode tags) {
+        Set<String> names = new TreeSet<>();
+        if (tags != null) {
+            tags.forEach(tag -> names.add(tag.asText()));
+        }
+        if (names.isEmpty()) {
+            names.add("Default");
+        }
+        return names;
+    }
+
+    private static String hash(String content) {
+        return GenerationManifest.hex(GenerationManifest.newDigest().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,204 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.parser.OpenAPIParser;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Json31;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.SpecVersion;
+import io.swagger.v3.parser.core.models.ParseOptions;
+import io.swagger.v3.parser.core.models.SwaggerParseResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Parses OpenAPI documents the way the openapi-generator CLI does (resolve, resolveResponses)
+ * and keeps a snapshot of each resolved document in a cache directory, so that a run with
+ * unchanged input files loads the snapshot instead of parsing and resolving every $ref again.
+ *
+ * The snapshot is the resolved OpenAPI object as gzip-compressed JSON, written before
+ * DefaultGenerator normalizes it. It is keyed by a SHA-256 over the content of the root spec
+ * and every local file reachable from it through $ref, plus the parse options and parser
+ * version, so editing any referenced file invalidates it. Only the latest snapshot per root
+ * spec file is kept. Remote (http/https) specs are always parsed. One cache directory can be
+ * shared by many specs and by concurrent loads.
+ */
+class SpecSnapshotCache {
+
+    static final String EXTENSION = ".snapshot";
+    private static final String FORMAT = "minimalapi-spec-snapshot-1";
+    private static final Pattern EXTERNAL_REF = Pattern.compile("\\$ref[\"']?\\s*:\\s*[\"']?([^\"'#\\s,}]+)");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecSnapshotCache.class);
+
+    private final File cacheDir;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /** @param cacheDir snapshot directory, or null to always parse */
+    SpecSnapshotCache(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /** Parse (or load the snapshot of) the spec at the given file path or URL. */
+    OpenAPI load(String inputSpec) throws IOException {
+        if (cacheDir == null || inputSpec.contains("://")) {
+            return parse(inputSpec);
+        }
+
+        File root = new File(inputSpec);
+        File snapshot = new File(cacheDir, snapshotPrefix(root) + key(root) + EXTENSION);
+        if (snapshot.isFile()) {
+            try {
+                OpenAPI openAPI = read(snapshot);
+                hits.incrementAndGet();
+                LOGGER.info("Loaded parsed spec snapshot {}", snapshot.getName());
+                return openAPI;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("Ignoring unreadable spec snapshot {}: {}", snapshot, e.getMessage());
+            }
+        }
+
+        OpenAPI openAPI = parse(inputSpec);
+        misses.incrementAndGet();
+        try {
+            write(openAPI, snapshot, snapshotPrefix(root));
+        } catch (IOException e) {
+            LOGGER.warn("Could not write spec snapshot {}: {}", snapshot, e.getMessage());
+        }
+        return openAPI;
+    }
+
+    int hits() {
+        return hits.get();
+    }
+
+    int misses() {
+        return misses.get();
+    }
+
+    /** Parse with the options CodegenConfigurator uses, failing if no document could be read. */
+    static OpenAPI parse(String inputSpec) {
+        ParseOptions options = new ParseOptions();
+        options.setResolve(true);
+        options.setResolveResponses(true);
+        SwaggerParseResult result = new OpenAPIParser().readLocation(inputSpec, null, options);
+        if (result.getMessages() != null) {
+            for (String message : result.getMessages()) {
+                LOGGER.warn("{}: {}", inputSpec, message);
+            }
+        }
+        if (result.getOpenAPI() == null) {
+            throw new IllegalArgumentException("Could not parse " + inputSpec + ": "
+                + (result.getMessages() == null || result.getMessages().isEmpty() ? "no OpenAPI document found" : result.getMessages()));
+        }
+        return result.getOpenAPI();
+    }
+
+    /**
+     * The root spec and every local file it references through $ref, transitively. References
+     * are found textually, which may include a few false positives but never misses a file
+     * that the parser would read.
+     */
+    static Set<File> inputFiles(File root) throws IOException {
+        Set<File> files = new TreeSet<>();
+        Deque<File> pending = new ArrayDeque<>();
+        pending.push(root.getCanonicalFile());
+        while (!pending.isEmpty()) {
+            File file = pending.pop();
+            if (!file.isFile() || !files.add(file)) {
+                continue;
+            }
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            Matcher matcher = EXTERNAL_REF.matcher(content);
+            while (matcher.find()) {
+                String ref = matcher.group(1);
+                if (!ref.contains("://")) {
+                    pending.push(new File(file.getParentFile(), ref).getCanonicalFile());
+                }
+            }
+        }
+        return files;
+    }
+
+    private static String key(File root) throws IOException {
+        MessageDigest digest = GenerationManifest.newDigest();
+        update(digest, FORMAT);
+        update(digest, String.valueOf(OpenAPIParser.class.getPackage().getImplementationVersion()));
+        update(digest, "resolve=true,resolveResponses=true");
+        Path base = root.getCanonicalFile().getParentFile().toPath();
+        for (File file : inputFiles(root)) {
+            update(digest, base.relativize(file.toPath()).toString());
+            digest.update(GenerationManifest.newDigest().digest(Files.readAllBytes(file.toPath())));
+        }
+        return GenerationManifest.hex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /** Snapshot names start with the spec file name and a hash of its location, e.g. openapi.yaml-1a2b3c4d-. */
+    private static String snapshotPrefix(File root) throws IOException {
+        byte[] location = root.getCanonicalPath().getBytes(StandardCharsets.UTF_8);
+        return root.getName() + "-" + GenerationManifest.hex(GenerationManifest.newDigest().digest(location)).substring(0, 8) + "-";
+    }
+
+    private static ObjectMapper mapper(OpenAPI openAPI) {
+        return openAPI.getSpecVersion() == SpecVersion.V31 ? Json31.mapper() : Json.mapper();
+    }
+
+    private static OpenAPI read(File snapshot) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(snapshot.toPath()))) {
+            int version = in.read();
+            ObjectMapper mapper = version == SpecVersion.V31.ordinal() ? Json31.mapper() : Json.mapper();
+            OpenAPI openAPI = mapper.readValue(in, OpenAPI.class);
+            openAPI.setSpecVersion(SpecVersion.values()[version]);
+            return openAPI;
+        }
+    }
+
+    private void write(OpenAPI openAPI, File snapshot, String prefix) throws IOException {
+        Files.createDirectories(cacheDir.toPath());
+        Path tmp = Files.createTempFile(cacheDir.toPath(), snapshot.getName(), ".tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                SpecVersion version = openAPI.getSpecVersion() == null ? SpecVersion.V30 : openAPI.getSpecVersion();
+                out.write(version.ordinal());
+                mapper(openAPI).writeValue(out, openAPI);
+            }
+            Files.move(tmp, snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        // Keep only the latest snapshot of this spec
+        File[] others = cacheDir.listFiles((dir, name) -> name.startsWith(prefix)
+            && name.endsWith(EXTENSION) && !name.equals(snapshot.getName()));
+        if (others != null) {
+            for (File other : others) {
+                Files.deleteIfExists(other.toPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watch mode: generate once, then regenerate whenever the spec or a file it references
+ * through $ref is saved, in the same JVM.
+ *
+ * Each regeneration parses the spec again and compares it with the previous one (see
+ * {@link SpecDependencyGraph}). Only the MediatR, DTO and validator files of the affected
+ * operations and schemas are rendered; DefaultGenerator's endpoint, model and supporting
+ * files go through incremental generation, so only those whose content changed are
+ * rewritten. Compiled templates are kept across regenerations, and the JIT-compiled parser
+ * and generator stay warm.
+ */
+class SpecWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecWatcher.class);
+
+    /** Wait this long after the last file event before regenerating, so editors can finish saving. */
+    static final long DEBOUNCE_MILLIS = 200;
+
+    /** Outcome of one generation: what was regenerated and how long it took. */
+    static class Result {
+        final RegenerationScope scope;
+        final List<File> files;
+        final long millis;
+
+        Result(RegenerationScope scope, List<File> files, long millis) {
+            this.scope = scope;
+            this.files = files;
+            this.millis = millis;
+        }
+
+        /** True for a full generation, which happens first and after non-local spec changes. */
+        boolean isFull() {
+            return scope == null;
+        }
+    }
+
+    private final MinimalApiGenerator.Job job;
+    private SpecDependencyGraph generated;
+    private final SharedTemplates templates = new SharedTemplates();
+
+    SpecWatcher(MinimalApiGenerator.Job job) {
+        this.job = job;
+        // Unaffected files are not rendered, so the manifest must carry them over
+        job.additionalProperties.putIfAbsent(MinimalApiServerCodegen.INCREMENTAL_GENERATION, "true");
+    }
+
+    /** Generate everything, then regenerate on every change until the thread is interrupted. */
+    void run() throws IOException, InterruptedException {
+        regenerate();
+        File root = new File(job.inputSpec);
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            Set<Path> watched = new HashSet<>();
+            LOGGER.info("Watching {} for changes (Ctrl+C to stop)", job.inputSpec);
+            while (true) {
+                Set<File> inputs = SpecSnapshotCache.inputFiles(root);
+                for (File input : inputs) {
+                    Path dir = input.getParentFile().toPath();
+                    if (watched.add(dir)) {
+                        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                    }
+                }
+
+                boolean changed = isInputEvent(watchService.take(), inputs);
+                WatchKey key;
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isInputEvent(key, inputs);
+                }
+                if (changed) {
+                    try {
+                        regenerate();
+                    } catch (IOException | RuntimeException e) {
+                        // Typically a half-edited spec; the next save tries again
+                        LOGGER.error("Regeneration failed: {}", e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse the spec and regenerate what changed since the last successful generation.
+     * Nothing is written if the parsed spec is unchanged.
+     */
+    Result regenerate() throws IOException {
+        long start = System.nanoTime();
+        OpenAPI openAPI = SpecSnapshotCache.parse(job.inputSpec);
+        SpecDependencyGraph graph = SpecDependencyGraph.of(openAPI);
+        RegenerationScope scope = graph.changesSince(generated);
+
+        List<File> files = Collections.emptyList();
+        if (scope == null || !scope.isEmpty()) {
+            MinimalApiServerCodegen codegen = new MinimalApiServerCodegen();
+            codegen.setRegenerationScope(scope);
+            templates.applyTo(codegen, job.templateDir);
+            files = job.generate(openAPI, codegen);
+        }
+        generated = graph;
+
+        Result result = new Result(scope, files, (System.nanoTime() - start) / 1_000_000);
+        if (result.isFull()) {
+            LOGGER.info("Generated all files in {} ms", result.millis);
+        } else if (scope.isEmpty()) {
+            LOGGER.info("No changes to generate ({} ms)", result.millis);
+        } else {
+            LOGGER.info("Regenerated {} operations (tags {}) and {} schemas {} in {} ms",
+                scope.operations().size(), scope.tags(), scope.schemas().size(), scope.schemas(), result.millis);
+        }
+        return result;
+    }
+
+    private static boolean isInputEvent(WatchKey key, Set<File> inputs) {
+        boolean relevant = false;
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true;
+            } else if (event.context() instanceof Path
+                && inputs.contains(dir.resolve((Path) event.context()).toFile().getAbsoluteFile())) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
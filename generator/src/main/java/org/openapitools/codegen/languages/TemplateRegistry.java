@@ -0,0 +1,69 @@
+package org.openapitools.codegen.languages;
+
+import org.openapitools.codegen.CodegenConfig;
+import org.openapitools.codegen.TemplateManager;
+import org.openapitools.codegen.api.TemplatePathLocator;
+import org.openapitools.codegen.templating.GeneratorTemplateContentLocator;
+import org.openapitools.codegen.templating.MustacheEngineAdapter;
+import org.openapitools.codegen.templating.TemplateManagerOptions;
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled-template cache for the per-operation files written outside the standard
+ * OpenAPI Generator pipeline (command, query, handler, dto, dtoValidator, endpoint).
+ *
+ * Templates and the partials they include ({{>name}}) are resolved through the same
+ * locator DefaultGenerator uses, so a user template directory (-t / templateDir) overrides
+ * the embedded templates. Each template is read and compiled once per generator run and
+ * reused by every tag group.
+ */
+class TemplateRegistry {
+
+    private final TemplateManager templateManager;
+    private final Mustache.Compiler compiler;
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    TemplateRegistry(CodegenConfig config) {
+        this(config, Mustache.compiler().defaultValue(""));
+    }
+
+    TemplateRegistry(CodegenConfig config, Mustache.Compiler compiler) {
+        this.templateManager = new TemplateManager(
+            new TemplateManagerOptions(false, false),
+            new MustacheEngineAdapter(),
+            new TemplatePathLocator[]{ new GeneratorTemplateContentLocator(config) });
+        this.compiler = compiler.withLoader(name -> new StringReader(source(name + ".mustache")));
+    }
+
+    /**
+     * Return the compiled template for the given file name (e.g. "dto.mustache"),
+     * compiling it on first use.
+     *
+     * @throws IllegalStateException if the template cannot be found in the user or embedded template directories
+     */
+    Template get(String templateName) {
+        return templates.computeIfAbsent(templateName, this::compile);
+    }
+
+    /** Number of distinct templates compiled so far. */
+    int size() {
+        return templates.size();
+    }
+
+    private Template compile(String templateName) {
+        return compiler.compile(source(templateName));
+    }
+
+    private String source(String templateName) {
+        try {
+            return templateManager.getFullTemplateContents(templateName);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Template not found: " + templateName, e);
+        }
+    }
+}
@@ -24,10 +24,10 @@ public class AspnetMinimalapiGeneratorTest {
     // to understand how the 'openapi-generator-cli' module is using 'CodegenConfigurator', have a look at the 'Generate' class:
     // https://github.com/OpenAPITools/openapi-generator/blob/master/modules/openapi-generator-cli/src/main/java/org/openapitools/codegen/cmd/Generate.java
     final CodegenConfigurator configurator = new CodegenConfigurator()
-              .setGeneratorName("aspnet-minimalapi") // use this codegen library
-              .setInputSpec("../../../modules/openapi-generator/src/test/resources/2_0/petstore.yaml") // sample OpenAPI file
+              .setGeneratorName("aspnetcore-minimalapi") // use this codegen library
+              .setInputSpec("../petstore-tests/petstore.yaml") // sample OpenAPI file
               // .setInputSpec("https://raw.githubusercontent.com/openapitools/openapi-generator/master/modules/openapi-generator/src/test/resources/2_0/petstore.yaml") // or from the server
-              .setOutputDir("out/aspnet-minimalapi"); // output directory
+              .setOutputDir("target/out/aspnetcore-minimalapi"); // output directory
 
     final ClientOptInput clientOptInput = configurator.toClientOptInput();
     DefaultGenerator generator = new DefaultGenerator();
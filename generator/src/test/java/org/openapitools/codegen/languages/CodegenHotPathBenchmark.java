@@ -0,0 +1,195 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import org.openapitools.codegen.CodegenModel;
+import org.openapitools.codegen.CodegenOperation;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.OperationMap;
+import org.openapitools.codegen.model.OperationsMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/***
+ * The per-operation hot paths of MinimalApiServerCodegen, measured in isolation on a synthetic
+ * spec: processOperation and postProcessOperationsWithModels for one tag group,
+ * prepareHandlerData for the same operations, and the DTO/Model mapping body builders for the
+ * head of a nested $ref chain. The spec shape is set by the @Param fields (override with
+ * -p schemas=2000 etc.); see GeneratorRunBenchmark for a full DefaultGenerator run.
+ *
+ * A full generation runs once in setup, which yields the parsed spec, the models and the
+ * processed operations the benchmarks work on. processOperation and
+ * postProcessOperationsWithModels mutate their operations, so they get freshly converted
+ * ones for every invocation (outside the measured time). postProcessOperationsWithModels
+ * includes writing the tag's Command/Query files; handlers already exist and are skipped.
+ *
+ * Run with the benchmarks profile, which writes target/jmh-results.json:
+ *   mvn -P benchmarks verify -Djmh.includes=CodegenHotPathBenchmark
+ * or after `mvn test-compile`:
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     org.openapitools.codegen.languages.CodegenHotPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CodegenHotPathBenchmark {
+
+    private static final String TAG = "tag0";
+
+    @Param({"200"})
+    public int schemas;
+
+    @Param({"100"})
+    public int operations;
+
+    @Param({"4"})
+    public int tags;
+
+    @Param({"3"})
+    public int nestingDepth;
+
+    private CapturingCodegen codegen;
+    private Path outputDir;
+    private ModelIndex models;
+    private CodegenModel nestedModel;
+
+    @Setup
+    public void setup() throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder()
+            .schemas(schemas)
+            .operations(operations)
+            .tags(tags)
+            .nestingDepth(nestingDepth)
+            .build();
+        outputDir = Files.createTempDirectory("codegen-hot-path");
+        codegen = new CapturingCodegen();
+        new GenerationRunner().generate(openAPI, outputDir, codegen);
+
+        models = new ModelIndex(codegen.allModels);
+        nestedModel = models.byClassName("Model0");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(outputDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /** One tag group's operations as DefaultGenerator hands them over, converted afresh per invocation. */
+    @State(Scope.Thread)
+    public static class FreshTagGroup {
+        OperationsMap objs;
+
+        @Setup(Level.Invocation)
+        public void setup(CodegenHotPathBenchmark benchmark) {
+            objs = benchmark.codegen.tagGroup(TAG);
+        }
+    }
+
+    @Benchmark
+    public void processOperation(FreshTagGroup group) {
+        for (CodegenOperation op : group.objs.getOperations().getOperation()) {
+            codegen.processOperation(op);
+        }
+    }
+
+    @Benchmark
+    public OperationsMap postProcessOperationsWithModels(FreshTagGroup group) {
+        return codegen.postProcessOperationsWithModels(group.objs, codegen.allModels);
+    }
+
+    @Benchmark
+    public void prepareHandlerData(Blackhole bh) {
+        for (CodegenOperation op : codegen.processedOperations) {
+            bh.consume(codegen.prepareHandlerData(op, models));
+        }
+    }
+
+    @Benchmark
+    public String buildDtoToModelBody() {
+        return codegen.buildDtoToModelBody(nestedModel, "Model0Dto", "Model0", models, new LinkedHashMap<>());
+    }
+
+    @Benchmark
+    public String buildModelToDtoBody() {
+        return codegen.buildModelToDtoBody(nestedModel, "Model0", "Model0Dto", models, new LinkedHashMap<>());
+    }
+
+    /** Keeps the models and one tag group's processed operations from the setup run. */
+    private static class CapturingCodegen extends MinimalApiServerCodegen {
+        List<ModelMap> allModels;
+        List<CodegenOperation> processedOperations;
+
+        @Override
+        public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+            OperationsMap result = super.postProcessOperationsWithModels(objs, allModels);
+            if (processedOperations == null) {
+                this.allModels = allModels;
+                this.processedOperations = result.getOperations().getOperation();
+            }
+            return result;
+        }
+
+        /** Convert the tag's operations again, the way DefaultGenerator builds a tag group. */
+        OperationsMap tagGroup(String tag) {
+            List<CodegenOperation> ops = new ArrayList<>();
+            for (Map.Entry<String, PathItem> path : openAPI.getPaths().entrySet()) {
+                for (Map.Entry<PathItem.HttpMethod, Operation> entry : path.getValue().readOperationsMap().entrySet()) {
+                    Operation operation = entry.getValue();
+                    if (operation.getTags() != null && operation.getTags().contains(tag)) {
+                        String httpMethod = entry.getKey().name().toLowerCase(Locale.ROOT);
+                        ops.add(fromOperation(path.getKey(), httpMethod, operation, null));
+                    }
+                }
+            }
+            OperationMap operationMap = new OperationMap();
+            operationMap.setClassname(toApiName(tag));
+            operationMap.setPathPrefix(toApiVarName(tag));
+            operationMap.setOperation(ops);
+            OperationsMap objs = new OperationsMap();
+            objs.setOperation(operationMap);
+            objs.put("package", apiPackage());
+            objs.setImports(new ArrayList<>());
+            return objs;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(CodegenHotPathBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
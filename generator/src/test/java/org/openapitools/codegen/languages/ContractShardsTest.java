@@ -0,0 +1,154 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With contractShards, every tag group's files go to exactly one Contracts shard and every DTO
+ * to the one shard using it or to Common, so each project only references its own DTOs and
+ * Common's; tags sharing an operation stay in one shard.
+ */
+public class ContractShardsTest {
+
+    private static final Pattern DTO_TYPE = Pattern.compile("\\b(\\w+Dto)\\b");
+    private static final List<String> PROJECTS = Arrays.asList("Common", "Shard1", "Shard2", "Shard3");
+
+    @Test
+    public void shardDtosOnlyReferenceTheirShardAndCommon(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 3)
+            .generate(spec(), tmp);
+
+        Map<String, String> projectByDto = assertOnlyOwnAndCommonDtos(tmp);
+        assertFalse(Files.exists(tmp.resolve("src/SyntheticApi.Contracts")));
+        assertTrue(projectByDto.containsValue("Common"));
+
+        int commands = 0;
+        int queries = 0;
+        Set<String> tagFiles = new HashSet<>();
+        for (String project : PROJECTS) {
+            Path folder = tmp.resolve("Contract/" + project);
+            commands += list(folder.resolve("Commands")).size();
+            queries += list(folder.resolve("Queries")).size();
+            for (Path endpoints : list(folder.resolve("Endpoints"))) {
+                assertTrue(tagFiles.add(endpoints.getFileName().toString()), endpoints.toString());
+            }
+        }
+        assertEquals(30, commands);
+        assertEquals(30, queries);
+        assertEquals(12, tagFiles.size()); // {Tag}Endpoints.cs and {Tag}Validators.cs of 6 tags
+
+        String program = read(tmp.resolve("src/SyntheticApi/Program.cs"));
+        String solution = read(tmp.resolve("SyntheticApi.sln"));
+        for (String project : PROJECTS) {
+            assertTrue(solution.contains("\"SyntheticApi.Contracts." + project + "\""), project);
+            assertEquals(!project.equals("Common"), program.contains("app.Add" + project + "ApiEndpoints();"), project);
+        }
+    }
+
+    @Test
+    public void commonDtosOnlyReferenceCommon(@TempDir Path tmp) throws IOException {
+        // Holder is used by no operation, so its DTO goes to Common; Model30 only by operation 30
+        OpenAPI openAPI = spec();
+        openAPI.getComponents().addSchemas("Holder",
+            new ObjectSchema().addProperty("model", new Schema<>().$ref("#/components/schemas/Model30")));
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 3)
+            .generate(openAPI, tmp);
+
+        Map<String, String> projectByDto = assertOnlyOwnAndCommonDtos(tmp);
+        assertEquals("Common", projectByDto.get("HolderDto"));
+        assertEquals("Common", projectByDto.get("Model30Dto"));
+    }
+
+    @Test
+    public void tagsSharingAnOperationStayTogether() {
+        OpenAPI openAPI = spec();
+        openAPI.getPaths().get("/resource0").getPost().setTags(Arrays.asList("tag0", "tag1"));
+
+        ContractShards shards = ContractShards.of(openAPI, 3, tag -> tag);
+
+        assertEquals(Arrays.asList("Shard1", "Shard2", "Shard3"), shards.names());
+        assertEquals(shards.shardOf("tag0"), shards.shardOf("tag1"));
+        assertEquals(2, shards.tags(shards.shardOf("tag0")).size());
+        for (String shard : shards.names()) {
+            assertFalse(shards.tags(shard).isEmpty(), shard);
+        }
+    }
+
+    private static OpenAPI spec() {
+        // Models are shared by operations j and j + 40, usually of different tags
+        return new SyntheticSpecBuilder()
+            .schemas(40)
+            .operations(60)
+            .tags(6)
+            .build();
+    }
+
+    /**
+     * Checks that the files of each Contracts project only reference the DTOs of that project and of
+     * Common, and returns the project of every DTO.
+     */
+    private static Map<String, String> assertOnlyOwnAndCommonDtos(Path tmp) throws IOException {
+        Map<String, String> projectByDto = new HashMap<>();
+        for (String project : PROJECTS) {
+            assertTrue(Files.exists(tmp.resolve("src/SyntheticApi.Contracts." + project + "/SyntheticApi.Contracts." + project + ".csproj")));
+            for (Path dto : list(tmp.resolve("Contract/" + project + "/DTOs"))) {
+                assertNull(projectByDto.put(dto.getFileName().toString().replace(".cs", ""), project), dto.toString());
+            }
+        }
+        for (String project : PROJECTS) {
+            for (Path file : walk(tmp.resolve("Contract/" + project))) {
+                Matcher matcher = DTO_TYPE.matcher(read(file));
+                while (matcher.find()) {
+                    String owner = projectByDto.get(matcher.group(1));
+                    assertTrue(owner == null || owner.equals(project) || owner.equals("Common"),
+                        file + " references " + matcher.group(1) + " of " + owner);
+                }
+            }
+        }
+        return projectByDto;
+    }
+
+    private static List<Path> list(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static List<Path> walk(Path folder) throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With deterministicOutput, two generations of the same spec are byte-identical, including
+ * the solution GUIDs; a different packageName gives different GUIDs.
+ */
+public class DeterministicOutputTest {
+
+    @Test
+    public void generatingTwiceGivesIdenticalTrees(@TempDir Path tmp) throws IOException {
+        runner("SyntheticApi").generate(spec(), tmp.resolve("first"));
+        runner("SyntheticApi").generate(spec(), tmp.resolve("second"));
+
+        Map<String, byte[]> first = files(tmp.resolve("first"));
+        Map<String, byte[]> second = files(tmp.resolve("second"));
+        assertEquals(first.keySet(), second.keySet());
+        for (Map.Entry<String, byte[]> file : first.entrySet()) {
+            assertArrayEquals(file.getValue(), second.get(file.getKey()), file.getKey());
+        }
+        assertFalse(new String(first.get("SyntheticApi.sln"), "UTF-8").contains("{}"));
+    }
+
+    @Test
+    public void guidsDependOnPackageName(@TempDir Path tmp) throws IOException {
+        runner("SyntheticApi").generate(spec(), tmp.resolve("a"));
+        runner("OtherApi").generate(spec(), tmp.resolve("b"));
+
+        String a = read(tmp.resolve("a/SyntheticApi.sln"));
+        String b = read(tmp.resolve("b/OtherApi.sln"));
+        assertNotEquals(solutionGuid(a), solutionGuid(b));
+    }
+
+    private static GenerationRunner runner(String packageName) {
+        return new GenerationRunner()
+            .withoutProperty(MinimalApiServerCodegen.SOLUTION_GUID)
+            .withoutProperty(MinimalApiServerCodegen.PROJECT_CONFIGURATION_GUID)
+            .withoutProperty(MinimalApiServerCodegen.CONTRACTS_PROJECT_GUID)
+            .property("packageName", packageName)
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.PARALLEL_GENERATION, true)
+            .property(MinimalApiServerCodegen.DETERMINISTIC_OUTPUT, true);
+    }
+
+    private static OpenAPI spec() {
+        return new SyntheticSpecBuilder()
+            .schemas(40)
+            .operations(60)
+            .tags(4)
+            .build();
+    }
+
+    private static String solutionGuid(String solution) {
+        return Arrays.stream(solution.split("\n"))
+            .filter(line -> line.trim().startsWith("SolutionGuid"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("no SolutionGuid"));
+    }
+
+    private static Map<String, byte[]> files(Path root) throws IOException {
+        Map<String, byte[]> result = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                result.put(root.relativize(file).toString(), Files.readAllBytes(file));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,106 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With dispatchMode=direct, each endpoint calls the RequestPipeline of its request type instead of
+ * IMediator, and every handler is registered together with its pipeline; the Command, Query and
+ * Handler files are unchanged.
+ */
+public class DirectDispatchTest {
+
+    @Test
+    public void endpointsCallTheirPipeline(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.DISPATCH_MODE, "direct")
+            .generate(new SyntheticSpecBuilder().schemas(10).operations(20).tags(2).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs")) + read(project.resolve("Features/Tag1ApiEndpoints.cs"));
+        assertFalse(endpoints.contains("IMediator"));
+        assertFalse(endpoints.contains("mediator.Send"));
+        assertTrue(endpoints.contains("(RequestPipeline<CreateResource0Command, Model0Dto> pipeline"));
+        assertTrue(endpoints.contains("var result = await pipeline.SendAsync(command, cancellationToken);"));
+        assertTrue(endpoints.contains("var result = await pipeline.SendAsync(query, cancellationToken);"));
+
+        String program = read(project.resolve("Program.cs"));
+        assertFalse(program.contains("AddMediatR"));
+        assertFalse(program.contains("MediatR.IMediator,"));
+        assertFalse(program.contains("IPipelineBehavior"));
+        for (String handler : handlers(project.resolve("Handlers"))) {
+            String request = handler.substring(0, handler.length() - "Handler".length());
+            assertTrue(program.contains(", " + handler + ">();"), handler);
+            assertTrue(program.contains("builder.Services.AddTransient<RequestPipeline<" + request + ", "), request);
+        }
+
+        String pipeline = read(project.resolve("Dispatch/RequestPipeline.cs"));
+        assertTrue(pipeline.contains("public sealed class RequestPipeline<TRequest, TResponse>"));
+        assertTrue(pipeline.contains("throw new ValidationException(failures);"));
+        assertFalse(Files.exists(project.resolve("Behaviors/ValidationBehavior.cs")));
+        assertTrue(read(project.resolve("Handlers/CreateResource0CommandHandler.cs"))
+            .contains("IRequestHandler<CreateResource0Command, Model0Dto>"));
+    }
+
+    @Test
+    public void placesPipelineInContractsWithNugetPackaging(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.DISPATCH_MODE, "direct")
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 2)
+            .generate(new SyntheticSpecBuilder().schemas(20).operations(40).tags(4).build(), tmp);
+
+        assertTrue(Files.exists(tmp.resolve("Contract/Common/Dispatch/RequestPipeline.cs")));
+        assertTrue(read(tmp.resolve("src/SyntheticApi.Contracts.Common/SyntheticApi.Contracts.Common.csproj"))
+            .contains("Contract\\Common\\Dispatch\\*.cs"));
+
+        String handlers = read(tmp.resolve("src/SyntheticApi/Extensions/HandlerExtensions.cs"));
+        assertFalse(handlers.contains("RegisterServicesFromAssembly"));
+        assertFalse(handlers.contains("AddTransient<IMediator,"));
+        for (String handler : handlers(tmp.resolve("src/SyntheticApi/Handlers"))) {
+            assertTrue(handlers.contains(", " + handler + ">();"), handler);
+        }
+        assertFalse(read(tmp.resolve("src/SyntheticApi/Program.cs")).contains("IPipelineBehavior"));
+    }
+
+    @Test
+    public void sendsThroughMediatorByDefault(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertTrue(read(project.resolve("Features/Tag0ApiEndpoints.cs")).contains("mediator.Send("));
+        assertTrue(read(project.resolve("Program.cs")).contains("AddMediatR"));
+        assertFalse(Files.exists(project.resolve("Dispatch")));
+    }
+
+    @Test
+    public void ignoresDirectDispatchWithoutMediatr(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.DISPATCH_MODE, "direct")
+            .property(MinimalApiServerCodegen.USE_MEDIATR, false)
+            .property(MinimalApiServerCodegen.USE_VALIDATORS, false)
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        assertFalse(Files.exists(tmp.resolve("src/SyntheticApi/Dispatch")));
+    }
+
+    private static List<String> handlers(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.map(f -> f.getFileName().toString().replace(".cs", ""))
+                .filter(name -> name.endsWith("Handler"))
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.openapitools.codegen.languages;
+
+import com.samskivert.mustache.Template;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/***
+ * DTO and Validator files are collected across all tag groups and written once per run,
+ * rather than every response DTO being rewritten by each tag group.
+ */
+public class DtoFileWriteTest {
+
+    private static final int SCHEMAS = 30;
+    private static final int OPERATIONS = 24;
+    private static final int TAGS = 6;
+
+    @Test
+    public void eachDtoAndValidatorFileIsWrittenOnceOnMultiTagSpec(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder()
+            .schemas(SCHEMAS)
+            .operations(OPERATIONS)
+            .tags(TAGS)
+            .build();
+        CountingCodegen codegen = new CountingCodegen();
+        new GenerationRunner().generate(openAPI, tmp, codegen);
+
+        int dtoWrites = 0;
+        int validatorWrites = 0;
+        for (Map.Entry<String, Integer> entry : codegen.writes.entrySet()) {
+            assertEquals(1, (int) entry.getValue(), "written more than once: " + entry.getKey());
+            String folder = new File(entry.getKey()).getParentFile().getName();
+            if ("DTOs".equals(folder)) {
+                dtoWrites++;
+            } else if ("Validators".equals(folder)) {
+                validatorWrites++;
+            }
+        }
+
+        // One response DTO per schema plus one request DTO per POST operation
+        assertEquals(SCHEMAS + OPERATIONS / 2, dtoWrites);
+        assertEquals(dtoWrites, countFiles(tmp, "DTOs"));
+        assertTrue(validatorWrites > 0, "request DTOs should have validators");
+        assertEquals(validatorWrites, countFiles(tmp, "Validators"));
+    }
+
+    private static long countFiles(Path root, String folder) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                .filter(Files::isRegularFile)
+                .filter(p -> folder.equals(p.getParent().getFileName().toString()))
+                .count();
+        }
+    }
+
+    /** Counts writes per output path made by the custom MediatR/DTO writer. */
+    private static class CountingCodegen extends MinimalApiServerCodegen {
+        final Map<String, Integer> writes = new HashMap<>();
+
+        @Override
+        void writeGeneratedFile(File outputFile, Template template, Object data) throws IOException {
+            writes.merge(outputFile.getAbsolutePath(), 1, Integer::sum);
+            super.writeGeneratedFile(outputFile, template, data);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With useGeneratedEnumConverters, every inline and top-level enum of the DTOs and models gets
+ * its own converter with precomputed UTF-8 names, referenced instead of EnumMemberJsonConverter<T>.
+ */
+public class GeneratedEnumConvertersTest {
+
+    @Test
+    public void generatesOneConverterPerEnum(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_GENERATED_ENUM_CONVERTERS, true)
+            .generate(specWithColorEnum(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String dto = read(project.resolve("DTOs/Model0Dto.cs"));
+        assertTrue(dto.contains("public sealed class StatusEnumJsonConverter : System.Text.Json.Serialization.JsonConverter<StatusEnum>"));
+        assertTrue(dto.contains("[System.Text.Json.Serialization.JsonConverter(typeof(StatusEnumJsonConverter))]"));
+        assertTrue(dto.contains("if (reader.ValueTextEquals(\"pending\"u8))"));
+        assertTrue(dto.contains("System.Text.Json.JsonEncodedText.Encode(\"sold\")"));
+        assertFalse(dto.contains("EnumMemberJsonConverter"));
+
+        String color = read(project.resolve("DTOs/ColorDto.cs"));
+        assertTrue(color.contains("[System.Text.Json.Serialization.JsonConverter(typeof(ColorDtoJsonConverter))]"));
+        assertTrue(color.contains("public sealed class ColorDtoJsonConverter : System.Text.Json.Serialization.JsonConverter<ColorDto>"));
+        assertTrue(read(project.resolve("Models/Color.cs")).contains("public sealed class ColorJsonConverter"));
+
+        assertTrue(read(project.resolve("Converters/EnumMemberJsonConverterFactory.cs"))
+            .contains("!typeToConvert.IsDefined(typeof(JsonConverterAttribute), inherit: false)"));
+    }
+
+    @Test
+    public void keepsReflectionConverterByDefault(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(specWithColorEnum(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String dto = read(project.resolve("DTOs/Model0Dto.cs"));
+        assertTrue(dto.contains("EnumMemberJsonConverter<StatusEnum>"));
+        assertFalse(dto.contains("JsonConverter<StatusEnum>\n"));
+        assertFalse(dto.contains("StatusEnumJsonConverter"));
+        assertFalse(read(project.resolve("DTOs/ColorDto.cs")).contains("ColorDtoJsonConverter"));
+    }
+
+    private static OpenAPI specWithColorEnum() {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(4).operations(4).tags(1).build();
+        StringSchema color = new StringSchema();
+        color.setEnum(Arrays.asList("red", "dark-blue"));
+        openAPI.getComponents().addSchemas("Color", color);
+        openAPI.getComponents().getSchemas().get("Model0").addProperty("color", new Schema<>().$ref("#/components/schemas/Color"));
+        return openAPI;
+    }
+}
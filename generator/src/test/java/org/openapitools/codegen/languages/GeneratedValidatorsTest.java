@@ -0,0 +1,84 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With validatorEngine=generated, DTO validators are plain static C# checks called by the endpoints,
+ * and neither FluentValidation nor its registrations are generated.
+ */
+public class GeneratedValidatorsTest {
+
+    @Test
+    public void generatesStraightLineValidators(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.VALIDATOR_ENGINE, "generated")
+            .generate(new SyntheticSpecBuilder().schemas(10).operations(20).tags(2).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String validator = read(project.resolve("Validators/CreateResource0DtoValidator.cs"));
+        assertTrue(validator.contains("public static partial class CreateResource0DtoValidator"));
+        assertTrue(validator.contains("if (string.IsNullOrWhiteSpace(instance.Name))"));
+        assertTrue(validator.contains("(instance.Name.Length < 1 || instance.Name.Length > 100)"));
+        assertTrue(validator.contains("[GeneratedRegex(@\"^[A-Z]{3}$\")]"));
+        assertTrue(validator.contains("instance.Status is not (null or CreateResource0Dto.StatusEnum.AvailableEnum"));
+        assertTrue(validator.contains("ValidationErrors.AddNested(ref errors, \"Child.\", Model1DtoValidator.Validate(instance.Child));"));
+        assertFalse(validator.contains("FluentValidation"));
+        assertTrue(Files.exists(project.resolve("Validators/ValidationErrors.cs")));
+
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs"));
+        assertTrue(endpoints.contains("var errors = CreateResource0DtoValidator.Validate(model0);"));
+        assertFalse(endpoints.contains("IValidator<"));
+        assertFalse(endpoints.contains("using FluentValidation;"));
+
+        assertFalse(Files.exists(project.resolve("Behaviors/ValidationBehavior.cs")));
+        assertFalse(Files.exists(project.resolve("Validators/Tag0ApiValidators.cs")));
+        assertFalse(read(project.resolve("Program.cs")).contains("Validator"));
+        assertFalse(read(project.resolve("SyntheticApi.csproj")).contains("FluentValidation"));
+    }
+
+    @Test
+    public void placesCollectorInCommonContract(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.VALIDATOR_ENGINE, "generated")
+            .property(MinimalApiServerCodegen.USE_NATIVE_AOT, true)
+            .property(MinimalApiServerCodegen.USE_GLOBAL_EXCEPTION_HANDLER, true)
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 2)
+            .generate(new SyntheticSpecBuilder().schemas(20).operations(40).tags(4).build(), tmp);
+
+        assertTrue(Files.exists(tmp.resolve("Contract/Common/Validators/ValidationErrors.cs")));
+        assertFalse(Files.exists(tmp.resolve("src/SyntheticApi.Contracts.Common/Extensions/ValidatorExtensions.cs")));
+        assertFalse(read(tmp.resolve("src/SyntheticApi.Contracts.Common/SyntheticApi.Contracts.Common.csproj"))
+            .contains("PackageReference Include=\"FluentValidation\""));
+        assertFalse(read(tmp.resolve("src/SyntheticApi/Extensions/ExceptionHandlingExtensions.cs")).contains("FluentValidation"));
+        assertFalse(read(tmp.resolve("src/SyntheticApi/Program.cs")).contains("Validator"));
+    }
+
+    @Test
+    public void usesFluentValidationByDefault(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertTrue(read(project.resolve("Validators/CreateResource0DtoValidator.cs")).contains("AbstractValidator<CreateResource0Dto>"));
+        assertFalse(Files.exists(project.resolve("Validators/ValidationErrors.cs")));
+    }
+
+    @Test
+    public void ignoresUnknownEngine(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.VALIDATOR_ENGINE, "handwritten")
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        assertTrue(read(tmp.resolve("src/SyntheticApi/Validators/CreateResource0DtoValidator.cs")).contains("AbstractValidator<"));
+    }
+}
@@ -0,0 +1,130 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * A parallel batch generates each spec exactly as a standalone run would, keeps per-spec
+ * options apart, and reports a failing spec without stopping the others.
+ */
+public class GenerationBatchTest {
+
+    private static final String SPEC = String.join("\n",
+        "openapi: 3.0.3",
+        "info:",
+        "  title: Batch",
+        "  version: 1.0.0",
+        "paths:",
+        "  /items:",
+        "    post:",
+        "      tags: [items]",
+        "      operationId: addItem",
+        "      requestBody:",
+        "        required: true",
+        "        content:",
+        "          application/json:",
+        "            schema:",
+        "              $ref: '#/components/schemas/Item'",
+        "      responses:",
+        "        '201':",
+        "          description: created",
+        "components:",
+        "  schemas:",
+        "    Item:",
+        "      type: object",
+        "      properties:",
+        "        name:",
+        "          type: string",
+        "");
+
+    private static final String MANIFEST = String.join("\n",
+        "threads: 3",
+        "specCache: cache",
+        "defaults:",
+        "  additionalProperties:",
+        "    useMediatr: true",
+        "    useValidators: true",
+        "    solutionGuid: '{A}'",
+        "    projectConfigurationGuid: '{B}'",
+        "    contractsProjectGuid: '{C}'",
+        "specs:",
+        "  - inputSpec: orders/openapi.yaml",
+        "    outputDir: out/orders",
+        "    additionalProperties:",
+        "      packageName: OrdersApi",
+        "  - inputSpec: stock/openapi.yaml",
+        "    outputDir: out/stock",
+        "    additionalProperties:",
+        "      packageName: StockApi",
+        "      useNugetPackaging: true",
+        "  - inputSpec: missing/openapi.yaml",
+        "    outputDir: out/missing",
+        "");
+
+    @Test
+    public void generatesEachSpecInIsolation(@TempDir Path tmp) throws Exception {
+        write(tmp.resolve("orders/openapi.yaml"), SPEC);
+        write(tmp.resolve("stock/openapi.yaml"), SPEC);
+        write(tmp.resolve("batch.yaml"), MANIFEST);
+
+        GenerationBatch batch = GenerationBatch.load(tmp.resolve("batch.yaml").toFile());
+        List<GenerationBatch.Outcome> outcomes = batch.run();
+        GenerationBatch.writeReport(outcomes, tmp.resolve("report.json").toFile());
+
+        assertEquals(3, outcomes.size());
+        assertTrue(outcomes.get(0).succeeded());
+        assertTrue(outcomes.get(1).succeeded());
+        assertFalse(outcomes.get(2).succeeded());
+        assertTrue(outcomes.get(0).files > 0);
+
+        // Per-spec flags: only the second spec is packaged as a NuGet contracts project
+        assertTrue(Files.isDirectory(tmp.resolve("out/orders/src/OrdersApi/DTOs")));
+        assertFalse(Files.exists(tmp.resolve("out/orders/Contract")));
+        assertTrue(Files.isDirectory(tmp.resolve("out/stock/Contract/DTOs")));
+
+        // Same output as a standalone run of the first spec
+        MinimalApiGenerator.Job.parse(new String[] {
+            "-i", tmp.resolve("orders/openapi.yaml").toString(),
+            "-o", tmp.resolve("standalone").toString(),
+            "--additional-properties", "packageName=OrdersApi,useMediatr=true,useValidators=true,"
+                + "solutionGuid={A},projectConfigurationGuid={B},contractsProjectGuid={C}"
+        }, 0).generate(new SpecSnapshotCache(null));
+        assertEquals(contents(tmp.resolve("standalone")), contents(tmp.resolve("out/orders")));
+
+        JsonNode report = new ObjectMapper().readTree(tmp.resolve("report.json").toFile());
+        assertEquals("ok", report.get(0).get("status").asText());
+        assertEquals("failed", report.get(2).get("status").asText());
+        assertTrue(report.get(2).has("error"));
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, String> contents(Path root) throws IOException {
+        Map<String, String> result = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                result.put(root.relativize(file).toString(), read(file));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package org.openapitools.codegen.languages;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/***
+ * generationMetrics writes a JSON report whose file counts match what is on disk; without
+ * the option no report is written.
+ */
+public class GenerationMetricsTest {
+
+    private static final int OPERATIONS = 30;
+
+    @Test
+    public void reportCoversPhasesFilesAndSlowestOperations(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.GENERATION_METRICS, true)
+            .generate(spec(), tmp);
+
+        JsonNode report = new ObjectMapper().readTree(tmp.resolve(GenerationMetrics.FILE_NAME).toFile());
+
+        List<String> phases = new ArrayList<>();
+        for (JsonNode phase : report.get("phases")) {
+            phases.add(phase.get("name").asText());
+            assertTrue(phase.get("millis").asDouble() >= 0);
+        }
+        assertEquals(Arrays.asList("options", "normalizeSpec", "convertModels", "writeModels",
+            "convertOperations", "tagGroups", "dtoFiles", "supportingFiles"), phases);
+
+        List<String> activities = new ArrayList<>();
+        report.get("activities").forEach(activity -> activities.add(activity.get("name").asText()));
+        assertTrue(activities.containsAll(Arrays.asList("processOperation", "dtoCollection", "handlerMapping", "renderAndWrite")),
+            activities.toString());
+
+        JsonNode files = report.get("files");
+        for (String folder : Arrays.asList("Commands", "Queries", "Handlers", "DTOs", "Validators")) {
+            assertEquals(countFiles(tmp, folder), files.get(folder).get("written").asLong(), folder);
+            assertTrue(files.get(folder).get("bytes").asLong() > 0, folder);
+        }
+        assertEquals(OPERATIONS / 2, files.get("Commands").get("written").asLong());
+        assertEquals(3, files.get("Endpoints").get("written").asLong());
+
+        assertEquals(5, report.get("templatesCompiled").asInt());
+        assertEquals(OPERATIONS, report.get("operations").asInt());
+        assertEquals(GenerationMetrics.SLOWEST_OPERATIONS, report.get("slowestOperations").size());
+    }
+
+    @Test
+    public void noReportByDefault(@TempDir Path tmp) {
+        new GenerationRunner().generate(spec(), tmp);
+
+        assertFalse(Files.exists(tmp.resolve(GenerationMetrics.FILE_NAME)));
+    }
+
+    private static OpenAPI spec() {
+        return new SyntheticSpecBuilder()
+            .schemas(20)
+            .operations(OPERATIONS)
+            .tags(3)
+            .build();
+    }
+
+    private static long countFiles(Path root, String folder) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                .filter(Files::isRegularFile)
+                .filter(p -> folder.equals(p.getParent().getFileName().toString()))
+                .count();
+        }
+    }
+}
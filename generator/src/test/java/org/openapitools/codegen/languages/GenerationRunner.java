@@ -0,0 +1,71 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openapitools.codegen.ClientOptInput;
+import org.openapitools.codegen.DefaultGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * Runs a full DefaultGenerator pass with MinimalApiServerCodegen on an in-memory OpenAPI document.
+ * Shared by the generator tests and benchmarks.
+ */
+public class GenerationRunner {
+
+    private final Map<String, Object> properties = new HashMap<>();
+
+    public GenerationRunner() {
+        properties.put("packageName", "SyntheticApi");
+        properties.put(MinimalApiServerCodegen.USE_MEDIATR, true);
+        properties.put(MinimalApiServerCodegen.USE_VALIDATORS, true);
+        // Fixed GUIDs so repeated runs are comparable
+        properties.put(MinimalApiServerCodegen.SOLUTION_GUID, "{00000000-0000-0000-0000-000000000001}");
+        properties.put(MinimalApiServerCodegen.PROJECT_CONFIGURATION_GUID, "{00000000-0000-0000-0000-000000000002}");
+        properties.put(MinimalApiServerCodegen.CONTRACTS_PROJECT_GUID, "{00000000-0000-0000-0000-000000000003}");
+    }
+
+    public GenerationRunner property(String name, Object value) {
+        properties.put(name, value);
+        return this;
+    }
+
+    /** Drop a default property, e.g. one of the fixed GUIDs. */
+    public GenerationRunner withoutProperty(String name) {
+        properties.remove(name);
+        return this;
+    }
+
+    /** Generate into outputDir and return the files reported by DefaultGenerator. */
+    public List<File> generate(OpenAPI openAPI, Path outputDir) {
+        return generate(openAPI, outputDir, new MinimalApiServerCodegen());
+    }
+
+    /** Generate into outputDir with a caller-supplied (e.g. instrumented) codegen instance. */
+    public List<File> generate(OpenAPI openAPI, Path outputDir, MinimalApiServerCodegen codegen) {
+        codegen.setOutputDir(outputDir.toAbsolutePath().toString());
+        codegen.additionalProperties().putAll(properties);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setGeneratorPropertyDefault("generateMetadata", "false");
+        return generator.opts(new ClientOptInput().openAPI(openAPI).config(codegen)).generate();
+    }
+
+    /** A generated file as UTF-8 text, for assertions on its content. */
+    public static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    /** Generate into outputDir and return the elapsed wall time in milliseconds. */
+    public long time(OpenAPI openAPI, Path outputDir) {
+        long start = System.nanoTime();
+        generate(openAPI, outputDir);
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
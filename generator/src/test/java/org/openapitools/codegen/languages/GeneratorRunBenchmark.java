@@ -0,0 +1,92 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/***
+ * Wall-clock time of a full DefaultGenerator run (MediatR and validators enabled) into an
+ * empty output folder, across synthetic spec shapes. Each run builds a fresh spec because
+ * DefaultGenerator annotates the one it is given; building it is a small fraction of the run.
+ * Use -p to choose other shapes, e.g. -p operations=5000 -p schemas=2500 -p tags=50.
+ *
+ * Run with the benchmarks profile, which writes target/jmh-results.json:
+ *   mvn -P benchmarks verify -Djmh.includes=GeneratorRunBenchmark
+ * or after `mvn test-compile`:
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     org.openapitools.codegen.languages.GeneratorRunBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class GeneratorRunBenchmark {
+
+    @Param({"100", "1000"})
+    public int operations;
+
+    @Param({"50", "500"})
+    public int schemas;
+
+    @Param({"1", "10"})
+    public int tags;
+
+    @Param({"3"})
+    public int nestingDepth;
+
+    private Path outputDir;
+
+    @Setup(Level.Invocation)
+    public void setup() throws IOException {
+        outputDir = Files.createTempDirectory("generator-run");
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        OpenAPI openAPI = new SyntheticSpecBuilder()
+            .schemas(schemas)
+            .operations(operations)
+            .tags(tags)
+            .nestingDepth(nestingDepth)
+            .build();
+        return new GenerationRunner().generate(openAPI, outputDir);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(GeneratorRunBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * incrementalGeneration leaves files with unchanged content untouched (for both the custom
+ * MediatR/DTO writer and the standard template output) and detects files that are no
+ * longer generated.
+ */
+public class IncrementalGenerationTest {
+
+    private static final FileTime OLD = FileTime.fromMillis(946_684_800_000L); // 2000-01-01
+
+    @Test
+    public void regeneratingUnchangedSpecRewritesNothing(@TempDir Path tmp) throws IOException {
+        incremental().generate(spec(40), tmp);
+        List<Path> files = generatedFiles(tmp);
+        assertTrue(Files.exists(tmp.resolve(GenerationManifest.FILE_NAME)));
+        assertTrue(files.stream().anyMatch(p -> p.toString().endsWith("Endpoints.cs")));
+        assertTrue(files.stream().anyMatch(p -> p.toString().endsWith("Program.cs")));
+        for (Path file : files) {
+            Files.setLastModifiedTime(file, OLD);
+        }
+
+        incremental().generate(spec(40), tmp);
+
+        assertEquals(files, generatedFiles(tmp));
+        for (Path file : files) {
+            assertEquals(OLD, Files.getLastModifiedTime(file), "rewritten: " + tmp.relativize(file));
+        }
+    }
+
+    @Test
+    public void changedContentIsStillWritten(@TempDir Path tmp) throws IOException {
+        incremental().generate(spec(40), tmp);
+        Path command = tmp.resolve("src/SyntheticApi/Commands/CreateResource0Command.cs");
+        Files.write(command, "// stale".getBytes(StandardCharsets.UTF_8));
+
+        incremental().generate(spec(40), tmp);
+
+        String content = read(command);
+        assertTrue(content.contains("CreateResource0Command"), content);
+    }
+
+    @Test
+    public void filesOfRemovedOperationsAreReportedButKeptByDefault(@TempDir Path tmp) throws IOException {
+        incremental().generate(spec(40), tmp);
+        Path removedCommand = tmp.resolve("src/SyntheticApi/Commands/CreateResource30Command.cs");
+        assertTrue(Files.exists(removedCommand));
+
+        incremental().generate(spec(20), tmp);
+
+        assertTrue(Files.exists(removedCommand));
+        String manifest = read(tmp.resolve(GenerationManifest.FILE_NAME));
+        assertTrue(manifest.contains(" src/SyntheticApi/Commands/CreateResource10Command.cs\n"), manifest);
+        assertFalse(manifest.contains("CreateResource30Command.cs"), "removed operations are no longer tracked");
+    }
+
+    @Test
+    public void removeStaleFilesDeletesUnmodifiedFilesOfRemovedOperations(@TempDir Path tmp) throws IOException {
+        incremental().generate(spec(40), tmp);
+        Path removedCommand = tmp.resolve("src/SyntheticApi/Commands/CreateResource30Command.cs");
+        Path removedDto = tmp.resolve("src/SyntheticApi/DTOs/CreateResource30Dto.cs");
+        Path implementedHandler = tmp.resolve("src/SyntheticApi/Handlers/GetResource31QueryHandler.cs");
+        Path keptCommand = tmp.resolve("src/SyntheticApi/Commands/CreateResource10Command.cs");
+        Files.write(implementedHandler, "// implemented".getBytes(StandardCharsets.UTF_8));
+
+        incremental()
+            .property(MinimalApiServerCodegen.REMOVE_STALE_FILES, true)
+            .generate(spec(20), tmp);
+
+        assertFalse(Files.exists(removedCommand));
+        assertFalse(Files.exists(removedDto));
+        assertTrue(Files.exists(implementedHandler), "edited files must never be deleted");
+        assertTrue(Files.exists(keptCommand));
+    }
+
+    private static GenerationRunner incremental() {
+        return new GenerationRunner().property(MinimalApiServerCodegen.INCREMENTAL_GENERATION, true);
+    }
+
+    private static io.swagger.v3.oas.models.OpenAPI spec(int operations) {
+        return new SyntheticSpecBuilder()
+            .schemas(20)
+            .operations(operations)
+            .tags(3)
+            .build();
+    }
+
+    /** Generated sources, excluding generator metadata (.openapi-generator/FILES, the manifest). */
+    private static List<Path> generatedFiles(Path root) throws IOException {
+        Path metadata = root.resolve(".openapi-generator");
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                .filter(Files::isRegularFile)
+                .filter(p -> !p.startsWith(metadata))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * lowMemoryGeneration writes the same files as the default mode, and generates a
+ * 10,000-operation spec in a JVM whose heap is too small for the default mode.
+ */
+public class LowMemoryGenerationTest {
+
+    /** Heap cap for the 10,000 operation run; the default mode needs more than 192 MB. */
+    private static final String HEAP = "-Xmx160m";
+
+    @Test
+    public void writesSameFilesAsDefaultMode(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(spec(200, 400, 5), tmp.resolve("default"));
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.LOW_MEMORY_GENERATION, true)
+            .generate(spec(200, 400, 5), tmp.resolve("low-memory"));
+
+        assertEquals(contents(tmp.resolve("default")), contents(tmp.resolve("low-memory")));
+    }
+
+    @Test
+    @Tag("performance")
+    public void generatesTenThousandOperationsWithFixedHeap(@TempDir Path tmp) throws Exception {
+        Path output = tmp.resolve("out");
+        File log = tmp.resolve("generation.log").toFile();
+        Process process = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                HEAP, "-cp", System.getProperty("java.class.path"),
+                LowMemoryGenerationTest.class.getName(), output.toString())
+            .redirectErrorStream(true)
+            .redirectOutput(log)
+            .start();
+        int exitCode = process.waitFor();
+
+        List<String> lines = Files.readAllLines(log.toPath(), StandardCharsets.UTF_8);
+        String tail = String.join("\n", lines.subList(Math.max(0, lines.size() - 20), lines.size()));
+        assertEquals(0, exitCode, "Generation with " + HEAP + " failed:\n" + tail);
+        assertEquals(5_000, count(output, "Commands"));
+        assertEquals(5_000, count(output, "Queries"));
+        assertTrue(Files.exists(output.resolve("src/SyntheticApi/Extensions/EndpointMapper.cs")));
+    }
+
+    /** Entry point of the heap-capped JVM: generate 10,000 operations in low-memory mode. */
+    public static void main(String[] args) {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.LOW_MEMORY_GENERATION, true)
+            .generate(spec(2_000, 10_000, 20), Paths.get(args[0]));
+    }
+
+    private static OpenAPI spec(int schemas, int operations, int tags) {
+        return new SyntheticSpecBuilder()
+            .schemas(schemas)
+            .operations(operations)
+            .tags(tags)
+            .build();
+    }
+
+    private static long count(Path output, String folder) throws IOException {
+        try (Stream<Path> files = Files.list(output.resolve("src/SyntheticApi/" + folder))) {
+            return files.count();
+        }
+    }
+
+    private static Map<String, String> contents(Path root) throws IOException {
+        Map<String, String> result = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                result.put(root.relativize(file).toString(), read(file));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openapitools.codegen.model.ModelMap;
+import org.openapitools.codegen.model.OperationsMap;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/***
+ * Generation time must grow close to linearly with spec size now that model lookups go
+ * through ModelIndex instead of scanning allModels for every operation and property.
+ *
+ * Operations scale with schemas (one per ten schemas), so operations x models x properties
+ * behaviour shows up as roughly 100x between the 1,000 and 10,000 schema runs, where linear
+ * growth is roughly 10x. The assertion is on the time spent in this generator's
+ * per-operation processing; the full DefaultGenerator wall time is reported alongside it
+ * but also includes upstream parsing and file bookkeeping that this generator does not control.
+ */
+@Tag("performance")
+public class ModelIndexScalingTest {
+
+    @Test
+    public void generationTimeGrowsCloseToLinearlyWithSchemaCount(@TempDir Path tmp) {
+        // Warm up class loading, template compilation and the JIT
+        run(100, tmp.resolve("warmup-1"));
+        run(100, tmp.resolve("warmup-2"));
+
+        long[] t100 = run(100, tmp.resolve("s100"));
+        long[] t1000 = run(1_000, tmp.resolve("s1000"));
+        long[] t10000 = run(10_000, tmp.resolve("s10000"));
+
+        double ratio = (double) t10000[1] / Math.max(1, t1000[1]);
+        String timings = String.format(
+            "operation processing: %d / %d / %d ms, full generation: %d / %d / %d ms for 100 / 1,000 / 10,000 schemas (10k/1k ratio %.1f)",
+            t100[1], t1000[1], t10000[1], t100[0], t1000[0], t10000[0], ratio);
+        assertTrue(ratio < 15.0, "Generation time should grow close to linearly with schema count; " + timings);
+    }
+
+    /** Returns {full generation ms, postProcessOperationsWithModels ms}. */
+    private static long[] run(int schemas, Path outputDir) {
+        OpenAPI openAPI = new SyntheticSpecBuilder()
+            .schemas(schemas)
+            .operations(schemas / 10)
+            .build();
+        TimedCodegen codegen = new TimedCodegen();
+        long start = System.nanoTime();
+        new GenerationRunner().generate(openAPI, outputDir, codegen);
+        return new long[]{(System.nanoTime() - start) / 1_000_000, codegen.operationNanos / 1_000_000};
+    }
+
+    /** Accumulates the time spent in this generator's per-tag operation processing. */
+    private static class TimedCodegen extends MinimalApiServerCodegen {
+        long operationNanos;
+
+        @Override
+        public OperationsMap postProcessOperationsWithModels(OperationsMap objs, List<ModelMap> allModels) {
+            long start = System.nanoTime();
+            try {
+                return super.postProcessOperationsWithModels(objs, allModels);
+            } finally {
+                operationNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
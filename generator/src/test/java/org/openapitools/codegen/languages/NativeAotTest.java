@@ -0,0 +1,136 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With useNativeAot, nothing is discovered by reflection: endpoints call the RequestPipeline of
+ * dispatchMode=direct, validators are the plain C# ones of validatorEngine=generated, handlers and
+ * configurators are registered one by one, JSON and enum converters are source-generated and the
+ * projects are published with PublishAot.
+ */
+public class NativeAotTest {
+
+    @Test
+    public void registersEveryHandlerExplicitly(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_NATIVE_AOT, true)
+            .generate(new SyntheticSpecBuilder().schemas(10).operations(20).tags(2).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String program = read(project.resolve("Program.cs"));
+        assertTrue(program.contains("WebApplication.CreateSlimBuilder(args)"));
+        assertFalse(program.contains("GetTypes()"));
+        assertFalse(program.contains("AddMediatR"));
+        assertFalse(program.contains("MediatR.IMediator,"));
+        assertFalse(program.contains("IPipelineBehavior"));
+        assertFalse(program.contains("Validator"));
+        assertFalse(program.contains("EnumMemberJsonConverterFactory"));
+        assertFalse(program.contains("Swagger"));
+        assertTrue(program.contains("ConfiguratorRegistry.ServiceConfigurators"));
+
+        List<String> handlers = fileNames(project.resolve("Handlers"));
+        for (String handler : handlers) {
+            assertTrue(program.contains(", " + handler + ">();"), handler);
+        }
+        assertEquals(handlers.size(), count(program, "AddTransient<RequestPipeline<"));
+
+        assertTrue(read(project.resolve("Validators/CreateResource0DtoValidator.cs")).contains("public static partial class CreateResource0DtoValidator"));
+        assertTrue(Files.exists(project.resolve("Configurators/ConfiguratorRegistry.cs")));
+        assertTrue(Files.exists(project.resolve("Serialization/ApiJsonSerializerContext.cs")));
+        assertTrue(read(project.resolve("DTOs/Model0Dto.cs")).contains("StatusEnumJsonConverter"));
+        String factory = read(project.resolve("Converters/EnumMemberJsonConverterFactory.cs"));
+        assertFalse(factory.contains(".MakeGenericType("));
+        assertTrue(factory.contains("GetCustomAttribute<JsonConverterAttribute>(inherit: false)!.ConverterType!"));
+        String csproj = read(project.resolve("SyntheticApi.csproj"));
+        assertTrue(csproj.contains("<PublishAot>true</PublishAot>"));
+        assertFalse(csproj.contains("Swashbuckle"));
+        assertFalse(csproj.contains("Include=\"FluentValidation\""));
+    }
+
+    @Test
+    public void overridesMediatrDispatchAndFluentValidation(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_NATIVE_AOT, true)
+            .property(MinimalApiServerCodegen.DISPATCH_MODE, "mediatr")
+            .property(MinimalApiServerCodegen.VALIDATOR_ENGINE, "fluentvalidation")
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertTrue(read(project.resolve("Features/Tag0ApiEndpoints.cs")).contains("pipeline.SendAsync("));
+        assertFalse(read(project.resolve("Validators/CreateResource0DtoValidator.cs")).contains("AbstractValidator<"));
+        assertFalse(read(project.resolve("Program.cs")).contains("AddMediatR"));
+    }
+
+    @Test
+    public void registersHandlersWithNugetPackaging(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_NATIVE_AOT, true)
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 2)
+            .generate(new SyntheticSpecBuilder().schemas(20).operations(40).tags(4).build(), tmp);
+
+        String handlers = read(tmp.resolve("src/SyntheticApi/Extensions/HandlerExtensions.cs"));
+        assertFalse(handlers.contains("RegisterServicesFromAssembly"));
+        assertFalse(handlers.contains("IPipelineBehavior"));
+        for (String handler : fileNames(tmp.resolve("src/SyntheticApi/Handlers"))) {
+            assertTrue(handlers.contains(", " + handler + ">();"), handler);
+        }
+        for (String shard : new String[] {"Common", "Shard1", "Shard2"}) {
+            assertFalse(Files.exists(tmp.resolve("src/SyntheticApi.Contracts." + shard + "/Extensions/ValidatorExtensions.cs")), shard);
+            if ("Common".equals(shard)) {
+                continue;
+            }
+            String csproj = read(tmp.resolve("src/SyntheticApi.Contracts." + shard + "/SyntheticApi.Contracts." + shard + ".csproj"));
+            assertTrue(csproj.contains("<IsAotCompatible>true</IsAotCompatible>"));
+            assertTrue(csproj.contains("<EnableRequestDelegateGenerator>true</EnableRequestDelegateGenerator>"));
+            assertFalse(csproj.contains("Include=\"FluentValidation\""));
+        }
+        assertTrue(Files.exists(tmp.resolve("Contract/Common/Dispatch/RequestPipeline.cs")));
+    }
+
+    @Test
+    public void requiresMediatr(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_NATIVE_AOT, true)
+            .property(MinimalApiServerCodegen.USE_MEDIATR, false)
+            .property(MinimalApiServerCodegen.USE_VALIDATORS, false)
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertTrue(read(project.resolve("Program.cs")).contains("WebApplication.CreateBuilder(args)"));
+        assertFalse(Files.exists(project.resolve("Configurators/ConfiguratorRegistry.cs")));
+    }
+
+    private static List<String> fileNames(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.map(f -> f.getFileName().toString().replace(".cs", ""))
+                .filter(name -> !name.contains("."))
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static int count(String text, String needle) {
+        int count = 0;
+        for (int i = text.indexOf(needle); i >= 0; i = text.indexOf(needle, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
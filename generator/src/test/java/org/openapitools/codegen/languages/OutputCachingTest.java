@@ -0,0 +1,101 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With useOutputCaching, GET operations with x-cache get a CacheOutput policy, per user when they
+ * have security requirements, and the commands of their OpenAPI tags evict its cache tags.
+ */
+public class OutputCachingTest {
+
+    @Test
+    public void cachesQueriesAndEvictsOnCommands(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        Map<String, Object> xCache = new LinkedHashMap<>();
+        xCache.put("ttl", 30);
+        xCache.put("varyByHeader", "Accept-Language");
+        xCache.put("tags", Collections.singletonList("resources"));
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-cache", xCache);
+        openAPI.getPaths().get("/resource3/{id}").getGet().addExtension("x-cache", true);
+        openAPI.getComponents().addSecuritySchemes("api_key",
+            new SecurityScheme().type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("api_key"));
+        openAPI.getPaths().get("/resource3/{id}").getGet().addSecurityItem(new SecurityRequirement().addList("api_key"));
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_OUTPUT_CACHING, true)
+            .generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs"));
+        assertTrue(endpoints.contains("using SyntheticApi.Caching;"));
+        assertTrue(endpoints.contains(".CacheOutput(policy => policy.Expire(TimeSpan.FromSeconds(30)).SetVaryByHeader(\"Accept-Language\").Tag(\"tag0\", \"resources\"));"));
+        // Secured: cached per authenticated user only
+        assertTrue(endpoints.contains(".CacheOutput(policy => policy.Expire(TimeSpan.FromSeconds(60)).Tag(\"tag0\").AddPolicy(PerUserOutputCachePolicy.Instance));"));
+        assertTrue(endpoints.contains(".EvictsOutputCacheTags(\"tag0\");"));
+        // Not cached: getResource5
+        assertTrue(endpoints.contains(".WithName(\"GetResource5\")\n        .WithSummary(\"Get resource 5\")\n        .Produces<Model0Dto>(200)\n        .ProducesProblem(400);"));
+
+        String program = read(project.resolve("Program.cs"));
+        assertTrue(program.contains("builder.Services.AddOutputCache();"));
+        // After the application configurators, which add authentication
+        assertTrue(program.indexOf("app.UseOutputCache();") > program.indexOf("configurator.Configure(app, app.Environment);"));
+        assertTrue(read(project.resolve("Caching/OutputCacheEviction.cs")).contains("EvictByTagAsync(tag, CancellationToken.None)"));
+        assertTrue(read(project.resolve("Caching/PerUserOutputCachePolicy.cs"))
+            .contains("context.CacheVaryByRules.VaryByValues[\"user\"] = userKey!;"));
+    }
+
+    @Test
+    public void evictsOnlyTagsThatAreCached(@TempDir Path tmp) throws IOException {
+        // tags(2): the commands are tagged tag0, the queries tag1
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(2).build();
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-cache", 45);
+        openAPI.getPaths().get("/resource0").getPost()
+            .addExtension("x-cache", Collections.singletonMap("evict", Arrays.asList("tag1", "reports")));
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_OUTPUT_CACHING, true)
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 2)
+            .generate(openAPI, tmp);
+
+        assertTrue(Files.exists(tmp.resolve("Contract/Common/Caching/OutputCacheEviction.cs")));
+        String commands = read(tmp.resolve("Contract/Shard1/Endpoints/Tag0ApiEndpoints.cs"));
+        assertTrue(commands.contains(".EvictsOutputCacheTags(\"tag1\", \"reports\");"));
+        assertFalse(commands.contains("\"tag0\""));
+        assertTrue(read(tmp.resolve("Contract/Shard2/Endpoints/Tag1ApiEndpoints.cs"))
+            .contains(".CacheOutput(policy => policy.Expire(TimeSpan.FromSeconds(45)).Tag(\"tag1\"));"));
+        assertTrue(read(tmp.resolve("src/SyntheticApi.Contracts.Common/SyntheticApi.Contracts.Common.csproj"))
+            .contains("Contract\\Common\\Caching\\*.cs"));
+    }
+
+    @Test
+    public void ignoresExtensionByDefault(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-cache", true);
+
+        new GenerationRunner().generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs"));
+        assertFalse(endpoints.contains("CacheOutput"));
+        assertFalse(endpoints.contains("EvictsOutputCacheTags"));
+        assertFalse(read(project.resolve("Program.cs")).contains("OutputCache"));
+        assertFalse(Files.exists(project.resolve("Caching/OutputCacheEviction.cs")));
+    }
+}
@@ -0,0 +1,88 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/***
+ * Wall-clock time of a full generator run against the parallelGeneration thread count.
+ * threads=1 is the default serial mode; compare the other rows against it for the speedup,
+ * and against the core count of the machine (nproc). Not yet run on a multi-core machine.
+ *
+ * Run after `mvn test-compile`:
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     org.openapitools.codegen.languages.ParallelGenerationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ParallelGenerationBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"2000"})
+    public int operations;
+
+    private Path outputDir;
+
+    @Setup(Level.Invocation)
+    public void setup() throws IOException {
+        outputDir = Files.createTempDirectory("parallel-generation");
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        // DefaultGenerator annotates the parsed spec, so each run gets a fresh one
+        OpenAPI openAPI = new SyntheticSpecBuilder()
+            .schemas(operations / 2)
+            .operations(operations)
+            .tags(4)
+            .build();
+        GenerationRunner runner = new GenerationRunner();
+        if (threads > 1) {
+            runner.property(MinimalApiServerCodegen.PARALLEL_GENERATION, true)
+                .property(MinimalApiServerCodegen.GENERATION_THREADS, threads);
+        }
+        return runner.generate(openAPI, outputDir);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(ParallelGenerationBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * parallelGeneration must produce exactly the same files as the default serial mode.
+ */
+public class ParallelGenerationTest {
+
+    @Test
+    public void parallelOutputIsByteIdenticalToSerialOutput(@TempDir Path tmp) throws IOException {
+        Path serial = tmp.resolve("serial");
+        Path parallel = tmp.resolve("parallel");
+
+        new GenerationRunner().generate(spec(), serial);
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.PARALLEL_GENERATION, true)
+            .property(MinimalApiServerCodegen.GENERATION_THREADS, 8)
+            .generate(spec(), parallel);
+
+        List<Path> serialFiles = relativeFiles(serial);
+        assertEquals(serialFiles, relativeFiles(parallel));
+        assertTrue(serialFiles.size() > 200, "expected per-operation files, got " + serialFiles.size());
+        for (Path file : serialFiles) {
+            assertArrayEquals(Files.readAllBytes(serial.resolve(file)), Files.readAllBytes(parallel.resolve(file)),
+                "content differs: " + file);
+        }
+    }
+
+    @Test
+    public void parallelModeKeepsExistingHandlers(@TempDir Path tmp) throws IOException {
+        Path handler = tmp.resolve("src/SyntheticApi/Handlers/GetResource1QueryHandler.cs");
+        Files.createDirectories(handler.getParent());
+        Files.write(handler, "// customised".getBytes(StandardCharsets.UTF_8));
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.PARALLEL_GENERATION, true)
+            .property(MinimalApiServerCodegen.GENERATION_THREADS, 4)
+            .generate(spec(), tmp);
+
+        assertEquals("// customised", read(handler));
+        assertTrue(Files.exists(handler.resolveSibling("GetResource3QueryHandler.cs")));
+    }
+
+    private static io.swagger.v3.oas.models.OpenAPI spec() {
+        return new SyntheticSpecBuilder()
+            .schemas(40)
+            .operations(80)
+            .tags(4)
+            .build();
+    }
+
+    private static List<Path> relativeFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files
+                .filter(Files::isRegularFile)
+                .map(root::relativize)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+}
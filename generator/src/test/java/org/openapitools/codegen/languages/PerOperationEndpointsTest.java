@@ -0,0 +1,62 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With perOperationEndpoints, each operation's endpoint registration is written to its own
+ * file with exactly the code the per-tag file would contain, and {Tag}Endpoints.cs only calls
+ * the per-operation methods.
+ */
+public class PerOperationEndpointsTest {
+
+    private static final Pattern OPERATION_FILE = Pattern.compile(
+        "Minimal API endpoint for \\w+ \\S+ \\((\\w+)\\)[\\s\\S]*?Endpoint\\(this RouteGroupBuilder group\\)\\n    \\{\\n([\\s\\S]*?)        return group;");
+
+    @Test
+    public void writesOneEndpointFilePerOperation(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(new SyntheticSpecBuilder().schemas(20).operations(30).tags(3).build(), tmp.resolve("per-tag"));
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.PER_OPERATION_ENDPOINTS, true)
+            .generate(new SyntheticSpecBuilder().schemas(20).operations(30).tags(3).build(), tmp.resolve("per-operation"));
+
+        Path perTag = tmp.resolve("per-tag/src/SyntheticApi/Features");
+        Path perOperation = tmp.resolve("per-operation/src/SyntheticApi/Features");
+        List<Path> operationFiles = list(perOperation, "Endpoint.cs");
+        assertEquals(30, operationFiles.size());
+
+        for (Path operationFile : operationFiles) {
+            Matcher matcher = OPERATION_FILE.matcher(read(operationFile));
+            assertTrue(matcher.find(), operationFile.toString());
+            String tagFile = read(perTag.resolve(matcher.group(1) + "Endpoints.cs"));
+            assertTrue(tagFile.contains(matcher.group(2)), "Endpoint code differs from the per-tag file: " + operationFile);
+        }
+
+        String aggregator = read(perOperation.resolve("Tag0ApiEndpoints.cs"));
+        assertTrue(aggregator.contains("group.MapCreateResource0Endpoint();"));
+        assertTrue(aggregator.contains("group.MapGetResource3Endpoint();"));
+        assertFalse(aggregator.contains("group.MapPost("));
+        assertFalse(aggregator.contains("group.MapGetResource1Endpoint();"));
+    }
+
+    private static List<Path> list(Path folder, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(folder)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).collect(Collectors.toList());
+        }
+    }
+}
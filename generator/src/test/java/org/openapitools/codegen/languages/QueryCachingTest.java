@@ -0,0 +1,124 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With useQueryCaching, queries with x-query-cache are answered from the QueryResultCache, per user
+ * when their operation has security requirements, and the commands of their OpenAPI tags, or with
+ * x-invalidates, evict them.
+ */
+public class QueryCachingTest {
+
+    @Test
+    public void cachesQueriesAndInvalidatesOnCommands(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        openAPI.getComponents().addSecuritySchemes("api_key",
+            new SecurityScheme().type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("api_key"));
+        openAPI.getPaths().get("/resource1/{id}").getGet()
+            .addParametersItem(new QueryParameter().name("labels").schema(new ArraySchema().items(new StringSchema())))
+            .addSecurityItem(new SecurityRequirement().addList("api_key"))
+            .addExtension("x-query-cache", Collections.singletonMap("ttl", 30));
+        Operation listQuery = openAPI.getPaths().get("/resource3/{id}").getGet();
+        listQuery.addExtension("x-query-cache", true);
+        listQuery.getResponses().get("200").getContent().get("application/json")
+            .setSchema(new ArraySchema().items(new Schema<>().$ref("#/components/schemas/Model3")));
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_QUERY_CACHING, true)
+            .generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String query = read(project.resolve("Queries/GetResource1Query.cs"));
+        assertTrue(query.contains("public record GetResource1Query : IRequest<Model1Dto>, ICachedQuery"));
+        assertTrue(query.contains("private static readonly string[] QueryCacheTags = { \"tag0\" };"));
+        assertTrue(query.contains("TimeSpan? ICachedQuery.CacheTimeToLive => TimeSpan.FromSeconds(30);"));
+        assertTrue(query.contains("bool ICachedQuery.CachePerUser => true;"));
+        assertFalse(query.contains("ICachedQuery.Materialize"));
+        assertTrue(query.contains("&& QueryCacheKey.SequenceEqual(labels, other.labels)"));
+        assertTrue(query.contains("QueryCacheKey.AddSequence(ref hash, labels);"));
+        // No array members: record equality is already the cache key
+        String plainQuery = read(project.resolve("Queries/GetResource3Query.cs"));
+        assertTrue(plainQuery.contains("TimeSpan? ICachedQuery.CacheTimeToLive => null;"));
+        assertTrue(plainQuery.contains("bool ICachedQuery.CachePerUser => false;"));
+        // Collection response: a deferred sequence is copied to a list before it is cached
+        assertTrue(plainQuery.contains("response is IEnumerable<Model3Dto> items and not ICollection<Model3Dto> ? items.ToList() : response;"));
+        assertFalse(plainQuery.contains("GetHashCode"));
+        assertFalse(read(project.resolve("Queries/GetResource5Query.cs")).contains("ICachedQuery"));
+
+        assertTrue(read(project.resolve("Commands/CreateResource0Command.cs"))
+            .contains("private static readonly string[] InvalidatedTags = { \"tag0\" };"));
+
+        String program = read(project.resolve("Program.cs"));
+        assertTrue(program.contains("builder.Services.AddHttpContextAccessor();"));
+        assertTrue(program.contains("builder.Services.AddSingleton<SyntheticApi.Caching.QueryResultCache>();"));
+        assertTrue(program.contains("typeof(SyntheticApi.Behaviors.QueryCachingBehavior<,>)"));
+        assertTrue(program.indexOf("QueryCachingBehavior") > program.indexOf("ValidationBehavior"));
+        assertTrue(Files.exists(project.resolve("Caching/CachedQuery.cs")));
+        String cache = read(project.resolve("Caching/QueryResultCache.cs"));
+        assertTrue(cache.contains("\"SyntheticApi.QueryCache\""));
+        assertTrue(cache.contains("QueryCacheKey.For(query, query.CachePerUser, _httpContextAccessor.HttpContext?.User)"));
+        assertTrue(read(project.resolve("Behaviors/QueryCachingBehavior.cs"))
+            .contains("var response = (TResponse)cachedQuery.Materialize(await next())!;"));
+    }
+
+    @Test
+    public void cachesInDirectPipelineOfContractPackage(@TempDir Path tmp) throws IOException {
+        // tags(2): the commands are tagged tag0, the queries tag1
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(2).build();
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-query-cache", 45);
+        openAPI.getPaths().get("/resource0").getPost().addExtension("x-invalidates", Arrays.asList("tag1", "reports"));
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_QUERY_CACHING, true)
+            .property(MinimalApiServerCodegen.DISPATCH_MODE, "direct")
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .generate(openAPI, tmp);
+
+        assertTrue(Files.exists(tmp.resolve("Contract/Caching/QueryResultCache.cs")));
+        assertTrue(read(tmp.resolve("Contract/Commands/CreateResource0Command.cs"))
+            .contains("private static readonly string[] InvalidatedTags = { \"tag1\", \"reports\" };"));
+        // tag0 has no cached query
+        assertFalse(read(tmp.resolve("Contract/Commands/CreateResource2Command.cs")).contains("IInvalidatingCommand"));
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String pipeline = read(tmp.resolve("Contract/Dispatch/RequestPipeline.cs"));
+        assertTrue(pipeline.contains("if (_cache.TryGet<TResponse>(key, out var cached))"));
+        assertTrue(pipeline.contains("private async Task<TResponse> HandleAsync(TRequest request, CancellationToken cancellationToken)"));
+        assertFalse(Files.exists(project.resolve("Behaviors/QueryCachingBehavior.cs")));
+        assertFalse(read(project.resolve("Program.cs")).contains("QueryCachingBehavior"));
+    }
+
+    @Test
+    public void requiresMediatr(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-query-cache", true);
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_QUERY_CACHING, true)
+            .property(MinimalApiServerCodegen.USE_MEDIATR, false)
+            .generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertFalse(Files.exists(project.resolve("Caching/QueryResultCache.cs")));
+        assertFalse(read(project.resolve("Program.cs")).contains("QueryResultCache"));
+    }
+}
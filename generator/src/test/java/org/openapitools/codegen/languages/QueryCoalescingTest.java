@@ -0,0 +1,92 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.QueryParameter;
+import io.swagger.v3.oas.models.security.SecurityRequirement;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With useQueryCoalescing, queries implement ICoalescedQuery, per user when their operation has
+ * security requirements, and identical concurrent ones share a handler call.
+ */
+public class QueryCoalescingTest {
+
+    @Test
+    public void coalescesQueriesPerUserWhenSecured(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        openAPI.getComponents().addSecuritySchemes("api_key",
+            new SecurityScheme().type(SecurityScheme.Type.APIKEY).in(SecurityScheme.In.HEADER).name("api_key"));
+        openAPI.getPaths().get("/resource1/{id}").getGet()
+            .addParametersItem(new QueryParameter().name("labels").schema(new ArraySchema().items(new StringSchema())))
+            .addSecurityItem(new SecurityRequirement().addList("api_key"));
+        openAPI.getPaths().get("/resource5/{id}").getGet().addExtension("x-coalesce", false);
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_QUERY_COALESCING, true)
+            .generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String secured = read(project.resolve("Queries/GetResource1Query.cs"));
+        assertTrue(secured.contains("public record GetResource1Query : IRequest<Model1Dto>, ICoalescedQuery"));
+        assertTrue(secured.contains("bool ICoalescedQuery.CoalescePerUser => true;"));
+        assertTrue(secured.contains("&& QueryCacheKey.SequenceEqual(labels, other.labels)"));
+        assertFalse(secured.contains("ICachedQuery"));
+        assertTrue(read(project.resolve("Queries/GetResource3Query.cs")).contains("bool ICoalescedQuery.CoalescePerUser => false;"));
+        assertFalse(read(project.resolve("Queries/GetResource5Query.cs")).contains("ICoalescedQuery"));
+        assertFalse(read(project.resolve("Commands/CreateResource0Command.cs")).contains("Caching"));
+
+        String program = read(project.resolve("Program.cs"));
+        assertTrue(program.contains("builder.Services.AddHttpContextAccessor();"));
+        assertTrue(program.contains("builder.Services.AddSingleton<SyntheticApi.Caching.QueryCoalescer>();"));
+        assertTrue(program.indexOf("QueryCoalescingBehavior") > program.indexOf("ValidationBehavior"));
+        assertTrue(Files.exists(project.resolve("Caching/QueryCacheKey.cs")));
+        assertFalse(Files.exists(project.resolve("Caching/QueryResultCache.cs")));
+        assertTrue(read(project.resolve("Caching/QueryCoalescer.cs"))
+            .contains("catch (OperationCanceledException) when (!cancellationToken.IsCancellationRequested)"));
+    }
+
+    @Test
+    public void coalescesCacheMissesInDirectPipeline(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-query-cache", true);
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_QUERY_COALESCING, true)
+            .property(MinimalApiServerCodegen.USE_QUERY_CACHING, true)
+            .property(MinimalApiServerCodegen.DISPATCH_MODE, "direct")
+            .generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertTrue(read(project.resolve("Queries/GetResource1Query.cs"))
+            .contains("public record GetResource1Query : IRequest<Model1Dto>, ICachedQuery, ICoalescedQuery"));
+        String pipeline = read(project.resolve("Dispatch/RequestPipeline.cs"));
+        assertTrue(pipeline.contains("var queryResponse = (TResponse)cachedQuery.Materialize(await CoalesceAsync(request, cancellationToken))!;"));
+        assertTrue(pipeline.contains("var response = await CoalesceAsync(request, cancellationToken);"));
+        assertTrue(pipeline.contains("_coalescer.SendAsync(query, () => HandleAsync(request, cancellationToken), cancellationToken)"));
+        assertFalse(Files.exists(project.resolve("Behaviors/QueryCoalescingBehavior.cs")));
+    }
+
+    @Test
+    public void requiresMediatr(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_QUERY_COALESCING, true)
+            .property(MinimalApiServerCodegen.USE_MEDIATR, false)
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertFalse(Files.exists(project.resolve("Caching/QueryCoalescer.cs")));
+        assertFalse(read(project.resolve("Program.cs")).contains("QueryCoalescer"));
+    }
+}
@@ -0,0 +1,99 @@
+package org.openapitools.codegen.languages;
+
+import com.samskivert.mustache.Template;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/***
+ * Heap allocation of writing one operation's files (request, handler and DTO), comparing the
+ * previous String + getBytes + Files.write path with rendering through a reusable RenderBuffer
+ * to a FileChannel. One benchmark invocation is one generated operation, so the GC profiler's
+ * gc.alloc.rate.norm column is bytes allocated per generated operation.
+ *
+ * Run after `mvn test-compile`:
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     org.openapitools.codegen.languages.RenderAllocationBenchmark
+ * or through the JMH launcher with `-prof gc`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderAllocationBenchmark {
+
+    private static final String[] TEMPLATES = {"command.mustache", "handler.mustache", "dto.mustache"};
+
+    private final Template[] templates = new Template[TEMPLATES.length];
+    private final File[] files = new File[TEMPLATES.length];
+    private final RenderBuffer buffer = new RenderBuffer();
+    private Map<String, Object> data;
+    private Path outputDir;
+
+    @Setup
+    public void setup() throws IOException {
+        TemplateRegistry registry = new TemplateRegistry(new MinimalApiServerCodegen());
+        outputDir = Files.createTempDirectory("render-allocation");
+        for (int i = 0; i < TEMPLATES.length; i++) {
+            templates[i] = registry.get(TEMPLATES[i]);
+            files[i] = outputDir.resolve(TEMPLATES[i].replace(".mustache", ".cs")).toFile();
+        }
+        data = TemplateRegistryBenchmark.sampleData();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(outputDir)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /** Previous behaviour: render to a String, copy to a byte[], write. */
+    @Benchmark
+    public void stringPerFile() throws IOException {
+        for (int i = 0; i < templates.length; i++) {
+            String content = templates[i].execute(data);
+            Files.write(files[i].toPath(), content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /** Current behaviour: render into the worker's reusable buffer, write through a FileChannel. */
+    @Benchmark
+    public void renderBuffer() throws IOException {
+        for (int i = 0; i < templates.length; i++) {
+            Path target = files[i].toPath();
+            templates[i].execute(data, buffer.reset(target));
+            buffer.writeTo(target);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RenderAllocationBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
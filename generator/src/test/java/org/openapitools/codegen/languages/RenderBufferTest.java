@@ -0,0 +1,94 @@
+package org.openapitools.codegen.languages;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.MustacheException;
+import com.samskivert.mustache.Template;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * RenderBuffer must produce exactly the bytes of String.getBytes(UTF_8), whether the output
+ * fits in the buffer, grows it, or is streamed to the file while rendering.
+ */
+public class RenderBufferTest {
+
+    private static final String[] SAMPLES = {
+        "",
+        "plain ASCII // C# code",
+        "Straße été € 中文",
+        "emoji 🐶 pair",
+        "unpaired high \ud83d then text",
+        "unpaired low \udc36 here",
+        "trailing high \ud83d",
+    };
+
+    @Test
+    public void encodesLikeStringGetBytes(@TempDir Path tmp) throws IOException {
+        RenderBuffer buffer = new RenderBuffer(8);
+        Path file = tmp.resolve("out.cs");
+        for (String sample : SAMPLES) {
+            buffer.reset(null).write(sample);
+            buffer.writeTo(file);
+            assertArrayEquals(sample.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file), sample);
+        }
+    }
+
+    @Test
+    public void streamsLargeOutputWithSmallBuffer(@TempDir Path tmp) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            sb.append(SAMPLES[random.nextInt(SAMPLES.length)]).append('\n');
+        }
+        String content = sb.toString();
+        Path file = tmp.resolve("large.cs");
+
+        RenderBuffer buffer = new RenderBuffer(1024);
+        buffer.reset(file).write(content);
+        buffer.writeTo(file);
+
+        assertArrayEquals(content.getBytes(StandardCharsets.UTF_8), Files.readAllBytes(file));
+    }
+
+    @Test
+    public void comparesRenderedContentWithFile(@TempDir Path tmp) throws IOException {
+        Path file = tmp.resolve("same.cs");
+        String content = "namespace Test;\n// €\n";
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+
+        RenderBuffer buffer = new RenderBuffer(4);
+        buffer.reset(null).write(content);
+        assertTrue(buffer.contentEquals(file.toFile()));
+        buffer.reset(null).write(content + " ");
+        assertFalse(buffer.contentEquals(file.toFile()));
+    }
+
+    @Test
+    public void failedRenderLeavesExistingFileUntouched(@TempDir Path tmp) throws IOException {
+        Path file = tmp.resolve("Existing.cs");
+        Files.write(file, "// previous".getBytes(StandardCharsets.UTF_8));
+        Template template = Mustache.compiler().compile("class {{name}} { {{missing.value}} }");
+
+        RenderBuffer buffer = new RenderBuffer();
+        buffer.reset(file);
+        assertThrows(MustacheException.class,
+            () -> template.execute(Collections.singletonMap("name", "Pet"), buffer));
+        buffer.close();
+
+        assertEquals("// previous", read(file));
+    }
+}
@@ -0,0 +1,91 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * Endpoints pass HttpContext.RequestAborted on to validation and dispatch, and operations with
+ * x-timeout get a request timeout that cancels it.
+ */
+public class RequestTimeoutTest {
+
+    @Test
+    public void appliesTimeoutsOfOperations(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-timeout", 5);
+        openAPI.getPaths().get("/resource3/{id}").getGet().addExtension("x-timeout", 0.25);
+        openAPI.getPaths().get("/resource0").getPost().addExtension("x-timeout", "slow-writes");
+        openAPI.getPaths().get("/resource5/{id}").getGet().addExtension("x-timeout", -1);
+
+        new GenerationRunner().generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs"));
+        assertTrue(endpoints.contains(".WithRequestTimeout(TimeSpan.FromSeconds(5));"));
+        assertTrue(endpoints.contains(".WithRequestTimeout(TimeSpan.FromMilliseconds(250));"));
+        assertTrue(endpoints.contains(".WithRequestTimeout(\"slow-writes\");"));
+        // Invalid: getResource5
+        assertTrue(endpoints.contains(".WithName(\"GetResource5\")\n        .WithSummary(\"Get resource 5\")\n        .Produces<Model0Dto>(200)\n        .ProducesProblem(400);"));
+
+        String program = read(project.resolve("Program.cs"));
+        assertTrue(program.contains("builder.Services.AddRequestTimeouts();"));
+        assertTrue(program.contains("app.UseRouting();\napp.UseRequestTimeouts();"));
+    }
+
+    @Test
+    public void passesRequestAbortedToDispatch(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs"));
+        assertTrue(endpoints.contains("IValidator<CreateResource0Dto> validator, CancellationToken cancellationToken) =>"));
+        assertTrue(endpoints.contains("await validator.ValidateAsync(model0, cancellationToken);"));
+        assertTrue(endpoints.contains("var result = await mediator.Send(command, cancellationToken);"));
+        assertTrue(endpoints.contains("var result = await mediator.Send(query, cancellationToken);"));
+        assertFalse(endpoints.contains("WithRequestTimeout"));
+        assertFalse(read(project.resolve("Program.cs")).contains("RequestTimeouts"));
+    }
+
+    @Test
+    public void appliesTimeoutsWithoutMediatr(@TempDir Path tmp) throws IOException {
+        OpenAPI openAPI = new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build();
+        openAPI.getPaths().get("/resource1/{id}").getGet().addExtension("x-timeout", 2);
+        // A constrained body: DefaultCodegen marks it hasValidation, which emits the validation block
+        openAPI.getPaths().addPathItem("/notes", new PathItem().post(new Operation()
+            .operationId("createNote")
+            .tags(Collections.singletonList("tag0"))
+            .requestBody(new RequestBody().required(true).content(new Content()
+                .addMediaType("application/json", new MediaType().schema(new StringSchema().maxLength(140)))))
+            .responses(new ApiResponses().addApiResponse("204", new ApiResponse().description("No content")))));
+
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_MEDIATR, false)
+            .generate(openAPI, tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs"));
+        assertTrue(endpoints.contains(".WithRequestTimeout(TimeSpan.FromSeconds(2));"));
+        // The validation block does not depend on useMediatr, so neither does the token it passes on
+        assertTrue(endpoints.contains("IValidator<string> validator, CancellationToken cancellationToken) =>"), endpoints);
+        assertTrue(endpoints.contains("await validator.ValidateAsync(body, cancellationToken);"), endpoints);
+        assertTrue(read(project.resolve("Program.cs")).contains("app.UseRequestTimeouts();"));
+    }
+}
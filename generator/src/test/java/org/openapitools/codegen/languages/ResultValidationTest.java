@@ -0,0 +1,78 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With useResultValidation, endpoints validate their body through RequestValidation and return the
+ * failures to Results.ValidationProblem, and no MediatR ValidationBehavior is generated or registered.
+ */
+public class ResultValidationTest {
+
+    @Test
+    public void endpointsReturnValidationFailuresAsValues(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_RESULT_VALIDATION, true)
+            .generate(new SyntheticSpecBuilder().schemas(10).operations(20).tags(2).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        String endpoints = read(project.resolve("Features/Tag0ApiEndpoints.cs"));
+        assertTrue(endpoints.contains("using SyntheticApi.Validators;"));
+        assertTrue(endpoints.contains("var errors = await RequestValidation.ValidateAsync(validator, model0, cancellationToken);"));
+        assertTrue(endpoints.contains("return Results.ValidationProblem(errors);"));
+        assertFalse(endpoints.contains("validator.ValidateAsync("));
+
+        String validation = read(project.resolve("Validators/RequestValidation.cs"));
+        assertTrue(validation.contains("validator.Validate(request)"));
+        assertTrue(validation.contains("catch (AsyncValidatorInvokedSynchronouslyException)"));
+        assertFalse(validation.contains("throw"));
+
+        assertFalse(Files.exists(project.resolve("Behaviors/ValidationBehavior.cs")));
+        assertFalse(read(project.resolve("Program.cs")).contains("IPipelineBehavior"));
+    }
+
+    @Test
+    public void placesHelperInContractsAndSkipsPipelineValidation(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_RESULT_VALIDATION, true)
+            .property(MinimalApiServerCodegen.DISPATCH_MODE, "direct")
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 2)
+            .generate(new SyntheticSpecBuilder().schemas(20).operations(40).tags(4).build(), tmp);
+
+        assertTrue(Files.exists(tmp.resolve("Contract/Common/Validators/RequestValidation.cs")));
+        String pipeline = read(tmp.resolve("Contract/Common/Dispatch/RequestPipeline.cs"));
+        assertFalse(pipeline.contains("IValidator"));
+        assertFalse(pipeline.contains("ValidationException"));
+        assertFalse(read(tmp.resolve("src/SyntheticApi/Extensions/HandlerExtensions.cs")).contains("ValidationBehavior"));
+    }
+
+    @Test
+    public void throwsFromValidationBehaviorByDefault(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        assertTrue(read(project.resolve("Features/Tag0ApiEndpoints.cs")).contains("await validator.ValidateAsync(model0, cancellationToken);"));
+        assertTrue(Files.exists(project.resolve("Behaviors/ValidationBehavior.cs")));
+        assertFalse(Files.exists(project.resolve("Validators/RequestValidation.cs")));
+    }
+
+    @Test
+    public void requiresValidators(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_RESULT_VALIDATION, true)
+            .property(MinimalApiServerCodegen.USE_VALIDATORS, false)
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        assertFalse(Files.exists(tmp.resolve("src/SyntheticApi/Validators/RequestValidation.cs")));
+    }
+}
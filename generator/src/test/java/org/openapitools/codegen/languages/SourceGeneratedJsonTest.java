@@ -0,0 +1,90 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * With useSourceGeneratedJson, the JsonSerializerContext lists every generated DTO, the
+ * response types of the operations and ProblemDetails, and Program.cs registers it; each
+ * Contracts shard gets its own context with its own types.
+ */
+public class SourceGeneratedJsonTest {
+
+    private static final Pattern SERIALIZABLE = Pattern.compile("\\[JsonSerializable\\(typeof\\((.+)\\)\\)\\]");
+
+    @Test
+    public void listsEveryDtoAndResponseType(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_SOURCE_GENERATED_JSON, true)
+            .generate(new SyntheticSpecBuilder().schemas(10).operations(20).tags(2).build(), tmp);
+
+        Path project = tmp.resolve("src/SyntheticApi");
+        Set<String> types = serializableTypes(project.resolve("Serialization/ApiJsonSerializerContext.cs"));
+        try (Stream<Path> dtos = Files.list(project.resolve("DTOs"))) {
+            for (Path dto : dtos.collect(Collectors.toList())) {
+                assertTrue(types.contains(dto.getFileName().toString().replace(".cs", "")), dto.toString());
+            }
+        }
+        assertTrue(types.contains("Microsoft.AspNetCore.Mvc.ProblemDetails"));
+        assertTrue(types.contains("Microsoft.AspNetCore.Http.HttpValidationProblemDetails"));
+        assertFalse(types.contains("Unit"));
+
+        assertTrue(read(project.resolve("Program.cs"))
+            .contains("TypeInfoResolverChain.Insert(0, SyntheticApi.Serialization.ApiJsonSerializerContext.Default);"));
+    }
+
+    @Test
+    public void writesOneContextPerContractShard(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .property(MinimalApiServerCodegen.USE_SOURCE_GENERATED_JSON, true)
+            .property(MinimalApiServerCodegen.USE_NUGET_PACKAGING, true)
+            .property(MinimalApiServerCodegen.CONTRACT_SHARDS, 2)
+            .generate(new SyntheticSpecBuilder().schemas(20).operations(40).tags(4).build(), tmp);
+
+        String program = read(tmp.resolve("src/SyntheticApi/Program.cs"));
+        assertFalse(Files.exists(tmp.resolve("Contract/Common/Serialization")));
+        for (String shard : new String[] {"Shard1", "Shard2"}) {
+            Set<String> types = serializableTypes(tmp.resolve("Contract/" + shard + "/Serialization/" + shard + "ApiJsonSerializerContext.cs"));
+            try (Stream<Path> dtos = Files.list(tmp.resolve("Contract/" + shard + "/DTOs"))) {
+                for (Path dto : dtos.collect(Collectors.toList())) {
+                    assertTrue(types.contains(dto.getFileName().toString().replace(".cs", "")), dto.toString());
+                }
+            }
+            assertTrue(read(tmp.resolve("src/SyntheticApi.Contracts." + shard + "/Extensions/EndpointExtensions.cs"))
+                .contains("public static IServiceCollection Add" + shard + "ApiJsonSerializerContext(this IServiceCollection services)"));
+            assertTrue(program.contains("builder.Services.Add" + shard + "ApiJsonSerializerContext();"), shard);
+        }
+    }
+
+    @Test
+    public void writesNoContextByDefault(@TempDir Path tmp) throws IOException {
+        new GenerationRunner()
+            .generate(new SyntheticSpecBuilder().schemas(5).operations(10).tags(1).build(), tmp);
+
+        assertFalse(Files.exists(tmp.resolve("src/SyntheticApi/Serialization")));
+        assertFalse(read(tmp.resolve("src/SyntheticApi/Program.cs")).contains("JsonSerializerContext"));
+    }
+
+    private static Set<String> serializableTypes(Path context) throws IOException {
+        Set<String> types = new HashSet<>();
+        Matcher matcher = SERIALIZABLE.matcher(read(context));
+        while (matcher.find()) {
+            types.add(matcher.group(1));
+        }
+        return types;
+    }
+}
@@ -0,0 +1,154 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * The spec snapshot is reused while the root spec and the files it references are unchanged,
+ * is replaced when a referenced file changes, and generates the same output as a fresh parse.
+ */
+public class SpecSnapshotCacheTest {
+
+    private static final String ROOT = String.join("\n",
+        "openapi: 3.0.3",
+        "info:",
+        "  title: Snapshot",
+        "  version: 1.0.0",
+        "tags:",
+        "  - name: pets",
+        "paths:",
+        "  /pets:",
+        "    get:",
+        "      tags: [pets]",
+        "      operationId: listPets",
+        "      responses:",
+        "        '200':",
+        "          description: ok",
+        "          content:",
+        "            application/json:",
+        "              schema:",
+        "                type: array",
+        "                items:",
+        "                  $ref: './schemas/pet.yaml'",
+        "    post:",
+        "      tags: [pets]",
+        "      operationId: addPet",
+        "      requestBody:",
+        "        required: true",
+        "        content:",
+        "          application/json:",
+        "            schema:",
+        "              $ref: './schemas/pet.yaml'",
+        "      responses:",
+        "        '201':",
+        "          description: created",
+        "");
+
+    private static final String PET = String.join("\n",
+        "type: object",
+        "required: [name]",
+        "properties:",
+        "  id:",
+        "    type: integer",
+        "    format: int64",
+        "  name:",
+        "    type: string",
+        "  category:",
+        "    $ref: './category.yaml'",
+        "");
+
+    private static final String CATEGORY = String.join("\n",
+        "type: object",
+        "properties:",
+        "  name:",
+        "    type: string",
+        "");
+
+    @Test
+    public void reusesSnapshotUntilReferencedFileChanges(@TempDir Path tmp) throws IOException {
+        Path spec = writeSpec(tmp.resolve("spec"));
+        Path cacheDir = tmp.resolve("cache");
+        SpecSnapshotCache cache = new SpecSnapshotCache(cacheDir.toFile());
+
+        assertEquals(3, SpecSnapshotCache.inputFiles(spec.toFile()).size());
+
+        cache.load(spec.toString());
+        cache.load(spec.toString());
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+
+        // A change two $ref hops away from the root invalidates the snapshot
+        write(spec.resolveSibling("schemas/category.yaml"), CATEGORY + "  code:\n    type: string\n");
+        cache.load(spec.toString());
+        assertEquals(2, cache.misses());
+        assertEquals(1, cache.hits());
+        assertEquals(1, snapshots(cacheDir), "older snapshots of the same spec are removed");
+    }
+
+    @Test
+    public void snapshotGeneratesSameOutputAsParse(@TempDir Path tmp) throws IOException {
+        Path spec = writeSpec(tmp.resolve("spec"));
+        SpecSnapshotCache cache = new SpecSnapshotCache(tmp.resolve("cache").toFile());
+        cache.load(spec.toString());
+
+        MinimalApiGenerator.Job parsed = job(spec, tmp.resolve("parsed"));
+        parsed.generate(SpecSnapshotCache.parse(spec.toString()), new MinimalApiServerCodegen());
+        MinimalApiGenerator.Job cached = job(spec, tmp.resolve("cached"));
+        cached.generate(cache);
+
+        assertEquals(1, cache.hits());
+        Map<String, String> expected = contents(tmp.resolve("parsed"));
+        assertTrue(expected.keySet().stream().anyMatch(name -> name.endsWith("PetDto.cs")), expected.keySet().toString());
+        assertEquals(expected, contents(tmp.resolve("cached")));
+    }
+
+    private static MinimalApiGenerator.Job job(Path spec, Path outputDir) {
+        return MinimalApiGenerator.Job.parse(new String[] {
+            "-i", spec.toString(),
+            "-o", outputDir.toString(),
+            "--additional-properties", "packageName=SnapshotApi,useMediatr=true,useValidators=true,"
+                + "solutionGuid={A},projectConfigurationGuid={B},contractsProjectGuid={C}"
+        }, 0);
+    }
+
+    private static Path writeSpec(Path dir) throws IOException {
+        write(dir.resolve("schemas/pet.yaml"), PET);
+        write(dir.resolve("schemas/category.yaml"), CATEGORY);
+        Path root = dir.resolve("openapi.yaml");
+        write(root, ROOT);
+        return root;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long snapshots(Path cacheDir) throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.filter(p -> p.toString().endsWith(SpecSnapshotCache.EXTENSION)).count();
+        }
+    }
+
+    private static Map<String, String> contents(Path root) throws IOException {
+        Map<String, String> result = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                result.put(root.relativize(file).toString(), read(file));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+package org.openapitools.codegen.languages;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openapitools.codegen.languages.GenerationRunner.read;
+
+/***
+ * Watch mode regenerates only the operations and DTOs reachable from an edited schema, and
+ * the result matches a full generation of the edited spec.
+ */
+public class SpecWatcherTest {
+
+    private static final String ROOT = String.join("\n",
+        "openapi: 3.0.3",
+        "info:",
+        "  title: Watch",
+        "  version: 1.0.0",
+        "paths:",
+        "  /pets:",
+        "    get:",
+        "      tags: [pets]",
+        "      operationId: listPets",
+        "      responses:",
+        "        '200':",
+        "          description: ok",
+        "          content:",
+        "            application/json:",
+        "              schema:",
+        "                type: array",
+        "                items:",
+        "                  $ref: './schemas/pet.yaml'",
+        "    post:",
+        "      tags: [pets]",
+        "      operationId: addPet",
+        "      requestBody:",
+        "        required: true",
+        "        content:",
+        "          application/json:",
+        "            schema:",
+        "              $ref: './schemas/pet.yaml'",
+        "      responses:",
+        "        '201':",
+        "          description: created",
+        "  /owners/{id}:",
+        "    get:",
+        "      tags: [owners]",
+        "      operationId: getOwner",
+        "      parameters:",
+        "        - name: id",
+        "          in: path",
+        "          required: true",
+        "          schema:",
+        "            type: integer",
+        "      responses:",
+        "        '200':",
+        "          description: ok",
+        "          content:",
+        "            application/json:",
+        "              schema:",
+        "                $ref: '#/components/schemas/Owner'",
+        "components:",
+        "  schemas:",
+        "    Owner:",
+        "      type: object",
+        "      properties:",
+        "        name:",
+        "          type: string",
+        "");
+
+    private static final String PET = String.join("\n",
+        "type: object",
+        "required: [name]",
+        "properties:",
+        "  name:",
+        "    type: string",
+        "  category:",
+        "    $ref: './category.yaml'",
+        "");
+
+    private static final String CATEGORY = String.join("\n",
+        "type: object",
+        "properties:",
+        "  name:",
+        "    type: string",
+        "");
+
+    @Test
+    public void regeneratesOnlyWhatAnEditedSchemaReaches(@TempDir Path tmp) throws IOException {
+        Path spec = writeSpec(tmp.resolve("spec"));
+        Path out = tmp.resolve("out");
+        SpecWatcher watcher = new SpecWatcher(job(spec, out));
+
+        assertTrue(watcher.regenerate().isFull());
+        assertTrue(watcher.regenerate().scope.isEmpty(), "unchanged spec regenerates nothing");
+
+        // Edit a schema two $ref hops below the pets operations
+        write(spec.resolveSibling("schemas/category.yaml"), CATEGORY + "  code:\n    type: string\n");
+        Path ownerQuery = find(out, "GetOwnerQuery.cs");
+        Files.delete(ownerQuery);
+        SpecWatcher.Result result = watcher.regenerate();
+
+        assertFalse(result.isFull());
+        assertEquals(new TreeSet<>(Arrays.asList("GET /pets", "POST /pets")), result.scope.operations());
+        assertEquals(new TreeSet<>(Arrays.asList("category", "pet")), result.scope.schemas());
+        assertEquals(Collections.singleton("pets"), result.scope.tags());
+        assertFalse(Files.exists(ownerQuery), "operations of other tags are not rendered");
+        assertTrue(read(find(out, "CategoryDto.cs")).contains("Code"));
+
+        // Apart from the deleted file and the handler scaffolds, which are only written once,
+        // the output is that of a full generation
+        Path full = tmp.resolve("full");
+        new SpecWatcher(job(spec, full)).regenerate();
+        Map<String, String> expected = contents(full);
+        expected.remove(full.relativize(find(full, "GetOwnerQuery.cs")).toString());
+        Map<String, String> actual = contents(out);
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Map.Entry<String, String> file : expected.entrySet()) {
+            assertEquals(file.getValue(), actual.get(file.getKey()), file.getKey());
+        }
+    }
+
+    private static MinimalApiGenerator.Job job(Path spec, Path outputDir) {
+        return MinimalApiGenerator.Job.parse(new String[] {
+            "-i", spec.toString(),
+            "-o", outputDir.toString(),
+            "--additional-properties", "packageName=WatchApi,useMediatr=true,useValidators=true,"
+                + "solutionGuid={A},projectConfigurationGuid={B},contractsProjectGuid={C}"
+        }, 0);
+    }
+
+    private static Path writeSpec(Path dir) throws IOException {
+        write(dir.resolve("schemas/pet.yaml"), PET);
+        write(dir.resolve("schemas/category.yaml"), CATEGORY);
+        Path root = dir.resolve("openapi.yaml");
+        write(root, ROOT);
+        return root;
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Path find(Path root, String fileName) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(p -> p.getFileName().toString().equals(fileName)).findFirst()
+                .orElseThrow(() -> new AssertionError(fileName + " not generated"));
+        }
+    }
+
+    /** Generated files by relative path, without the generator's bookkeeping folder and handlers. */
+    private static Map<String, String> contents(Path root) throws IOException {
+        Map<String, String> result = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                String name = root.relativize(file).toString();
+                if (!name.startsWith(".openapi-generator") && !file.getParent().endsWith("Handlers")) {
+                    result.put(name, read(file));
+                }
+            }
+        }
+        return result;
+    }
+}
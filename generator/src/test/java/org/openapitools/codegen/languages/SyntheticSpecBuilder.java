@@ -0,0 +1,141 @@
+package org.openapitools.codegen.languages;
+
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.Paths;
+import io.swagger.v3.oas.models.info.Info;
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import io.swagger.v3.oas.models.parameters.PathParameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.responses.ApiResponses;
+import io.swagger.v3.oas.models.servers.Server;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+/***
+ * Builds synthetic OpenAPI documents of arbitrary size for scaling tests and benchmarks.
+ *
+ * Schemas are named Model0..ModelN-1. Each schema has scalar, enum and array properties and,
+ * within groups of {@link #nestingDepth(int)} schemas, a $ref to the next schema so that
+ * nested DTO collection and handler mapping code are exercised. Operations alternate between
+ * POST (command with a request body) and GET (query by id) and are spread across tags.
+ */
+public class SyntheticSpecBuilder {
+
+    private int schemas = 100;
+    private int operations = 10;
+    private int tags = 1;
+    private int nestingDepth = 3;
+
+    public SyntheticSpecBuilder schemas(int schemas) {
+        this.schemas = schemas;
+        return this;
+    }
+
+    public SyntheticSpecBuilder operations(int operations) {
+        this.operations = operations;
+        return this;
+    }
+
+    public SyntheticSpecBuilder tags(int tags) {
+        this.tags = tags;
+        return this;
+    }
+
+    /** Length of each chain of nested $ref schemas (1 = no nesting). */
+    public SyntheticSpecBuilder nestingDepth(int nestingDepth) {
+        this.nestingDepth = nestingDepth;
+        return this;
+    }
+
+    public OpenAPI build() {
+        OpenAPI openAPI = new OpenAPI()
+            .info(new Info().title("Synthetic API").version("1.0.0").description("Synthetic spec for scaling tests"))
+            .servers(Collections.singletonList(new Server().url("http://localhost/v1")))
+            .components(new Components())
+            .paths(new Paths());
+
+        for (int i = 0; i < schemas; i++) {
+            openAPI.getComponents().addSchemas(modelName(i), schema(i));
+        }
+        for (int j = 0; j < operations; j++) {
+            if (j % 2 == 0) {
+                openAPI.getPaths().addPathItem("/resource" + j, new PathItem().post(command(j)));
+            } else {
+                openAPI.getPaths().addPathItem("/resource" + j + "/{id}", new PathItem().get(query(j)));
+            }
+        }
+        return openAPI;
+    }
+
+    private Schema<?> schema(int i) {
+        ObjectSchema schema = new ObjectSchema();
+        schema.setDescription("Synthetic model " + i);
+        schema.setRequired(Collections.singletonList("name"));
+        schema.addProperty("id", new IntegerSchema().format("int64"));
+        schema.addProperty("name", new StringSchema().minLength(1).maxLength(100));
+        schema.addProperty("code", new StringSchema().pattern("^[A-Z]{3}$"));
+        schema.addProperty("quantity", new IntegerSchema().minimum(BigDecimal.ZERO));
+        StringSchema status = new StringSchema();
+        status.setEnum(Arrays.asList("available", "pending", "sold"));
+        schema.addProperty("status", status);
+        schema.addProperty("labels", new ArraySchema().items(new StringSchema()));
+        boolean hasChild = nestingDepth > 1 && (i % nestingDepth) != nestingDepth - 1 && i + 1 < schemas;
+        if (hasChild) {
+            schema.addProperty("child", new Schema<>().$ref(ref(i + 1)));
+            schema.addProperty("children", new ArraySchema().items(new Schema<>().$ref(ref(i + 1))));
+        }
+        return schema;
+    }
+
+    private Operation command(int j) {
+        int model = j % schemas;
+        return new Operation()
+            .operationId("createResource" + j)
+            .summary("Create resource " + j)
+            .tags(Collections.singletonList(tagName(j)))
+            .requestBody(new RequestBody().required(true).content(json(ref(model))))
+            .responses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse().description("OK").content(json(ref(model))))
+                .addApiResponse("400", new ApiResponse().description("Invalid input")));
+    }
+
+    private Operation query(int j) {
+        int model = j % schemas;
+        return new Operation()
+            .operationId("getResource" + j)
+            .summary("Get resource " + j)
+            .tags(Collections.singletonList(tagName(j)))
+            .addParametersItem(new PathParameter().name("id").schema(new IntegerSchema().format("int64")))
+            .responses(new ApiResponses()
+                .addApiResponse("200", new ApiResponse().description("OK").content(json(ref(model))))
+                .addApiResponse("404", new ApiResponse().description("Not found")));
+    }
+
+    private Content json(String ref) {
+        return new Content().addMediaType("application/json", new MediaType().schema(new Schema<>().$ref(ref)));
+    }
+
+    private String tagName(int operation) {
+        return "tag" + (operation % tags);
+    }
+
+    private static String modelName(int i) {
+        return "Model" + i;
+    }
+
+    private static String ref(int i) {
+        return "#/components/schemas/" + modelName(i);
+    }
+}
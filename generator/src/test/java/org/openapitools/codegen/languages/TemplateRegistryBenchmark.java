@@ -0,0 +1,107 @@
+package org.openapitools.codegen.languages;
+
+import com.samskivert.mustache.Mustache;
+import org.openapitools.codegen.CodegenProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/***
+ * Per-file rendering cost of the MediatR/DTO/validator templates, comparing the previous
+ * behaviour (read and compile the template for every file) with the cached TemplateRegistry.
+ *
+ * Run after `mvn test-compile`:
+ *   java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *     org.openapitools.codegen.languages.TemplateRegistryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRegistryBenchmark {
+
+    @Param({"command.mustache", "query.mustache", "handler.mustache", "dto.mustache", "dtoValidator.mustache"})
+    public String templateName;
+
+    private Mustache.Compiler compiler;
+    private TemplateRegistry registry;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setup() {
+        compiler = Mustache.compiler().defaultValue("");
+        registry = new TemplateRegistry(new MinimalApiServerCodegen());
+        data = sampleData();
+    }
+
+    /** Previous behaviour: load from the classpath and compile for every generated file. */
+    @Benchmark
+    public String compilePerFile() throws IOException {
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream("aspnet-minimalapi/" + templateName)) {
+            return compiler.compile(new InputStreamReader(stream, StandardCharsets.UTF_8)).execute(data);
+        }
+    }
+
+    /** Current behaviour: compile once per run, render from the registry. */
+    @Benchmark
+    public String cachedTemplate() {
+        return registry.get(templateName).execute(data);
+    }
+
+    static Map<String, Object> sampleData() {
+        List<CodegenProperty> vars = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            CodegenProperty prop = new CodegenProperty();
+            prop.name = "Property" + i;
+            prop.dataType = i % 2 == 0 ? "string" : "long";
+            prop.isString = i % 2 == 0;
+            prop.isNumeric = i % 2 != 0;
+            prop.required = i < 3;
+            prop.description = "Sample property " + i;
+            vars.add(prop);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", "PetstoreApi");
+        data.put("operationId", "addPet");
+        data.put("classname", "PetDto");
+        data.put("commandClassName", "AddPetCommand");
+        data.put("queryClassName", "GetPetByIdQuery");
+        data.put("requestClassName", "AddPetCommand");
+        data.put("handlerClassName", "AddPetCommandHandler");
+        data.put("dtoResponseType", "PetDto");
+        data.put("description", "Add a new pet to the store");
+        data.put("vars", vars);
+        data.put("hasVars", Boolean.TRUE);
+        return data;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TemplateRegistryBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
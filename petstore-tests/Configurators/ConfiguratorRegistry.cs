@@ -0,0 +1,16 @@
+namespace PetstoreApi.Configurators;
+
+/// <summary>
+/// Configurators applied by Program.cs when the petstore is generated with useNativeAot
+/// (no assembly scan). Replaces the generated, empty ConfiguratorRegistry.
+/// Kept in petstore-tests/ alongside the configurators it lists.
+/// </summary>
+public static class ConfiguratorRegistry
+{
+    public static IEnumerable<IServiceConfigurator> ServiceConfigurators =>
+    [
+        new ApplicationServiceConfigurator(),
+    ];
+
+    public static IEnumerable<IApplicationConfigurator> ApplicationConfigurators => [];
+}
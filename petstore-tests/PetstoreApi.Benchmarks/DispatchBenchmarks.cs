@@ -0,0 +1,134 @@
+using BenchmarkDotNet.Attributes;
+using BenchmarkDotNet.Configs;
+using FluentValidation;
+using MediatR;
+using Microsoft.Extensions.DependencyInjection;
+using PetstoreApi.Commands;
+using PetstoreApi.Dispatch;
+using PetstoreApi.DTOs;
+using PetstoreApi.Extensions;
+using PetstoreApi.Handlers;
+using PetstoreApi.Queries;
+
+namespace PetstoreApi.Benchmarks;
+
+/// <summary>
+/// IMediator.Send against the RequestPipeline generated with dispatchMode=direct, for a command
+/// with a validator (AddPet) and a query without one (GetPetById). Each call resolves the
+/// dispatcher from a fresh scope, as an endpoint does per request.
+/// </summary>
+[MemoryDiagnoser]
+[GroupBenchmarksBy(BenchmarkLogicalGroupRule.ByCategory)]
+public class DispatchBenchmarks
+{
+    private ServiceProvider _mediatrServices = null!;
+    private ServiceProvider _directServices = null!;
+
+    private readonly AddPetCommand _addPet = new()
+    {
+        pet = new AddPetDto
+        {
+            Id = 1,
+            Name = "Fluffy",
+            Category = new CategoryDto { Id = 1, Name = "Dogs" },
+            PhotoUrls = new List<string> { "http://example.com/photo.jpg" },
+            Tags = new List<TagDto> { new TagDto { Id = 1, Name = "friendly" } },
+            Status = AddPetDto.StatusEnum.AvailableEnum
+        }
+    };
+
+    private readonly GetPetByIdQuery _getPetById = new() { petId = 1 };
+
+    [GlobalSetup]
+    public async Task Setup()
+    {
+        // MediatR path, with the validation behavior the generator emits for dispatchMode=mediatr
+        var mediatr = new ServiceCollection().AddLogging().AddApplicationServices();
+        mediatr.AddValidatorsFromAssemblyContaining<AddPetCommandHandler>();
+        mediatr.AddMediatR(cfg => cfg.RegisterServicesFromAssembly(typeof(AddPetCommandHandler).Assembly));
+        mediatr.AddTransient(typeof(IPipelineBehavior<,>), typeof(ValidationBehavior<,>));
+        _mediatrServices = mediatr.BuildServiceProvider();
+
+        // Direct path, registered as the generated Program.cs does
+        var direct = new ServiceCollection().AddLogging().AddApplicationServices();
+        direct.AddValidatorsFromAssemblyContaining<AddPetCommandHandler>();
+        direct.AddTransient<IRequestHandler<AddPetCommand, PetDto>, AddPetCommandHandler>();
+        direct.AddTransient<RequestPipeline<AddPetCommand, PetDto>>();
+        direct.AddTransient<IRequestHandler<GetPetByIdQuery, PetDto>, GetPetByIdQueryHandler>();
+        direct.AddTransient<RequestPipeline<GetPetByIdQuery, PetDto>>();
+        _directServices = direct.BuildServiceProvider();
+
+        // Pet 1 exists in both stores, so GetPetById takes the same path
+        await Mediatr_AddPet();
+        await Direct_AddPet();
+    }
+
+    [GlobalCleanup]
+    public void Cleanup()
+    {
+        _mediatrServices.Dispose();
+        _directServices.Dispose();
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Command")]
+    public async Task<PetDto> Mediatr_AddPet()
+    {
+        using var scope = _mediatrServices.CreateScope();
+        return await scope.ServiceProvider.GetRequiredService<IMediator>().Send(_addPet);
+    }
+
+    [Benchmark, BenchmarkCategory("Command")]
+    public async Task<PetDto> Direct_AddPet()
+    {
+        using var scope = _directServices.CreateScope();
+        return await scope.ServiceProvider.GetRequiredService<RequestPipeline<AddPetCommand, PetDto>>().SendAsync(_addPet);
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Query")]
+    public async Task<PetDto> Mediatr_GetPetById()
+    {
+        using var scope = _mediatrServices.CreateScope();
+        return await scope.ServiceProvider.GetRequiredService<IMediator>().Send(_getPetById);
+    }
+
+    [Benchmark, BenchmarkCategory("Query")]
+    public async Task<PetDto> Direct_GetPetById()
+    {
+        using var scope = _directServices.CreateScope();
+        return await scope.ServiceProvider.GetRequiredService<RequestPipeline<GetPetByIdQuery, PetDto>>().SendAsync(_getPetById);
+    }
+
+    /// <summary>
+    /// Copy of the ValidationBehavior generated for dispatchMode=mediatr, which is not generated
+    /// for the direct-dispatch project this benchmark compiles against.
+    /// </summary>
+    private sealed class ValidationBehavior<TRequest, TResponse> : IPipelineBehavior<TRequest, TResponse>
+        where TRequest : IRequest<TResponse>
+    {
+        private readonly IEnumerable<IValidator<TRequest>> _validators;
+
+        public ValidationBehavior(IEnumerable<IValidator<TRequest>> validators)
+        {
+            _validators = validators;
+        }
+
+        public async Task<TResponse> Handle(TRequest request, RequestHandlerDelegate<TResponse> next, CancellationToken cancellationToken)
+        {
+            if (!_validators.Any())
+            {
+                return await next();
+            }
+
+            var context = new ValidationContext<TRequest>(request);
+            var validationResults = await Task.WhenAll(_validators.Select(v => v.ValidateAsync(context, cancellationToken)));
+            var failures = validationResults.SelectMany(r => r.Errors).Where(f => f != null).ToList();
+
+            if (failures.Count != 0)
+            {
+                throw new ValidationException(failures);
+            }
+
+            return await next();
+        }
+    }
+}
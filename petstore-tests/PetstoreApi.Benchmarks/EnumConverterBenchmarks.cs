@@ -0,0 +1,72 @@
+using System.Buffers;
+using System.Text;
+using System.Text.Json;
+using BenchmarkDotNet.Attributes;
+using BenchmarkDotNet.Configs;
+using PetstoreApi.Converters;
+using PetstoreApi.DTOs;
+
+namespace PetstoreApi.Benchmarks;
+
+/// <summary>
+/// Reflection-based EnumMemberJsonConverter&lt;T&gt; against the converter generated for
+/// PetDto.StatusEnum with useGeneratedEnumConverters=true, reading and writing one value.
+/// </summary>
+[MemoryDiagnoser]
+[GroupBenchmarksBy(BenchmarkLogicalGroupRule.ByCategory)]
+public class EnumConverterBenchmarks
+{
+    private static readonly JsonSerializerOptions Options = new();
+
+    private readonly EnumMemberJsonConverter<PetDto.StatusEnum> _reflection = new();
+    private readonly PetDto.StatusEnumJsonConverter _generated = new();
+    private readonly ArrayBufferWriter<byte> _buffer = new(64);
+    private Utf8JsonWriter _writer = null!;
+    private byte[] _json = null!;
+
+    [Params(PetDto.StatusEnum.AvailableEnum, PetDto.StatusEnum.SoldEnum)]
+    public PetDto.StatusEnum Status { get; set; }
+
+    [GlobalSetup]
+    public void Setup()
+    {
+        _writer = new Utf8JsonWriter(_buffer);
+        _json = Encoding.UTF8.GetBytes(JsonSerializer.Serialize(Status, new JsonSerializerOptions { Converters = { _reflection } }));
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Read")]
+    public PetDto.StatusEnum Read_Reflection()
+    {
+        var reader = new Utf8JsonReader(_json);
+        reader.Read();
+        return _reflection.Read(ref reader, typeof(PetDto.StatusEnum), Options);
+    }
+
+    [Benchmark, BenchmarkCategory("Read")]
+    public PetDto.StatusEnum Read_Generated()
+    {
+        var reader = new Utf8JsonReader(_json);
+        reader.Read();
+        return _generated.Read(ref reader, typeof(PetDto.StatusEnum), Options);
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Write")]
+    public int Write_Reflection()
+    {
+        _buffer.ResetWrittenCount();
+        _writer.Reset();
+        _reflection.Write(_writer, Status, Options);
+        _writer.Flush();
+        return _buffer.WrittenCount;
+    }
+
+    [Benchmark, BenchmarkCategory("Write")]
+    public int Write_Generated()
+    {
+        _buffer.ResetWrittenCount();
+        _writer.Reset();
+        _generated.Write(_writer, Status, Options);
+        _writer.Flush();
+        return _buffer.WrittenCount;
+    }
+}
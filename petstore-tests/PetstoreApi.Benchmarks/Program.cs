@@ -0,0 +1,13 @@
+using BenchmarkDotNet.Running;
+
+namespace PetstoreApi.Benchmarks;
+
+/// <summary>
+/// Runs the benchmarks copied in by the bench:petstore task, e.g.
+/// <c>dotnet run -c Release -- --filter '*EnumConverter*'</c>.
+/// </summary>
+public static class Program
+{
+    public static void Main(string[] args) =>
+        BenchmarkSwitcher.FromAssembly(typeof(Program).Assembly).Run(args);
+}
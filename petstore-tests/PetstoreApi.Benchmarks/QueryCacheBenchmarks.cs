@@ -0,0 +1,122 @@
+using System.Security.Claims;
+using BenchmarkDotNet.Attributes;
+using BenchmarkDotNet.Configs;
+using FluentValidation;
+using MediatR;
+using Microsoft.AspNetCore.Http;
+using Microsoft.Extensions.DependencyInjection;
+using PetstoreApi.Behaviors;
+using PetstoreApi.Caching;
+using PetstoreApi.Commands;
+using PetstoreApi.DTOs;
+using PetstoreApi.Extensions;
+using PetstoreApi.Handlers;
+using PetstoreApi.Queries;
+
+namespace PetstoreApi.Benchmarks;
+
+/// <summary>
+/// IMediator.Send of the x-query-cache queries FindPetsByStatus and GetPetById without and with the
+/// QueryCachingBehavior generated for useQueryCaching, on a cache hit and right after an invalidation.
+/// Each call resolves IMediator from a fresh scope, as an endpoint does per request, for one authenticated
+/// user: GetPetById requires api_key, so its responses are cached per user.
+/// </summary>
+[MemoryDiagnoser]
+[GroupBenchmarksBy(BenchmarkLogicalGroupRule.ByCategory)]
+public class QueryCacheBenchmarks
+{
+    private static readonly string[] PetTags = { "pet" };
+
+    private ServiceProvider _uncachedServices = null!;
+    private ServiceProvider _cachedServices = null!;
+    private QueryResultCache _cache = null!;
+
+    // A new array per query, as model binding creates: the cache key compares the elements
+    private FindPetsByStatusQuery FindAvailable => new() { status = new[] { "available" } };
+
+    private readonly GetPetByIdQuery _getPetById = new() { petId = 1 };
+
+    [GlobalSetup]
+    public async Task Setup()
+    {
+        _uncachedServices = Build(cached: false);
+        _cachedServices = Build(cached: true);
+        _cache = _cachedServices.GetRequiredService<QueryResultCache>();
+
+        var addPet = new AddPetCommand
+        {
+            pet = new AddPetDto
+            {
+                Id = 1,
+                Name = "Fluffy",
+                PhotoUrls = new List<string> { "http://example.com/photo.jpg" },
+                Status = AddPetDto.StatusEnum.AvailableEnum
+            }
+        };
+        await _uncachedServices.GetRequiredService<IMediator>().Send(addPet);
+        await _cachedServices.GetRequiredService<IMediator>().Send(addPet);
+    }
+
+    [GlobalCleanup]
+    public void Cleanup()
+    {
+        _uncachedServices.Dispose();
+        _cachedServices.Dispose();
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("FindPetsByStatus")]
+    public Task<IEnumerable<PetDto>> Uncached_FindPetsByStatus() => Send(_uncachedServices, FindAvailable);
+
+    [Benchmark, BenchmarkCategory("FindPetsByStatus")]
+    public Task<IEnumerable<PetDto>> Cached_FindPetsByStatus() => Send(_cachedServices, FindAvailable);
+
+    [Benchmark, BenchmarkCategory("FindPetsByStatus")]
+    public Task<IEnumerable<PetDto>> Invalidated_FindPetsByStatus()
+    {
+        // Worst case: a pet command between every two reads
+        _cache.Invalidate(PetTags);
+        return Send(_cachedServices, FindAvailable);
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("GetPetById")]
+    public Task<PetDto> Uncached_GetPetById() => Send(_uncachedServices, _getPetById);
+
+    [Benchmark, BenchmarkCategory("GetPetById")]
+    public Task<PetDto> Cached_GetPetById() => Send(_cachedServices, _getPetById);
+
+    private static async Task<TResponse> Send<TResponse>(ServiceProvider services, IRequest<TResponse> request)
+    {
+        using var scope = services.CreateScope();
+        return await scope.ServiceProvider.GetRequiredService<IMediator>().Send(request);
+    }
+
+    /// <summary>
+    /// Services as the generated Program.cs registers them, with or without the query result cache.
+    /// </summary>
+    private static ServiceProvider Build(bool cached)
+    {
+        var services = new ServiceCollection().AddLogging().AddMetrics().AddApplicationServices();
+        services.AddValidatorsFromAssemblyContaining<AddPetCommandHandler>();
+        services.AddMediatR(cfg => cfg.RegisterServicesFromAssembly(typeof(AddPetCommandHandler).Assembly));
+        services.AddTransient(typeof(IPipelineBehavior<,>), typeof(ValidationBehavior<,>));
+        if (cached)
+        {
+            services.AddSingleton<IHttpContextAccessor>(new SignedInUser());
+            services.AddSingleton<QueryResultCacheOptions>();
+            services.AddSingleton<QueryResultCache>();
+            services.AddTransient(typeof(IPipelineBehavior<,>), typeof(QueryCachingBehavior<,>));
+        }
+        return services.BuildServiceProvider();
+    }
+
+    /// <summary>
+    /// The same authenticated user for every call, without an AsyncLocal lookup per call.
+    /// </summary>
+    private sealed class SignedInUser : IHttpContextAccessor
+    {
+        public HttpContext? HttpContext { get; set; } = new DefaultHttpContext
+        {
+            User = new ClaimsPrincipal(new ClaimsIdentity(new[] { new Claim(ClaimTypes.NameIdentifier, "benchmark") }, "ApiKey"))
+        };
+    }
+}
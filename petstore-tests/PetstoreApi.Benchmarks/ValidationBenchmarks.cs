@@ -0,0 +1,63 @@
+using BenchmarkDotNet.Attributes;
+using BenchmarkDotNet.Configs;
+using PetstoreApi.DTOs;
+using PetstoreApi.Validators;
+
+namespace PetstoreApi.Benchmarks;
+
+/// <summary>
+/// The endpoint's default body validation (ValidateAsync, then ValidationResult.ToDictionary()) against
+/// RequestValidation generated with useResultValidation=true, for a valid and an invalid AddPetDto.
+/// </summary>
+[MemoryDiagnoser]
+[GroupBenchmarksBy(BenchmarkLogicalGroupRule.ByCategory)]
+public class ValidationBenchmarks
+{
+    private readonly AddPetDtoValidator _validator = new();
+
+    private readonly AddPetDto _valid = new()
+    {
+        Id = 1,
+        Name = "Fluffy",
+        Category = new CategoryDto { Id = 1, Name = "Dogs" },
+        PhotoUrls = new List<string> { "http://example.com/photo.jpg" },
+        Tags = new List<TagDto> { new TagDto { Id = 1, Name = "friendly" } },
+        Status = AddPetDto.StatusEnum.AvailableEnum
+    };
+
+    // Empty name, no photo URLs and a category without a name: three failures
+    private readonly AddPetDto _invalid = new()
+    {
+        Id = 1,
+        Name = "",
+        Category = new CategoryDto { Id = 1, Name = "" },
+        PhotoUrls = new List<string>(),
+        Status = AddPetDto.StatusEnum.AvailableEnum
+    };
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Valid")]
+    public async Task<IDictionary<string, string[]>?> Default_Valid()
+    {
+        var result = await _validator.ValidateAsync(_valid);
+        return result.IsValid ? null : result.ToDictionary();
+    }
+
+    [Benchmark, BenchmarkCategory("Valid")]
+    public ValueTask<IDictionary<string, string[]>?> Result_Valid()
+    {
+        return RequestValidation.ValidateAsync(_validator, _valid);
+    }
+
+    [Benchmark(Baseline = true), BenchmarkCategory("Invalid")]
+    public async Task<IDictionary<string, string[]>?> Default_Invalid()
+    {
+        var result = await _validator.ValidateAsync(_invalid);
+        return result.IsValid ? null : result.ToDictionary();
+    }
+
+    [Benchmark, BenchmarkCategory("Invalid")]
+    public ValueTask<IDictionary<string, string[]>?> Result_Invalid()
+    {
+        return RequestValidation.ValidateAsync(_validator, _invalid);
+    }
+}
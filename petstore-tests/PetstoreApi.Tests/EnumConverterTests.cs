@@ -0,0 +1,100 @@
+using System.Reflection;
+using System.Text;
+using System.Text.Json;
+using System.Text.Json.Serialization;
+using FluentAssertions;
+using PetstoreApi.Converters;
+using PetstoreApi.DTOs;
+using Xunit;
+
+namespace PetstoreApi.Tests;
+
+/// <summary>
+/// With useGeneratedEnumConverters each enum gets its own converter with precomputed UTF-8
+/// names. These tests check that whichever converter the DTOs declare reads and writes the same
+/// JSON as the reflection-based EnumMemberJsonConverter&lt;T&gt; (trivially true when the option is off).
+/// </summary>
+public class EnumConverterTests
+{
+    public static IEnumerable<object[]> EnumProperties()
+    {
+        yield return new object[] { typeof(AddPetDto), "Status" };
+        yield return new object[] { typeof(UpdatePetDto), "Status" };
+        yield return new object[] { typeof(PlaceOrderDto), "Status" };
+        yield return new object[] { typeof(PetDto), "Status" };
+        yield return new object[] { typeof(OrderDto), "Status" };
+    }
+
+    [Theory]
+    [MemberData(nameof(EnumProperties))]
+    public void Write_MatchesReflectionConverter(Type dtoType, string propertyName)
+    {
+        // Arrange
+        var (enumType, declared, reflection) = Converters(dtoType, propertyName);
+
+        foreach (var value in Enum.GetValues(enumType))
+        {
+            // Act
+            var json = Write(declared, enumType, value);
+
+            // Assert
+            json.Should().Be(Write(reflection, enumType, value), "{0}.{1} should be written the same", enumType.Name, value);
+        }
+    }
+
+    [Theory]
+    [MemberData(nameof(EnumProperties))]
+    public void Read_MatchesReflectionConverter(Type dtoType, string propertyName)
+    {
+        // Arrange
+        var (enumType, declared, reflection) = Converters(dtoType, propertyName);
+        var inputs = Enum.GetValues(enumType).Cast<object>()
+            .SelectMany(value => new[] { Write(reflection, enumType, value), $"\"{value}\"", $"\"{value.ToString()!.ToUpperInvariant()}\"" })
+            .Append("\"\"")
+            .Append("null");
+
+        foreach (var json in inputs)
+        {
+            // Act
+            var value = Read(declared, enumType, json);
+
+            // Assert
+            value.Should().Be(Read(reflection, enumType, json), "{0} should be read the same", json);
+        }
+    }
+
+    [Theory]
+    [MemberData(nameof(EnumProperties))]
+    public void Read_UnknownValue_Throws(Type dtoType, string propertyName)
+    {
+        // Arrange
+        var (enumType, declared, _) = Converters(dtoType, propertyName);
+
+        // Act
+        var act = () => Read(declared, enumType, "\"no-such-status\"");
+
+        // Assert
+        act.Should().Throw<JsonException>();
+    }
+
+    private static (Type EnumType, JsonConverter Declared, JsonConverter Reflection) Converters(Type dtoType, string propertyName)
+    {
+        var property = dtoType.GetProperty(propertyName)!;
+        var enumType = Nullable.GetUnderlyingType(property.PropertyType) ?? property.PropertyType;
+        var declared = (JsonConverter)Activator.CreateInstance(property.GetCustomAttribute<JsonConverterAttribute>()!.ConverterType!)!;
+        var reflection = (JsonConverter)Activator.CreateInstance(typeof(EnumMemberJsonConverter<>).MakeGenericType(enumType))!;
+        return (enumType, declared, reflection);
+    }
+
+    private static string Write(JsonConverter converter, Type enumType, object value)
+    {
+        var options = new JsonSerializerOptions { Converters = { converter } };
+        return JsonSerializer.Serialize(value, enumType, options);
+    }
+
+    private static object? Read(JsonConverter converter, Type enumType, string json)
+    {
+        var options = new JsonSerializerOptions { Converters = { converter } };
+        return JsonSerializer.Deserialize(Encoding.UTF8.GetBytes(json), enumType, options);
+    }
+}
@@ -33,12 +33,11 @@ public class GeneratedDtoTests
         var converterAttribute = property.GetCustomAttribute<JsonConverterAttribute>();
         converterAttribute.Should().NotBeNull($"{enumPropertyName} should have [JsonConverter] attribute");
         
-        // Assert - Converter should be EnumMemberJsonConverter<T>
+        // Assert - Converter should be EnumMemberJsonConverter<T> or the enum's generated converter
         var converterType = converterAttribute!.ConverterType;
         converterType.Should().NotBeNull("JsonConverter should specify a converter type");
-        converterType!.IsGenericType.Should().BeTrue("Converter should be a generic type");
-        converterType.GetGenericTypeDefinition().Should().Be(typeof(EnumMemberJsonConverter<>),
-            "Converter should be EnumMemberJsonConverter<T>");
+        IsEnumConverter(converterType!, propertyType).Should().BeTrue(
+            "Converter should be EnumMemberJsonConverter<T> or the generated {0}JsonConverter", propertyType.Name);
     }
 
     [Fact]
@@ -122,9 +121,7 @@ public class GeneratedDtoTests
                     {
                         // Verify it's the correct converter type
                         var converterType = converterAttribute.ConverterType;
-                        if (converterType == null || 
-                            !converterType.IsGenericType || 
-                            converterType.GetGenericTypeDefinition() != typeof(EnumMemberJsonConverter<>))
+                        if (converterType == null || !IsEnumConverter(converterType, propertyType))
                         {
                             enumPropertiesWithoutConverter.Add($"{dtoType.Name}.{property.Name} (wrong converter)");
                         }
@@ -135,7 +132,22 @@ public class GeneratedDtoTests
 
         // Assert - All enum properties should have JsonConverter
         enumPropertiesWithoutConverter.Should().BeEmpty(
-            "All enum properties in DTOs should have [JsonConverter(typeof(EnumMemberJsonConverter<T>))] attribute. " +
+            "All enum properties in DTOs should have [JsonConverter(typeof(EnumMemberJsonConverter<T>))] attribute " +
+            "(or the enum's generated converter with useGeneratedEnumConverters). " +
             "Missing or incorrect converters found on: " + string.Join(", ", enumPropertiesWithoutConverter));
     }
+
+    /// <summary>
+    /// EnumMemberJsonConverter&lt;T&gt;, or with useGeneratedEnumConverters the {Enum}JsonConverter
+    /// generated next to the enum.
+    /// </summary>
+    private static bool IsEnumConverter(Type converterType, Type enumType)
+    {
+        if (converterType.IsGenericType)
+        {
+            return converterType.GetGenericTypeDefinition() == typeof(EnumMemberJsonConverter<>);
+        }
+        return converterType.Name == enumType.Name + "JsonConverter"
+            && converterType.BaseType == typeof(JsonConverter<>).MakeGenericType(enumType);
+    }
 }
@@ -0,0 +1,77 @@
+using System.Net;
+using FluentAssertions;
+using PetstoreApi.DTOs;
+using PetstoreApi.Tests.TestAuthentication;
+using Xunit;
+
+namespace PetstoreApi.Tests;
+
+/// <summary>
+/// useOutputCaching on secured operations: getInventory has x-cache and requires api_key, and
+/// PermissionEndpointFilter, which authorizes it, does not run on a cache hit. A response cached for an
+/// authorized caller must never be served to an anonymous one, or to a user without read permission.
+/// The tests are skipped when the API is generated without useOutputCaching.
+/// </summary>
+public class OutputCachingTests
+{
+    private static readonly bool OutputCached = new[] { typeof(Program).Assembly, typeof(PetDto).Assembly }
+        .Any(assembly => assembly.GetType("PetstoreApi.Caching.PerUserOutputCachePolicy") != null);
+
+    /// <summary>
+    /// A fact that is reported as skipped, not passed, when the API has no output cache.
+    /// </summary>
+    private sealed class OutputCachedFactAttribute : FactAttribute
+    {
+        public OutputCachedFactAttribute()
+        {
+            if (!OutputCached)
+            {
+                Skip = "The API is not output cached: generate with useOutputCaching=true";
+            }
+        }
+    }
+
+    [OutputCachedFact]
+    public async Task AnonymousRequest_IsNotServedCachedResponse()
+    {
+        // Arrange
+        var client = new CustomWebApplicationFactory { Mode = TestMode.Secure }.CreateClient();
+        var authorized = await client.SendAsync(GetInventory("alice", "read"));
+        authorized.StatusCode.Should().Be(HttpStatusCode.OK);
+
+        // Act
+        var anonymous = await client.SendAsync(GetInventory(null, null));
+
+        // Assert
+        anonymous.StatusCode.Should().BeOneOf(HttpStatusCode.Unauthorized, HttpStatusCode.Forbidden);
+    }
+
+    [OutputCachedFact]
+    public async Task UserWithoutPermission_IsNotServedCachedResponse()
+    {
+        // Arrange
+        var client = new CustomWebApplicationFactory { Mode = TestMode.Secure }.CreateClient();
+        var authorized = await client.SendAsync(GetInventory("alice", "read"));
+        authorized.StatusCode.Should().Be(HttpStatusCode.OK);
+
+        // Act
+        var unauthorized = await client.SendAsync(GetInventory("mallory", "write"));
+
+        // Assert
+        unauthorized.StatusCode.Should().Be(HttpStatusCode.Forbidden);
+    }
+
+    private static HttpRequestMessage GetInventory(string? userId, string? permission)
+    {
+        var request = new HttpRequestMessage(HttpMethod.Get, "/v2/store/inventory");
+        if (userId is not null)
+        {
+            request.Headers.Add(MockAuthHandler.UserIdHeader, userId);
+        }
+        if (permission is not null)
+        {
+            request.Headers.Add(MockAuthHandler.PermissionHeader, permission);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,183 @@
+using System.Collections.Concurrent;
+using System.Net;
+using System.Net.Http.Json;
+using FluentAssertions;
+using Microsoft.AspNetCore.Hosting;
+using Microsoft.AspNetCore.Http;
+using Microsoft.Extensions.DependencyInjection;
+using Microsoft.Extensions.DependencyInjection.Extensions;
+using PetstoreApi.DTOs;
+using PetstoreApi.Models;
+using PetstoreApi.Queries;
+using PetstoreApi.Services;
+using PetstoreApi.Tests.TestAuthentication;
+using Xunit;
+using Xunit.Abstractions;
+
+namespace PetstoreApi.Tests;
+
+/// <summary>
+/// Load test of useQueryCoalescing: bursts of identical GET /pet/{petId} requests against a pet store
+/// whose GetById takes 200 ms, counting the calls that reach it. getPetById has security requirements,
+/// so requests are only coalesced per user. The tests are skipped when the queries are not coalesced, or
+/// are also cached (useQueryCaching), which answers repeated requests without reaching the store at all.
+/// </summary>
+public class QueryCoalescingLoadTests
+{
+    private const int Requests = 50;
+
+    private static readonly bool Coalesced = typeof(GetPetByIdQuery).GetInterface("ICoalescedQuery") != null
+        && typeof(GetPetByIdQuery).GetInterface("ICachedQuery") == null;
+
+    /// <summary>
+    /// A fact that is reported as skipped, not passed, when GetPetByIdQuery is not coalesced.
+    /// </summary>
+    private sealed class CoalescedFactAttribute : FactAttribute
+    {
+        public CoalescedFactAttribute()
+        {
+            if (!Coalesced)
+            {
+                Skip = "GetPetByIdQuery is not coalesced: generate with useQueryCoalescing=true and useQueryCaching=false";
+            }
+        }
+    }
+
+    private readonly ITestOutputHelper _output;
+
+    public QueryCoalescingLoadTests(ITestOutputHelper output)
+    {
+        _output = output;
+    }
+
+    [CoalescedFact]
+    public async Task SameUser_SharesStoreCalls()
+    {
+        // Arrange
+        var (client, store, petId) = await CreateAsync();
+
+        // Act
+        var responses = await Burst(client, petId, _ => "alice");
+
+        // Assert
+        _output.WriteLine($"{Requests} requests, {store.GetByIdCalls} store calls");
+        responses.Should().AllSatisfy(r => r.StatusCode.Should().Be(HttpStatusCode.OK));
+        store.GetByIdCalls.Should().BeLessThan(Requests / 5);
+    }
+
+    [CoalescedFact]
+    public async Task DifferentUsers_NeverShareStoreCalls()
+    {
+        // Arrange
+        var users = new[] { "alice", "bob", "carol", "dave", "erin" };
+        var (client, store, petId) = await CreateAsync();
+
+        // Act
+        var responses = await Burst(client, petId, i => users[i % users.Length]);
+
+        // Assert: every user's requests reached the store under that user
+        _output.WriteLine($"{Requests} requests from {users.Length} users, {store.GetByIdCalls} store calls");
+        responses.Should().AllSatisfy(r => r.StatusCode.Should().Be(HttpStatusCode.OK));
+        store.Users.Should().BeEquivalentTo(users);
+        store.GetByIdCalls.Should().BeLessThan(Requests / 2);
+    }
+
+    [CoalescedFact]
+    public async Task AnonymousRequests_AreNotCoalesced()
+    {
+        // Arrange: open mode lets anonymous requests through authorization, without a user
+        var (client, store, petId) = await CreateAsync(TestMode.Open);
+
+        // Act
+        var responses = await Burst(client, petId, _ => null);
+
+        // Assert: nothing tells anonymous callers apart, so each request reached the store
+        responses.Should().AllSatisfy(r => r.StatusCode.Should().Be(HttpStatusCode.OK));
+        store.Users.Should().BeEmpty();
+        store.GetByIdCalls.Should().Be(Requests);
+    }
+
+    private static async Task<(HttpClient Client, SlowPetStore Store, long PetId)> CreateAsync(TestMode mode = TestMode.Secure)
+    {
+        var store = new SlowPetStore();
+        var factory = new CustomWebApplicationFactory { Mode = mode }
+            .WithWebHostBuilder(builder => builder.ConfigureServices(services =>
+            {
+                services.AddHttpContextAccessor();
+                services.Replace(ServiceDescriptor.Singleton<IPetStore>(provider =>
+                    store.WithAccessor(provider.GetRequiredService<IHttpContextAccessor>())));
+            }));
+        var client = factory.CreateClient();
+
+        var request = new HttpRequestMessage(HttpMethod.Post, "/v2/pet")
+        {
+            Content = JsonContent.Create(new AddPetDto
+            {
+                Name = "Popular",
+                PhotoUrls = new List<string> { "http://example.com/popular.jpg" },
+                Status = AddPetDto.StatusEnum.AvailableEnum
+            })
+        };
+        request.Headers.Add(MockAuthHandler.UserIdHeader, "owner");
+        request.Headers.Add(MockAuthHandler.PermissionHeader, "write");
+        var created = await client.SendAsync(request);
+        created.StatusCode.Should().Be(HttpStatusCode.Created);
+        var pet = await created.Content.ReadFromJsonAsync<PetDto>();
+        return (client, store, pet!.Id!.Value);
+    }
+
+    /// <summary>
+    /// Sends <see cref="Requests"/> GET /pet/{petId} at once, request i as user <paramref name="user"/>(i).
+    /// </summary>
+    private static Task<HttpResponseMessage[]> Burst(HttpClient client, long petId, Func<int, string?> user)
+    {
+        return Task.WhenAll(Enumerable.Range(0, Requests).Select(i => Task.Run(() =>
+        {
+            var request = new HttpRequestMessage(HttpMethod.Get, $"/v2/pet/{petId}");
+            if (user(i) is { } userId)
+            {
+                request.Headers.Add(MockAuthHandler.UserIdHeader, userId);
+                request.Headers.Add(MockAuthHandler.PermissionHeader, "read");
+            }
+            return client.SendAsync(request);
+        })));
+    }
+
+    /// <summary>
+    /// In-memory pet store standing in for a slow backend: GetById takes 200 ms and records its callers.
+    /// </summary>
+    private sealed class SlowPetStore : IPetStore
+    {
+        private readonly InMemoryPetStore _inner = new();
+        private readonly ConcurrentDictionary<string, bool> _users = new();
+        private IHttpContextAccessor? _accessor;
+        private int _getByIdCalls;
+
+        public int GetByIdCalls => Volatile.Read(ref _getByIdCalls);
+
+        public IEnumerable<string> Users => _users.Keys;
+
+        public SlowPetStore WithAccessor(IHttpContextAccessor accessor)
+        {
+            _accessor = accessor;
+            return this;
+        }
+
+        public Pet? GetById(long id)
+        {
+            Interlocked.Increment(ref _getByIdCalls);
+            if (_accessor?.HttpContext?.User.Identity?.Name is { } user)
+            {
+                _users[user] = true;
+            }
+            Thread.Sleep(200);
+            return _inner.GetById(id);
+        }
+
+        public Pet Add(Pet pet) => _inner.Add(pet);
+        public Pet? Update(Pet pet) => _inner.Update(pet);
+        public bool Delete(long id) => _inner.Delete(id);
+        public IEnumerable<Pet> FindByStatus(IEnumerable<string> statuses) => _inner.FindByStatus(statuses);
+        public IEnumerable<Pet> FindByTags(IEnumerable<string> tags) => _inner.FindByTags(tags);
+    }
+}
@@ -0,0 +1,87 @@
+using System.Diagnostics;
+using System.Net;
+using FluentAssertions;
+using Microsoft.AspNetCore.Hosting;
+using Microsoft.AspNetCore.Http;
+using Microsoft.AspNetCore.Http.Timeouts;
+using Microsoft.AspNetCore.Routing;
+using Microsoft.Extensions.DependencyInjection;
+using Microsoft.Extensions.DependencyInjection.Extensions;
+using PetstoreApi.Models;
+using PetstoreApi.Services;
+using Xunit;
+
+namespace PetstoreApi.Tests;
+
+/// <summary>
+/// findPetsByTags has x-timeout: 2. Its endpoint carries the request timeout, and when a slow pet store
+/// outlasts it, the cancelled RequestAborted token reaches the handler (which checks it after the store
+/// call) and the request timeouts middleware answers 504.
+/// </summary>
+public class RequestTimeoutTests
+{
+    [Fact]
+    public void FindPetsByTags_HasRequestTimeout()
+    {
+        // Arrange
+        var factory = new CustomWebApplicationFactory { Mode = TestMode.Open };
+
+        // Act
+        var endpoint = factory.Services.GetRequiredService<EndpointDataSource>().Endpoints
+            .Single(e => e.Metadata.GetMetadata<IEndpointNameMetadata>()?.EndpointName == "FindPetsByTags");
+
+        // Assert
+        endpoint.Metadata.GetMetadata<RequestTimeoutAttribute>()!.Timeout.Should().Be(TimeSpan.FromSeconds(2));
+    }
+
+    [Fact]
+    public async Task SlowFindPetsByTags_Returns504()
+    {
+        // Arrange
+        var factory = new CustomWebApplicationFactory { Mode = TestMode.Open }
+            .WithWebHostBuilder(builder => builder.ConfigureServices(services =>
+            {
+                services.AddHttpContextAccessor();
+                services.Replace(ServiceDescriptor.Singleton<IPetStore>(provider =>
+                    new HangingPetStore(provider.GetRequiredService<IHttpContextAccessor>())));
+            }));
+        var client = factory.CreateClient();
+        var stopwatch = Stopwatch.StartNew();
+
+        // Act
+        var response = await client.GetAsync("/v2/pet/findByTags?tags=slow");
+
+        // Assert
+        response.StatusCode.Should().Be(HttpStatusCode.GatewayTimeout);
+        stopwatch.Elapsed.Should().BeLessThan(HangingPetStore.MaxWait);
+    }
+
+    /// <summary>
+    /// In-memory pet store standing in for a backend that hangs: FindByTags returns only once the request
+    /// is aborted, or after <see cref="MaxWait"/>.
+    /// </summary>
+    private sealed class HangingPetStore : IPetStore
+    {
+        public static readonly TimeSpan MaxWait = TimeSpan.FromSeconds(10);
+
+        private readonly InMemoryPetStore _inner = new();
+        private readonly IHttpContextAccessor _accessor;
+
+        public HangingPetStore(IHttpContextAccessor accessor)
+        {
+            _accessor = accessor;
+        }
+
+        public IEnumerable<Pet> FindByTags(IEnumerable<string> tags)
+        {
+            _accessor.HttpContext?.RequestAborted.WaitHandle.WaitOne(MaxWait);
+            return _inner.FindByTags(tags);
+        }
+
+        public Pet? GetById(long id) => _inner.GetById(id);
+        public Pet Add(Pet pet) => _inner.Add(pet);
+        public Pet? Update(Pet pet) => _inner.Update(pet);
+        public bool Delete(long id) => _inner.Delete(id);
+        public IEnumerable<Pet> FindByStatus(IEnumerable<string> statuses) => _inner.FindByStatus(statuses);
+    }
+}
@@ -0,0 +1,82 @@
+using System.Text.Json;
+using System.Text.Json.Serialization.Metadata;
+using FluentAssertions;
+using Microsoft.AspNetCore.Http;
+using Microsoft.AspNetCore.Mvc;
+using Microsoft.Extensions.DependencyInjection;
+using Microsoft.Extensions.Options;
+using PetstoreApi.DTOs;
+using Xunit;
+
+namespace PetstoreApi.Tests;
+
+/// <summary>
+/// With useSourceGeneratedJson the HTTP JSON options resolve DTO metadata from the generated
+/// JsonSerializerContext first. These tests check that the JSON written and read through the
+/// application's options is the same as with reflection-only options (which is trivially true
+/// when the option is off).
+/// </summary>
+public class SourceGeneratedJsonTests
+{
+    private static readonly PetDto Pet = new()
+    {
+        Id = 7,
+        Name = "Fluffy",
+        PhotoUrls = new List<string> { "http://example.com/fluffy.jpg" },
+        Category = new CategoryDto { Id = 1, Name = "Dogs" },
+        Tags = new List<TagDto> { new TagDto { Id = 1, Name = "friendly" } },
+        Status = PetDto.StatusEnum.PendingEnum
+    };
+
+    public static IEnumerable<object[]> Samples()
+    {
+        yield return new object[] { typeof(PetDto), Pet };
+        yield return new object[] { typeof(PetDto), new PetDto { Name = "Nameless", PhotoUrls = new List<string>() } };
+        yield return new object[] { typeof(IEnumerable<PetDto>), new List<PetDto> { Pet, Pet with { Id = 8, Status = PetDto.StatusEnum.SoldEnum } } };
+        yield return new object[] { typeof(Dictionary<string, int>), new Dictionary<string, int> { ["available"] = 3, ["sold"] = 1 } };
+        yield return new object[] { typeof(ProblemDetails), new ProblemDetails { Status = 404, Title = "Not Found", Detail = "Pet 7" } };
+        yield return new object[] { typeof(HttpValidationProblemDetails), new HttpValidationProblemDetails(
+            new Dictionary<string, string[]> { ["Name"] = new[] { "'Name' must not be empty." } }) { Status = 400 } };
+    }
+
+    [Theory]
+    [MemberData(nameof(Samples))]
+    public void Serialize_MatchesReflection(Type type, object value)
+    {
+        // Arrange
+        var (application, reflection) = CreateOptions();
+
+        // Act
+        var json = JsonSerializer.Serialize(value, type, application);
+
+        // Assert
+        json.Should().Be(JsonSerializer.Serialize(value, type, reflection));
+    }
+
+    [Theory]
+    [InlineData(typeof(AddPetDto), "{\"name\":\"Rex\",\"photoUrls\":[\"a.jpg\"],\"category\":{\"id\":2,\"name\":\"Cats\"},\"tags\":[{\"id\":3,\"name\":\"calm\"}],\"status\":\"sold\"}")]
+    [InlineData(typeof(AddPetDto), "{\"NAME\":\"Rex\",\"PhotoUrls\":[],\"unknown\":true}")]
+    [InlineData(typeof(PlaceOrderDto), "{\"id\":1,\"petId\":7,\"quantity\":2,\"shipDate\":\"2024-01-02T03:04:05Z\",\"status\":\"approved\",\"complete\":true}")]
+    [InlineData(typeof(CreateUserDto), "{\"id\":1,\"username\":\"jdoe\",\"userStatus\":1}")]
+    public void Deserialize_MatchesReflection(Type type, string json)
+    {
+        // Arrange
+        var (application, reflection) = CreateOptions();
+
+        // Act
+        var value = JsonSerializer.Deserialize(json, type, application);
+
+        // Assert - compare through the reflection-only serializer
+        var expected = JsonSerializer.Deserialize(json, type, reflection);
+        JsonSerializer.Serialize(value, type, reflection).Should().Be(JsonSerializer.Serialize(expected, type, reflection));
+    }
+
+    private static (JsonSerializerOptions Application, JsonSerializerOptions Reflection) CreateOptions()
+    {
+        var factory = new CustomWebApplicationFactory { Mode = TestMode.Open };
+        var application = factory.Services
+            .GetRequiredService<IOptions<Microsoft.AspNetCore.Http.Json.JsonOptions>>().Value.SerializerOptions;
+        var reflection = new JsonSerializerOptions(application) { TypeInfoResolver = new DefaultJsonTypeInfoResolver() };
+        return (application, reflection);
+    }
+}
@@ -16,6 +16,7 @@ public partial class FindPetsByTagsQueryHandler
     private async partial Task<IEnumerable<PetDto>> ExecuteAsync(FindPetsByTagsQuery request, CancellationToken cancellationToken)
     {
         var pets = _petStore.FindByTags(request.tags);
+        cancellationToken.ThrowIfCancellationRequested();
         return await Task.FromResult(pets.Select(MapDomainToDto));
     }
 }